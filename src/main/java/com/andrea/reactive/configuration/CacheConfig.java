@@ -0,0 +1,53 @@
+package com.andrea.reactive.configuration;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.dto.SatelliteDto;
+import com.andrea.reactive.orbit.Sgp4Propagator;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Bounded (W-TinyLFU) cache of satellites by GUID. Hit, miss and eviction counts are published as
+     * cache.* metrics under the satellites.by-guid name.
+     */
+    @Bean
+    public AsyncCache<UUID, SatelliteDto> satelliteCache(@Value("${satellite.cache.maximum-size:10000}") long maximumSize,
+                                                         @Value("${satellite.cache.ttl:PT10M}") Duration ttl,
+                                                         MeterRegistry meterRegistry) {
+        AsyncCache<UUID, SatelliteDto> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, SatelliteConstants.SATELLITE_CACHE_NAME);
+        return cache;
+    }
+
+    /**
+     * Initialised SGP4 state by satellite GUID, so each TLE is only initialised once. Entries remember the TLE lines
+     * they were built from and are replaced on lookup when the stored TLE has changed.
+     */
+    @Bean
+    public Cache<UUID, Sgp4Propagator> propagatorCache(@Value("${satellite.propagation.cache.maximum-size:50000}") long maximumSize,
+                                                       MeterRegistry meterRegistry) {
+        Cache<UUID, Sgp4Propagator> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, SatelliteConstants.PROPAGATOR_CACHE_NAME);
+        return cache;
+    }
+
+}
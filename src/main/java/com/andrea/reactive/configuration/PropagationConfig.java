@@ -0,0 +1,22 @@
+package com.andrea.reactive.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class PropagationConfig {
+
+    /**
+     * Dedicated CPU-bound workers for orbit propagation, so bulk requests never run on the Netty event loops
+     * nor compete with the shared parallel scheduler. 0 means one worker per available core.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler propagationScheduler(@Value("${satellite.propagation.parallelism:0}") int parallelism) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newParallel("propagation", workers, true);
+    }
+
+}
@@ -6,6 +6,7 @@ import lombok.experimental.UtilityClass;
 public class SatelliteConstants {
 
     public static final String TABLE_NAME = "satellite";
+    public static final String SYNC_CHECKPOINT_TABLE_NAME = "sync_checkpoint";
 
     public static final String SATELLITE_BASE_PATH = "/v1/satellite";
 
@@ -13,9 +14,62 @@ public class SatelliteConstants {
 
     public static final String GET_LIST_ENDPOINT = "/list";
 
+    public static final String BULK_ENDPOINT = "/bulk";
+    public static final String BATCH_GET_ENDPOINT = "/batch-get";
+    public static final String EXPORT_ENDPOINT = "/export";
+    public static final String EXPORT_TLE_ENDPOINT = "/export.tle";
+    public static final int EXPORT_TLE_RECORDS_PER_WRITE = 64;
+    public static final String IMPORT_ENDPOINT = "/import";
+    public static final String IMPORT_FILE_PART_NAME = "file";
+    public static final String IMPORT_STAGING_TABLE_NAME = "satellite_import";
+    public static final int IMPORT_COPY_CHUNK_SIZE = 1_000;
+    public static final int BATCH_GET_MAX_SIZE = 500;
+    public static final String QUERY_ENDPOINT = "/query";
+    public static final int QUERY_MAX_LIMIT = 10_000;
+    public static final int SNAPSHOT_LOAD_BATCH_SIZE = 1_000;
+    public static final String POSITION_ENDPOINT = "/{guid}/position";
+    public static final String POSITIONS_ENDPOINT = "/positions";
+    public static final String POSITION_AT_PARAM_NAME = "at";
+    public static final int POSITIONS_MAX_SIZE = 10_000;
+    // Satellites propagated per parallel task; large enough to amortise the hand-off, small enough to spread over the cores
+    public static final int PROPAGATION_CHUNK_SIZE = 256;
+    public static final String PASSES_ENDPOINT = "/passes";
+    public static final int PASSES_MAX_STATIONS = 16;
+    public static final int PASSES_MAX_WINDOW_DAYS = 7;
+    // A pass search costs hundreds of propagations: small chunks spread the catalogue evenly and stream early
+    public static final int PASSES_CHUNK_SIZE = 8;
+    public static final String GROUNDTRACK_ENDPOINT = "/{guid}/groundtrack";
+    public static final String GROUNDTRACK_BINARY_ENDPOINT = "/{guid}/groundtrack.bin";
+    public static final String GROUNDTRACKS_ENDPOINT = "/groundtracks";
+    public static final String GROUNDTRACKS_BINARY_ENDPOINT = "/groundtracks.bin";
+    public static final String GROUNDTRACK_DEFAULT_STEP_VALUE = "PT1M";
+    public static final int GROUNDTRACK_MIN_STEP_SECONDS = 1;
+    public static final int GROUNDTRACK_MAX_WINDOW_DAYS = 7;
+    public static final int GROUNDTRACKS_MAX_SIZE = 100;
+    // Samples computed per request from the subscriber: one NDJSON batch or one binary socket write
+    public static final int GROUNDTRACK_SAMPLES_PER_CHUNK = 512;
+    public static final String CONJUNCTIONS_ENDPOINT = "/conjunctions";
+    public static final String CONJUNCTION_JOB_ENDPOINT = "/conjunctions/{jobId}";
+    public static final String CONJUNCTION_MAX_DISTANCE_KM = "50";
+    public static final int CONJUNCTION_MAX_WINDOW_DAYS = 7;
+    // Beyond this many approaches only the closest are kept, so a job result stays a reasonable response
+    public static final int CONJUNCTION_MAX_RESULTS = 100_000;
+    public static final String LIVE_ENDPOINT = "/live";
+    public static final int LIVE_MAX_SIZE = 1_000;
+    public static final int LIVE_MIN_INTERVAL_MILLIS = 100;
+    public static final int LIVE_MAX_INTERVAL_SECONDS = 60;
+    public static final int BULK_BATCH_MAX_WAIT_MILLIS = 200;
+
+    public static final String LIST_PAGE_PARAM_NAME = "page";
+    public static final String LIST_DEFAULT_PAGE_VALUE = "0";
+    public static final String LIST_CURSOR_PARAM_NAME = "cursor";
+    public static final String LIST_INCLUDE_TOTAL_PARAM_NAME = "includeTotal";
+
     public static final String FETCH_SIZE_PARAM_NAME = "size";
     public static final String FETCH_CHUNK_SIZE_PARAM_NAME = "chunk-size";
+    public static final String FETCH_MODE_PARAM_NAME = "mode";
     public static final String FETCH_DEFAULT_SIZE_VALUE = "10";
+    public static final String FETCH_DEFAULT_MODE_VALUE = "FULL";
     public static final int FETCH_MIN_CHUNK_SIZE_VALUE = 1;
     public static final int FETCH_MAX_CHUNK_SIZE_VALUE = 100;
 
@@ -23,10 +77,31 @@ public class SatelliteConstants {
     public static final int EXTERNAL_API_DEFAULT_PAGE_VALUE = 1;
     public static final int EXTERNAL_API_MAX_PAGE_SIZE = 100;
     public static final String EXTERNAL_API_PAGE_SIZE_PARAMETER_NAME = "page-size";
+    public static final String EXTERNAL_API_SORT_PARAMETER_NAME = "sort";
+    public static final String EXTERNAL_API_SORT_DIR_PARAMETER_NAME = "sort-dir";
+    public static final String EXTERNAL_API_SORT_EPOCH_VALUE = "date";
+    public static final String EXTERNAL_API_SORT_DIR_DESC_VALUE = "desc";
+
+    public static final String SATELLITE_CACHE_NAME = "satellites.by-guid";
+    public static final String PROPAGATOR_CACHE_NAME = "satellites.propagators";
+    public static final String SNAPSHOT_METRIC_PREFIX = "satellites.snapshot";
+    public static final String EPHEMERIS_CACHE_NAME = "satellites.ephemeris";
+    public static final String LIVE_METRIC_PREFIX = "satellites.live";
+    public static final String LIST_SINGLE_FLIGHT_NAME = "satellites.list";
 
+    public static final String ID_PROPERTY = "id";
     public static final String NAME_PROPERTY = "name";
     public static final String DATE_PROPERTY = "date";
 
+    // Postgres accepts at most 65535 bind parameters per statement, each upserted row binds 5
+    public static final int UPSERT_MAX_BATCH_SIZE = 13_000;
+
     public static final int BACKOFF_MAX_ATTEMPTS = 3;
     public static final int BACKOFF_DURATION = 3;
+    public static final int BACKOFF_MAX_DURATION = 30;
+    public static final double BACKOFF_JITTER = 0.5;
+    public static final int BACKOFF_MAX_RETRY_AFTER = 60;
+
+    public static final String SYNC_KEY_FULL_PREFIX = "full";
+    public static final String SYNC_KEY_INCREMENTAL = "incremental";
 }
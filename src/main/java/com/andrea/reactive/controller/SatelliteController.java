@@ -2,15 +2,37 @@ package com.andrea.reactive.controller;
 
 import com.andrea.reactive.constants.SatelliteConstants;
 import com.andrea.reactive.dto.SatelliteDto;
+import com.andrea.reactive.dto.enumerator.FetchMode;
+import com.andrea.reactive.dto.request.BatchGetSatelliteRequest;
+import com.andrea.reactive.dto.request.ConjunctionScreeningRequest;
 import com.andrea.reactive.dto.request.CreateSatelliteRequest;
+import com.andrea.reactive.dto.request.GroundTracksRequest;
+import com.andrea.reactive.dto.request.LivePositionsRequest;
+import com.andrea.reactive.dto.request.SatelliteQueryRequest;
+import com.andrea.reactive.dto.request.SatellitePassesRequest;
+import com.andrea.reactive.dto.request.SatellitePositionsRequest;
 import com.andrea.reactive.dto.request.UpdateSatelliteRequest;
+import com.andrea.reactive.dto.response.BatchSatelliteResult;
+import com.andrea.reactive.dto.response.BulkSatelliteResult;
+import com.andrea.reactive.dto.response.ConjunctionJobResponse;
 import com.andrea.reactive.dto.response.GenericPagedResponse;
+import com.andrea.reactive.dto.response.GroundTrackPointResponse;
+import com.andrea.reactive.dto.response.LivePositionsResponse;
+import com.andrea.reactive.dto.response.SatelliteQueryResponse;
+import com.andrea.reactive.dto.response.SatellitePassResponse;
+import com.andrea.reactive.dto.response.SatellitePositionResponse;
+import com.andrea.reactive.dto.response.TleImportResponse;
 import com.andrea.reactive.dto.response.externalApi.FetchSatelliteResponse;
 import com.andrea.reactive.exception.ValidationException;
+import com.andrea.reactive.service.ConjunctionService;
+import com.andrea.reactive.service.LivePositionService;
+import com.andrea.reactive.service.PropagationService;
 import com.andrea.reactive.service.SatelliteService;
+import com.andrea.reactive.service.TleImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,12 +40,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.swing.*;
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.*;
 
 @RestController
@@ -33,9 +64,17 @@ import java.util.*;
 public class SatelliteController {
 
     private final SatelliteService satelliteService;
+    private final TleImportService tleImportService;
+    private final PropagationService propagationService;
+    private final ConjunctionService conjunctionService;
+    private final LivePositionService livePositionService;
 
-    public SatelliteController(SatelliteService satelliteService) {
+    public SatelliteController(SatelliteService satelliteService, TleImportService tleImportService, PropagationService propagationService, ConjunctionService conjunctionService, LivePositionService livePositionService) {
         this.satelliteService = satelliteService;
+        this.tleImportService = tleImportService;
+        this.propagationService = propagationService;
+        this.conjunctionService = conjunctionService;
+        this.livePositionService = livePositionService;
     }
 
     @PostMapping(SatelliteConstants.FETCH_ENDPOINT)
@@ -44,7 +83,8 @@ public class SatelliteController {
             description = "Fetches satellites from an external source and updates the local repository.",
             parameters = {
                     @Parameter(name = "size", description = "Number of satellites to fetch", required = true),
-                    @Parameter(name = "chunkSize", description = "Size of chunks for processing", required = false)
+                    @Parameter(name = "chunkSize", description = "Size of chunks for processing", required = false),
+                    @Parameter(name = "mode", description = "FULL pulls the requested size, INCREMENTAL stops once the stored epoch watermark is reached", required = false)
             }
     )
     @ApiResponses(value = {
@@ -59,16 +99,17 @@ public class SatelliteController {
 
     public Mono<ResponseEntity<FetchSatelliteResponse>> fetchSatellitesFromExternalSource(
             @RequestParam(name=SatelliteConstants.FETCH_SIZE_PARAM_NAME, defaultValue = SatelliteConstants.FETCH_DEFAULT_SIZE_VALUE) int size,
-            @RequestParam(name=SatelliteConstants.FETCH_CHUNK_SIZE_PARAM_NAME) Integer chunkSize
+            @RequestParam(name=SatelliteConstants.FETCH_CHUNK_SIZE_PARAM_NAME) Integer chunkSize,
+            @RequestParam(name=SatelliteConstants.FETCH_MODE_PARAM_NAME, defaultValue = SatelliteConstants.FETCH_DEFAULT_MODE_VALUE) FetchMode mode
     ) {
 
-        log.info("Start method - fetchSatellitesFromExternalSource - size: {} - chunkSize: {}", size, chunkSize);
+        log.info("Start method - fetchSatellitesFromExternalSource - size: {} - chunkSize: {} - mode: {}", size, chunkSize, mode);
 
         if(!Objects.isNull(chunkSize) && (chunkSize < SatelliteConstants.FETCH_MIN_CHUNK_SIZE_VALUE || chunkSize > SatelliteConstants.FETCH_MAX_CHUNK_SIZE_VALUE))
             return Mono.error(new ValidationException("Invalid chunk-size parameter. It must be between "+SatelliteConstants.FETCH_MIN_CHUNK_SIZE_VALUE +" and "+SatelliteConstants.FETCH_MAX_CHUNK_SIZE_VALUE +"."));
 
-        return satelliteService.fetchAndUpdateSatellites(size, Optional.of(chunkSize))
-                .doOnSuccess(response -> log.info("End method - fetchSatellitesFromExternalSource - size: {} - chunkSize: {}", size, chunkSize))
+        return satelliteService.fetchAndUpdateSatellites(size, Optional.of(chunkSize), mode)
+                .doOnSuccess(response -> log.info("End method - fetchSatellitesFromExternalSource - size: {} - chunkSize: {} - mode: {}", size, chunkSize, mode))
                 .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
@@ -96,6 +137,271 @@ public class SatelliteController {
                 .map(response -> ResponseEntity.ok(response));
     }
 
+    @GetMapping(SatelliteConstants.POSITION_ENDPOINT)
+    @Operation(
+            summary = "Get the position of a satellite",
+            description = "Propagates the stored TLE of the satellite with SGP4/SDP4 and returns its TEME position (km) and velocity (km/s) at the given instant.",
+            parameters = {
+                    @Parameter(name = "guid", description = "Unique identifier of the satellite", required = true, example = "123e4567-e89b-12d3-a456-426614174000"),
+                    @Parameter(name = "at", in = ParameterIn.QUERY, description = "Instant to propagate to (ISO-8601), now when omitted", required = false, example = "2024-08-12T14:50:02Z")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Position computed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SatellitePositionResponse.class))),
+            @ApiResponse(responseCode = "400", description = "The satellite has no valid TLE",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Satellite not found",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Mono<ResponseEntity<SatellitePositionResponse>> getSatellitePosition(
+            @PathVariable UUID guid,
+            @RequestParam(name = SatelliteConstants.POSITION_AT_PARAM_NAME, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime at
+    ) {
+
+        OffsetDateTime instant = at == null ? OffsetDateTime.now() : at;
+
+        log.info("Start method - getSatellitePosition - guid: {} - at: {}", guid, instant);
+
+        return propagationService.getPosition(guid, instant)
+                .doOnSuccess(response -> log.info("End method - getSatellitePosition - guid: {} - at: {}", guid, instant))
+                .map(response -> ResponseEntity.ok(response));
+    }
+
+    @PostMapping(value = SatelliteConstants.POSITIONS_ENDPOINT, produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(
+            summary = "Get the positions of many satellites",
+            description = "Propagates up to " + SatelliteConstants.POSITIONS_MAX_SIZE + " satellites, or the whole catalogue when no GUID is given, to the same instant. Propagation runs in parallel across cores and results are streamed as they are computed, not in request order."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Positions streamed",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = SatellitePositionResponse.class)),
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = SatellitePositionResponse.class)))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid request data",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Flux<SatellitePositionResponse> getSatellitePositions(@Valid @RequestBody SatellitePositionsRequest request) {
+
+        log.info("Start method - getSatellitePositions - at: {}", request.getAt());
+
+        return propagationService.getPositions(request.getGuids(), request.getAt())
+                .doOnComplete(() -> log.info("End method - getSatellitePositions - at: {}", request.getAt()));
+    }
+
+    @GetMapping(value = SatelliteConstants.LIVE_ENDPOINT, produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(
+            summary = "Follow the live positions of satellites",
+            description = "Streams the positions of up to " + SatelliteConstants.LIVE_MAX_SIZE + " satellites now, every 'interval' (between " + SatelliteConstants.LIVE_MIN_INTERVAL_MILLIS + " ms and " + SatelliteConstants.LIVE_MAX_INTERVAL_SECONDS + " s), as Server-Sent Events or newline-delimited JSON, one element per tick. Clients following the same interval share one propagation per tick; a client that falls behind skips straight to the latest tick."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Positions streamed until the client disconnects",
+                    content = {
+                            @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = LivePositionsResponse.class)),
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = LivePositionsResponse.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters supplied",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Flux<LivePositionsResponse> streamLivePositions(@Valid LivePositionsRequest request) {
+
+        log.info("Start method - streamLivePositions - size: {} - interval: {}", request.getGuids().size(), request.getInterval());
+
+        return livePositionService.follow(request.getGuids(), request.getInterval())
+                .doFinally(signal -> log.info("End method - streamLivePositions - interval: {} - signal: {}", request.getInterval(), signal));
+    }
+
+    @PostMapping(value = SatelliteConstants.PASSES_ENDPOINT, produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(
+            summary = "Predict satellite passes over ground stations",
+            description = "Finds AOS, LOS and maximum elevation of every pass of up to " + SatelliteConstants.POSITIONS_MAX_SIZE + " satellites, or the whole catalogue when no GUID is given, over up to " + SatelliteConstants.PASSES_MAX_STATIONS + " ground stations within a window of at most " + SatelliteConstants.PASSES_MAX_WINDOW_DAYS + " days. Satellites are searched in parallel across cores and passes are streamed as they are found, ordered by AOS within each satellite only."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Passes streamed",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = SatellitePassResponse.class)),
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = SatellitePassResponse.class)))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid request data",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Flux<SatellitePassResponse> getSatellitePasses(@Valid @RequestBody SatellitePassesRequest request) {
+
+        log.info("Start method - getSatellitePasses - from: {} - to: {}", request.getFrom(), request.getTo());
+
+        return propagationService.getPasses(request)
+                .doOnComplete(() -> log.info("End method - getSatellitePasses - from: {} - to: {}", request.getFrom(), request.getTo()));
+    }
+
+    @GetMapping(value = SatelliteConstants.GROUNDTRACK_ENDPOINT, produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(
+            summary = "Get the ground track of a satellite",
+            description = "Streams the geodetic latitude, longitude and altitude on the WGS-84 ellipsoid of the satellite every 'step' (at least " + SatelliteConstants.GROUNDTRACK_MIN_STEP_SECONDS + " s) from 'from' to 'to' included, within a window of at most " + SatelliteConstants.GROUNDTRACK_MAX_WINDOW_DAYS + " days. Samples are computed as the client reads them.",
+            parameters = {
+                    @Parameter(name = "guid", description = "Unique identifier of the satellite", required = true, example = "123e4567-e89b-12d3-a456-426614174000"),
+                    @Parameter(name = "from", in = ParameterIn.QUERY, description = "Start of the window (ISO-8601)", required = true, example = "2024-08-12T00:00:00Z"),
+                    @Parameter(name = "to", in = ParameterIn.QUERY, description = "End of the window, included (ISO-8601)", required = true, example = "2024-08-12T06:00:00Z"),
+                    @Parameter(name = "step", in = ParameterIn.QUERY, description = "Time between two samples (ISO-8601 duration)", required = false, example = "PT30S")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Samples streamed",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = GroundTrackPointResponse.class)),
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = GroundTrackPointResponse.class)))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters supplied, or the satellite has no valid TLE",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Satellite not found",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Flux<GroundTrackPointResponse> getGroundTrack(
+            @PathVariable UUID guid,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(defaultValue = SatelliteConstants.GROUNDTRACK_DEFAULT_STEP_VALUE) Duration step
+    ) {
+
+        log.info("Start method - getGroundTrack - guid: {} - from: {} - to: {} - step: {}", guid, from, to, step);
+
+        return propagationService.getGroundTrack(guid, from, to, step)
+                .doOnComplete(() -> log.info("End method - getGroundTrack - guid: {} - from: {} - to: {}", guid, from, to));
+    }
+
+    @GetMapping(value = SatelliteConstants.GROUNDTRACK_BINARY_ENDPOINT, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(
+            summary = "Get the ground track of a satellite in a compact binary encoding",
+            description = "Streams the same samples as the NDJSON ground track as fixed 24-byte big-endian records: int32 satellite index (always 0), int64 instant in microseconds since the Unix epoch, float32 latitude and longitude in degrees and float32 altitude in km. Samples that could not be computed have NaN coordinates.",
+            parameters = {
+                    @Parameter(name = "guid", description = "Unique identifier of the satellite", required = true, example = "123e4567-e89b-12d3-a456-426614174000"),
+                    @Parameter(name = "from", in = ParameterIn.QUERY, description = "Start of the window (ISO-8601)", required = true, example = "2024-08-12T00:00:00Z"),
+                    @Parameter(name = "to", in = ParameterIn.QUERY, description = "End of the window, included (ISO-8601)", required = true, example = "2024-08-12T06:00:00Z"),
+                    @Parameter(name = "step", in = ParameterIn.QUERY, description = "Time between two samples (ISO-8601 duration)", required = false, example = "PT30S")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Records streamed",
+                    content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters supplied, or the satellite has no valid TLE",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Satellite not found",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Flux<DataBuffer> getGroundTrackBinary(
+            @PathVariable UUID guid,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(defaultValue = SatelliteConstants.GROUNDTRACK_DEFAULT_STEP_VALUE) Duration step,
+            ServerHttpResponse response
+    ) {
+
+        log.info("Start method - getGroundTrackBinary - guid: {} - from: {} - to: {} - step: {}", guid, from, to, step);
+
+        return propagationService.getGroundTrackBinary(guid, from, to, step, response.bufferFactory())
+                .doOnComplete(() -> log.info("End method - getGroundTrackBinary - guid: {} - from: {} - to: {}", guid, from, to));
+    }
+
+    @PostMapping(value = SatelliteConstants.GROUNDTRACKS_ENDPOINT, produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(
+            summary = "Get the ground tracks of many satellites",
+            description = "Streams the ground tracks of up to " + SatelliteConstants.GROUNDTRACKS_MAX_SIZE + " satellites over the same window, tracked in parallel across cores. Samples of different satellites are interleaved and in time order within each satellite; unknown satellites and satellites without a valid TLE come back as one sample with an error."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Samples streamed",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = GroundTrackPointResponse.class)),
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = GroundTrackPointResponse.class)))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid request data",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Flux<GroundTrackPointResponse> getGroundTracks(@Valid @RequestBody GroundTracksRequest request) {
+
+        log.info("Start method - getGroundTracks - from: {} - to: {} - step: {}", request.getFrom(), request.getTo(), request.getStep());
+
+        return propagationService.getGroundTracks(request)
+                .doOnComplete(() -> log.info("End method - getGroundTracks - from: {} - to: {}", request.getFrom(), request.getTo()));
+    }
+
+    @PostMapping(value = SatelliteConstants.GROUNDTRACKS_BINARY_ENDPOINT, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(
+            summary = "Get the ground tracks of many satellites in a compact binary encoding",
+            description = "Streams the same samples as the NDJSON ground tracks as fixed 24-byte big-endian records: int32 index of the satellite in 'guids', int64 instant in microseconds since the Unix epoch, float32 latitude and longitude in degrees and float32 altitude in km. Samples that could not be computed, and unknown satellites or satellites without a valid TLE, have NaN coordinates."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Records streamed",
+                    content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)),
+            @ApiResponse(responseCode = "400", description = "Invalid request data",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Flux<DataBuffer> getGroundTracksBinary(@Valid @RequestBody GroundTracksRequest request, ServerHttpResponse response) {
+
+        log.info("Start method - getGroundTracksBinary - from: {} - to: {} - step: {}", request.getFrom(), request.getTo(), request.getStep());
+
+        return propagationService.getGroundTracksBinary(request, response.bufferFactory())
+                .doOnComplete(() -> log.info("End method - getGroundTracksBinary - from: {} - to: {}", request.getFrom(), request.getTo()));
+    }
+
+    @PostMapping(SatelliteConstants.CONJUNCTIONS_ENDPOINT)
+    @Operation(
+            summary = "Start a conjunction screening job",
+            description = "Screens the catalogue, or the given satellites against each other, for every pair coming within 'distance' km (at most " + SatelliteConstants.CONJUNCTION_MAX_DISTANCE_KM + ") during a window of at most " + SatelliteConstants.CONJUNCTION_MAX_WINDOW_DAYS + " days. The job runs in the background; poll the returned job for progress and results."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job accepted",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ConjunctionJobResponse.class)
+                    )),
+            @ApiResponse(responseCode = "400", description = "Invalid request data",
+                    content = @Content(
+                            mediaType = "application/json"
+                    )),
+            @ApiResponse(responseCode = "429", description = "Too many screening jobs running, retry later",
+                    content = @Content(
+                            mediaType = "application/json"
+                    ))
+    })
+    public Mono<ResponseEntity<ConjunctionJobResponse>> screenConjunctions(@Valid @RequestBody ConjunctionScreeningRequest request) {
+
+        log.info("Start method - screenConjunctions - from: {} - to: {} - distance: {}", request.getFrom(), request.getTo(), request.getDistance());
+
+        return conjunctionService.submit(request)
+                .doOnSuccess(response -> log.info("End method - screenConjunctions - job: {}", response.getId()))
+                .map(response -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .location(URI.create(SatelliteConstants.SATELLITE_BASE_PATH + SatelliteConstants.CONJUNCTIONS_ENDPOINT + "/" + response.getId()))
+                        .body(response));
+    }
+
+    @GetMapping(SatelliteConstants.CONJUNCTION_JOB_ENDPOINT)
+    @Operation(
+            summary = "Get a conjunction screening job",
+            description = "Returns the status and progress of a screening job and, once completed, the close approaches ordered by time of closest approach. Jobs are kept for a limited time after submission.",
+            parameters = {
+                    @Parameter(name = "jobId", description = "Identifier of the screening job", required = true, example = "3f6c2d0e-8a41-4b7e-9d52-1c0a7e6b4f19")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ConjunctionJobResponse.class)
+                    )),
+            @ApiResponse(responseCode = "404", description = "Job not found or expired",
+                    content = @Content(
+                            mediaType = "application/json"
+                    ))
+    })
+    public Mono<ConjunctionJobResponse> getConjunctionJob(@PathVariable UUID jobId) {
+
+        log.info("Start method - getConjunctionJob - job: {}", jobId);
+
+        return conjunctionService.getJob(jobId)
+                .doOnSuccess(response -> log.info("End method - getConjunctionJob - job: {} - status: {}", jobId, response.getStatus()));
+    }
+
     @PostMapping
     @Operation(
             summary = "Create a new satellite",
@@ -121,6 +427,72 @@ public class SatelliteController {
                 .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
+    @PostMapping(value = SatelliteConstants.IMPORT_ENDPOINT, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            summary = "Import a TLE file",
+            description = "Imports a 2-line or 3-line (name, line 1, line 2) TLE text file such as a Celestrak or Space-Track catalogue. TLEs with bad checksums or mismatched lines are rejected; the others are merged on the catalog number, keeping the newest epoch."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "File imported",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TleImportResponse.class)
+                    )),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized file",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "500", description = "Database error during import",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Mono<ResponseEntity<TleImportResponse>> importTle(@RequestPart(SatelliteConstants.IMPORT_FILE_PART_NAME) FilePart file) {
+
+        log.info("Start method - importTle - filename: {}", file.filename());
+
+        return tleImportService.importTle(file)
+                .doOnSuccess(response -> log.info("End method - importTle - filename: {}", file.filename()))
+                .map(response -> ResponseEntity.ok(response));
+    }
+
+    @PostMapping(SatelliteConstants.BATCH_GET_ENDPOINT)
+    @Operation(
+            summary = "Get many satellites by GUID",
+            description = "Resolves up to " + SatelliteConstants.BATCH_GET_MAX_SIZE + " GUIDs in one request. Results follow the request order and unknown GUIDs are returned with found = false."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Satellites resolved",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = BatchSatelliteResult.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid request data",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Mono<ResponseEntity<List<BatchSatelliteResult>>> getSatellitesByGuids(@Valid @RequestBody BatchGetSatelliteRequest request) {
+
+        log.info("Start method - getSatellitesByGuids - size: {}", request.getGuids().size());
+
+        return satelliteService.getSatellitesByGuids(request.getGuids())
+                .doOnSuccess(response -> log.info("End method - getSatellitesByGuids - size: {}", request.getGuids().size()))
+                .map(response -> ResponseEntity.ok(response));
+    }
+
+    @PostMapping(value = SatelliteConstants.BULK_ENDPOINT, consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Create satellites in bulk",
+            description = "Streams newline-delimited satellites, validates each one and stores them in batches. One result per item is streamed back, in request order, with the new GUID or the validation error."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-item results streamed as they are stored",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = BulkSatelliteResult.class)
+                    ))
+    })
+    public Flux<BulkSatelliteResult> bulkCreateSatellites(@RequestBody Flux<CreateSatelliteRequest> requests) {
+
+        log.info("Start method - bulkCreateSatellites");
+
+        return satelliteService.bulkCreateSatellites(requests)
+                .doOnComplete(() -> log.info("End method - bulkCreateSatellites"));
+    }
+
     @PutMapping("/{guid}")
     @Operation(
             summary = "Update an existing satellite",
@@ -180,11 +552,13 @@ public class SatelliteController {
             summary = "Get a list of satellites",
             description = "Retrieves a paginated list of satellites based on the provided filters and sorting options.",
             parameters = {
-                    @Parameter(name = "page", in = ParameterIn.QUERY, description = "Page number for pagination", required = true, example = "1"),
+                    @Parameter(name = "page", in = ParameterIn.QUERY, description = "Page number for offset pagination, ignored when a cursor is given", required = false, example = "1"),
                     @Parameter(name = "size", in = ParameterIn.QUERY, description = "Number of items per page", required = true, example = "10"),
                     @Parameter(name = "name", in = ParameterIn.QUERY, description = "Filter by satellite name", required = false, example = "Hubble"),
                     @Parameter(name = "nameOrder", in = ParameterIn.QUERY, description = "Sort order for name", required = false, example = "ASC", schema = @Schema(type = "string", allowableValues = {"ASC", "DESC"})),
-                    @Parameter(name = "dateOrder", in = ParameterIn.QUERY, description = "Sort order for date", required = false, example = "DESC", schema = @Schema(type = "string", allowableValues = {"ASC", "DESC"}))
+                    @Parameter(name = "dateOrder", in = ParameterIn.QUERY, description = "Sort order for date", required = false, example = "DESC", schema = @Schema(type = "string", allowableValues = {"ASC", "DESC"})),
+                    @Parameter(name = "cursor", in = ParameterIn.QUERY, description = "Keyset pagination token: empty for the first page, then the nextCursor of the previous response", required = false),
+                    @Parameter(name = "includeTotal", in = ParameterIn.QUERY, description = "Whether to compute totalElements/totalPages. Defaults to true for offset pages and false for cursor pages", required = false)
             }
     )
     @ApiResponses(value = {
@@ -195,19 +569,102 @@ public class SatelliteController {
                     content = @Content(mediaType = "application/json"))
     })
     public Mono<ResponseEntity<GenericPagedResponse>> getList(
-            @RequestParam("page") int page,
+            @RequestParam(name = SatelliteConstants.LIST_PAGE_PARAM_NAME, defaultValue = SatelliteConstants.LIST_DEFAULT_PAGE_VALUE) int page,
             @RequestParam("size") int size,
             @RequestParam(required = false, defaultValue = "") String name,
             @RequestParam(required = false) SortOrder nameOrder,
-            @RequestParam(required = false) SortOrder dateOrder
+            @RequestParam(required = false) SortOrder dateOrder,
+            @RequestParam(name = SatelliteConstants.LIST_CURSOR_PARAM_NAME, required = false) String cursor,
+            @RequestParam(name = SatelliteConstants.LIST_INCLUDE_TOTAL_PARAM_NAME, required = false) Boolean includeTotal
     ) {
 
-        log.info("Start method - getList - page: {} - size: {} - name: {} - nameOrder: {} - dateOrder: {}", page, size, name, nameOrder, dateOrder);
+        log.info("Start method - getList - page: {} - size: {} - name: {} - nameOrder: {} - dateOrder: {} - cursor: {}", page, size, name, nameOrder, dateOrder, cursor);
 
-        return satelliteService.getSatellites(name, page, size, nameOrder, dateOrder)
+        return satelliteService.getSatellites(name, page, size, nameOrder, dateOrder, cursor, includeTotal)
                 .doOnSuccess(response ->  log.info("Start method - getList - page: {} - size: {} - name: {} - nameOrder: {} - dateOrder: {}", page, size, name, nameOrder, dateOrder))
                 .map(response -> ResponseEntity.ok(response));
 
     }
 
+    @GetMapping(SatelliteConstants.QUERY_ENDPOINT)
+    @Operation(
+            summary = "Query the catalogue on orbital elements",
+            description = "Filters satellites on inclusive ranges of their parsed orbital elements (inclination, RAAN, eccentricity, mean motion, period, perigee and apogee altitude, epoch) and sorts them, from an in-memory columnar snapshot of the catalogue. Returns the matching guids, or the full satellites with view=SATELLITE. Satellites without a valid TLE never match."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Query executed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SatelliteQueryResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters supplied",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Mono<ResponseEntity<SatelliteQueryResponse>> querySatellites(@Valid SatelliteQueryRequest request) {
+
+        log.info("Start method - querySatellites - request: {}", request);
+
+        return satelliteService.querySatellites(request)
+                .doOnSuccess(response -> log.info("End method - querySatellites - matched: {}", response.getMatched()))
+                .map(response -> ResponseEntity.ok(response));
+    }
+
+    @GetMapping(value = SatelliteConstants.EXPORT_ENDPOINT, produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(
+            summary = "Export the satellite catalogue",
+            description = "Streams every satellite matching the optional filters, ordered by id, as newline-delimited JSON or Server-Sent Events. Rows are read from a database cursor as the client consumes them.",
+            parameters = {
+                    @Parameter(name = "name", in = ParameterIn.QUERY, description = "Filter by satellite name", required = false, example = "Hubble"),
+                    @Parameter(name = "since", in = ParameterIn.QUERY, description = "Only satellites with an epoch at or after this instant (ISO-8601)", required = false, example = "2024-08-01T00:00:00Z"),
+                    @Parameter(name = "until", in = ParameterIn.QUERY, description = "Only satellites with an epoch at or before this instant (ISO-8601)", required = false, example = "2024-08-31T23:59:59Z")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Satellites streamed",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = SatelliteDto.class)),
+                            @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = SatelliteDto.class))
+                    }),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters supplied",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Flux<SatelliteDto> exportSatellites(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime until
+    ) {
+
+        log.info("Start method - exportSatellites - name: {} - since: {} - until: {}", name, since, until);
+
+        return satelliteService.exportSatellites(name, since, until)
+                .doOnComplete(() -> log.info("End method - exportSatellites - name: {} - since: {} - until: {}", name, since, until));
+    }
+
+    @GetMapping(value = SatelliteConstants.EXPORT_TLE_ENDPOINT, produces = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(
+            summary = "Export the satellite catalogue as TLE text",
+            description = "Streams satellites matching the optional filters, ordered by id, as 3-line TLE text (name, line 1, line 2). Satellites without both TLE lines are skipped. The response is gzip-compressed when the client accepts it.",
+            parameters = {
+                    @Parameter(name = "name", in = ParameterIn.QUERY, description = "Filter by satellite name", required = false, example = "Hubble"),
+                    @Parameter(name = "since", in = ParameterIn.QUERY, description = "Only satellites with an epoch at or after this instant (ISO-8601)", required = false, example = "2024-08-01T00:00:00Z"),
+                    @Parameter(name = "until", in = ParameterIn.QUERY, description = "Only satellites with an epoch at or before this instant (ISO-8601)", required = false, example = "2024-08-31T23:59:59Z")
+            }
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "TLE records streamed",
+                    content = @Content(mediaType = MediaType.TEXT_PLAIN_VALUE)),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters supplied",
+                    content = @Content(mediaType = "application/json"))
+    })
+    public Flux<DataBuffer> exportTle(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime until,
+            ServerHttpResponse response
+    ) {
+
+        log.info("Start method - exportTle - name: {} - since: {} - until: {}", name, since, until);
+
+        return satelliteService.exportTle(name, since, until, response.bufferFactory())
+                .doOnComplete(() -> log.info("End method - exportTle - name: {} - since: {} - until: {}", name, since, until));
+    }
+
 }
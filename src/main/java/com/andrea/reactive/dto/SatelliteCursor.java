@@ -0,0 +1,16 @@
+package com.andrea.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+@Data
+@AllArgsConstructor
+public class SatelliteCursor {
+
+    private Integer id;
+    private String name;
+    private OffsetDateTime date;
+
+}
@@ -0,0 +1,16 @@
+package com.andrea.reactive.dto;
+
+import com.andrea.reactive.dto.enumerator.FetchSatelliteResult;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class SatelliteUpsertResult {
+
+    private UUID guid;
+    private FetchSatelliteResult result;
+
+}
@@ -2,5 +2,7 @@ package com.andrea.reactive.dto.enumerator;
 
 public enum FetchSatelliteResult {
     NEW,
-    UPDATED
+    UPDATED,
+    UNCHANGED,
+    REJECTED
 }
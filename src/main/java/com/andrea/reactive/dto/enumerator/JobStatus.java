@@ -0,0 +1,8 @@
+package com.andrea.reactive.dto.enumerator;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
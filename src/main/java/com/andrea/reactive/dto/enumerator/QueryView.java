@@ -0,0 +1,6 @@
+package com.andrea.reactive.dto.enumerator;
+
+public enum QueryView {
+    GUID,
+    SATELLITE
+}
@@ -0,0 +1,21 @@
+package com.andrea.reactive.dto.request;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BatchGetSatelliteRequest {
+
+    @NotEmpty(message = "'guids' must not be empty")
+    @Size(max = SatelliteConstants.BATCH_GET_MAX_SIZE, message = "At most " + SatelliteConstants.BATCH_GET_MAX_SIZE + " guids can be requested at once")
+    @Schema(example = "[\"a0e4f423-4384-4a90-a4df-4c0f70085f66\"]")
+    private List<@NotNull(message = "'guids' must not contain null values") UUID> guids;
+
+}
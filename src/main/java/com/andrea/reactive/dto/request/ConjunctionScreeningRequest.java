@@ -0,0 +1,35 @@
+package com.andrea.reactive.dto.request;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class ConjunctionScreeningRequest {
+
+    @NotNull(message = "'from' must not be null")
+    @Schema(example = "2024-08-12T00:00:00Z")
+    private OffsetDateTime from;
+
+    @NotNull(message = "'to' must not be null")
+    @Schema(description = "End of the window, at most " + SatelliteConstants.CONJUNCTION_MAX_WINDOW_DAYS + " days after 'from'", example = "2024-08-13T00:00:00Z")
+    private OffsetDateTime to;
+
+    @DecimalMin(value = "0", inclusive = false, message = "'distance' must be positive")
+    @DecimalMax(value = SatelliteConstants.CONJUNCTION_MAX_DISTANCE_KM, message = "'distance' must be at most " + SatelliteConstants.CONJUNCTION_MAX_DISTANCE_KM + " km")
+    @Schema(description = "Screening distance, km", example = "5")
+    private double distance = 5.0;
+
+    @Size(max = SatelliteConstants.POSITIONS_MAX_SIZE, message = "At most " + SatelliteConstants.POSITIONS_MAX_SIZE + " guids can be requested at once")
+    @Schema(description = "Satellites to screen against each other; empty or missing for the whole catalogue", example = "[\"a0e4f423-4384-4a90-a4df-4c0f70085f66\"]")
+    private List<@NotNull(message = "'guids' must not contain null values") UUID> guids;
+
+}
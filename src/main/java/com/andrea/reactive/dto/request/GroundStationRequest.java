@@ -0,0 +1,34 @@
+package com.andrea.reactive.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class GroundStationRequest {
+
+    @NotBlank(message = "Station 'name' must not be empty")
+    @Size(max = 255, message = "Station name must be at most 255 characters long")
+    @Schema(example = "Rome")
+    private String name;
+
+    @NotNull(message = "Station 'latitude' must not be null")
+    @DecimalMin(value = "-90", message = "Station latitude must be between -90 and 90 degrees")
+    @DecimalMax(value = "90", message = "Station latitude must be between -90 and 90 degrees")
+    @Schema(description = "Geodetic latitude, degrees north", example = "41.9")
+    private Double latitude;
+
+    @NotNull(message = "Station 'longitude' must not be null")
+    @DecimalMin(value = "-180", message = "Station longitude must be between -180 and 180 degrees")
+    @DecimalMax(value = "180", message = "Station longitude must be between -180 and 180 degrees")
+    @Schema(description = "Longitude, degrees east", example = "12.5")
+    private Double longitude;
+
+    @Schema(description = "Height above the WGS-84 ellipsoid, metres", example = "20")
+    private double altitude;
+
+}
@@ -0,0 +1,35 @@
+package com.andrea.reactive.dto.request;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class GroundTracksRequest {
+
+    @NotNull(message = "'from' must not be null")
+    @Schema(example = "2024-08-12T00:00:00Z")
+    private OffsetDateTime from;
+
+    @NotNull(message = "'to' must not be null")
+    @Schema(description = "End of the window, included, at most " + SatelliteConstants.GROUNDTRACK_MAX_WINDOW_DAYS + " days after 'from'", example = "2024-08-12T06:00:00Z")
+    private OffsetDateTime to;
+
+    @NotNull(message = "'step' must not be null")
+    @Schema(description = "Time between two samples (ISO-8601 duration), at least " + SatelliteConstants.GROUNDTRACK_MIN_STEP_SECONDS + " s", example = "PT30S")
+    private Duration step = Duration.parse(SatelliteConstants.GROUNDTRACK_DEFAULT_STEP_VALUE);
+
+    @NotEmpty(message = "'guids' must not be empty")
+    @Size(max = SatelliteConstants.GROUNDTRACKS_MAX_SIZE, message = "At most " + SatelliteConstants.GROUNDTRACKS_MAX_SIZE + " guids can be requested at once")
+    @Schema(description = "Satellites to track; in the binary encoding each record refers to its satellite by position in this list", example = "[\"a0e4f423-4384-4a90-a4df-4c0f70085f66\"]")
+    private List<@NotNull(message = "'guids' must not contain null values") UUID> guids;
+
+}
@@ -0,0 +1,29 @@
+package com.andrea.reactive.dto.request;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Query parameters of the live position stream.
+ */
+@Data
+public class LivePositionsRequest {
+
+    @NotEmpty(message = "'guids' must not be empty")
+    @Size(max = SatelliteConstants.LIVE_MAX_SIZE, message = "At most " + SatelliteConstants.LIVE_MAX_SIZE + " guids can be followed at once")
+    @Schema(description = "Satellites to follow, comma-separated", example = "a0e4f423-4384-4a90-a4df-4c0f70085f66")
+    private List<@NotNull(message = "'guids' must not contain null values") UUID> guids;
+
+    @NotNull(message = "'interval' must not be null")
+    @Schema(description = "Time between two updates (ISO-8601 duration)", example = "PT1S")
+    private Duration interval = Duration.ofSeconds(1);
+
+}
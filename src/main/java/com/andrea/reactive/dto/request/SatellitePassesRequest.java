@@ -0,0 +1,41 @@
+package com.andrea.reactive.dto.request;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class SatellitePassesRequest {
+
+    @NotNull(message = "'from' must not be null")
+    @Schema(example = "2024-08-12T00:00:00Z")
+    private OffsetDateTime from;
+
+    @NotNull(message = "'to' must not be null")
+    @Schema(description = "End of the window, at most " + SatelliteConstants.PASSES_MAX_WINDOW_DAYS + " days after 'from'", example = "2024-08-13T00:00:00Z")
+    private OffsetDateTime to;
+
+    @DecimalMin(value = "0", message = "'minElevation' must be between 0 and 90 degrees")
+    @DecimalMax(value = "90", message = "'minElevation' must be between 0 and 90 degrees")
+    @Schema(description = "Elevation above the horizon at which a satellite counts as in view, degrees", example = "10")
+    private double minElevation;
+
+    @NotEmpty(message = "'stations' must not be empty")
+    @Size(max = SatelliteConstants.PASSES_MAX_STATIONS, message = "At most " + SatelliteConstants.PASSES_MAX_STATIONS + " stations can be requested at once")
+    private List<@Valid @NotNull(message = "'stations' must not contain null values") GroundStationRequest> stations;
+
+    @Size(max = SatelliteConstants.POSITIONS_MAX_SIZE, message = "At most " + SatelliteConstants.POSITIONS_MAX_SIZE + " guids can be requested at once")
+    @Schema(description = "Satellites to predict; empty or missing for the whole catalogue", example = "[\"a0e4f423-4384-4a90-a4df-4c0f70085f66\"]")
+    private List<@NotNull(message = "'guids' must not contain null values") UUID> guids;
+
+}
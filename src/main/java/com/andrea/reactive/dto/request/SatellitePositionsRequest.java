@@ -0,0 +1,24 @@
+package com.andrea.reactive.dto.request;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class SatellitePositionsRequest {
+
+    @NotNull(message = "'at' must not be null")
+    @Schema(example = "2024-08-12T14:50:02Z")
+    private OffsetDateTime at;
+
+    @Size(max = SatelliteConstants.POSITIONS_MAX_SIZE, message = "At most " + SatelliteConstants.POSITIONS_MAX_SIZE + " guids can be requested at once")
+    @Schema(description = "Satellites to propagate; empty or missing for the whole catalogue", example = "[\"a0e4f423-4384-4a90-a4df-4c0f70085f66\"]")
+    private List<@NotNull(message = "'guids' must not contain null values") UUID> guids;
+
+}
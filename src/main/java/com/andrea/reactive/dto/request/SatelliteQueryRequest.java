@@ -0,0 +1,72 @@
+package com.andrea.reactive.dto.request;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.dto.enumerator.QueryView;
+import com.andrea.reactive.orbit.ElementColumn;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.swing.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Query parameters of the catalogue query. Every bound is optional and inclusive.
+ */
+@Data
+public class SatelliteQueryRequest {
+
+    @Schema(description = "Inclination lower bound, degrees", example = "97")
+    private Double minInclination;
+    @Schema(description = "Inclination upper bound, degrees", example = "99")
+    private Double maxInclination;
+
+    @Schema(description = "Right ascension of the ascending node lower bound, degrees")
+    private Double minRaan;
+    @Schema(description = "Right ascension of the ascending node upper bound, degrees")
+    private Double maxRaan;
+
+    private Double minEccentricity;
+    private Double maxEccentricity;
+
+    @Schema(description = "Mean motion lower bound, revolutions per day")
+    private Double minMeanMotion;
+    @Schema(description = "Mean motion upper bound, revolutions per day")
+    private Double maxMeanMotion;
+
+    @Schema(description = "Orbital period lower bound, minutes")
+    private Double minPeriod;
+    @Schema(description = "Orbital period upper bound, minutes")
+    private Double maxPeriod;
+
+    @Schema(description = "Perigee altitude lower bound, km")
+    private Double minPerigee;
+    @Schema(description = "Perigee altitude upper bound, km")
+    private Double maxPerigee;
+
+    @Schema(description = "Apogee altitude lower bound, km")
+    private Double minApogee;
+    @Schema(description = "Apogee altitude upper bound, km", example = "2000")
+    private Double maxApogee;
+
+    @Schema(description = "Only TLEs with an epoch at or after this instant (ISO-8601)", example = "2024-08-01T00:00:00Z")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime since;
+    @Schema(description = "Only TLEs with an epoch at or before this instant (ISO-8601)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime until;
+
+    private ElementColumn sort = ElementColumn.NORAD_ID;
+
+    private SortOrder order = SortOrder.ASCENDING;
+
+    @Min(value = 1, message = "'limit' must be at least 1")
+    @Max(value = SatelliteConstants.QUERY_MAX_LIMIT, message = "'limit' must be at most " + SatelliteConstants.QUERY_MAX_LIMIT)
+    private int limit = 100;
+
+    @Schema(description = "GUID returns the matching guids only, SATELLITE the full satellites")
+    private QueryView view = QueryView.GUID;
+
+}
@@ -0,0 +1,26 @@
+package com.andrea.reactive.dto.response;
+
+import com.andrea.reactive.dto.SatelliteDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchSatelliteResult {
+
+    @Schema(example = "a0e4f423-4384-4a90-a4df-4c0f70085f66")
+    private UUID guid;
+
+    @Schema(example = "true")
+    private boolean found;
+
+    private SatelliteDto satellite;
+
+}
@@ -0,0 +1,61 @@
+package com.andrea.reactive.dto.response;
+
+import com.andrea.reactive.dto.enumerator.JobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConjunctionJobResponse {
+
+    @Schema(example = "3f6c2d0e-8a41-4b7e-9d52-1c0a7e6b4f19")
+    private UUID id;
+
+    @Schema(example = "RUNNING")
+    private JobStatus status;
+
+    @Schema(example = "2024-08-12T00:00:00Z")
+    private OffsetDateTime from;
+
+    @Schema(example = "2024-08-13T00:00:00Z")
+    private OffsetDateTime to;
+
+    @Schema(description = "Screening distance, km", example = "5")
+    private double distance;
+
+    @Schema(description = "Satellites with a valid TLE being screened", example = "27816")
+    private Integer satellites;
+
+    @Schema(description = "Time steps screened so far", example = "912")
+    private Integer stepsDone;
+
+    @Schema(example = "1440")
+    private Integer stepsTotal;
+
+    @Schema(example = "2024-08-12T09:30:00Z")
+    private OffsetDateTime createdAt;
+
+    @Schema(example = "2024-08-12T09:30:07Z")
+    private OffsetDateTime completedAt;
+
+    @Schema(description = "Why the job failed", example = "Failed to read the catalogue")
+    private String error;
+
+    @Schema(description = "Whether only the closest approaches were kept")
+    private Boolean truncated;
+
+    @Schema(description = "Close approaches ordered by time of closest approach, once the job has completed")
+    private List<ConjunctionResponse> conjunctions;
+
+}
@@ -0,0 +1,39 @@
+package com.andrea.reactive.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConjunctionResponse {
+
+    @Schema(example = "a0e4f423-4384-4a90-a4df-4c0f70085f66")
+    private UUID primaryGuid;
+
+    @Schema(example = "ISS (ZARYA)")
+    private String primaryName;
+
+    @Schema(example = "5e2bc0ad-7ac0-4bd5-8f0a-7b9d2d1c6a55")
+    private UUID secondaryGuid;
+
+    @Schema(example = "COSMOS 2251 DEB")
+    private String secondaryName;
+
+    @Schema(description = "Time of closest approach", example = "2024-08-12T07:41:12.284Z")
+    private OffsetDateTime tca;
+
+    @Schema(description = "Distance at closest approach, km", example = "1.83")
+    private double missDistance;
+
+    @Schema(description = "Relative speed at closest approach, km/s", example = "11.2")
+    private double relativeSpeed;
+
+}
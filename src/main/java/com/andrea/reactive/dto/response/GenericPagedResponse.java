@@ -20,4 +20,5 @@ public class GenericPagedResponse {
     private Long totalElements;
     private Integer totalPages;
     private List<?> content;
+    private String nextCursor;
 }
@@ -0,0 +1,38 @@
+package com.andrea.reactive.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GroundTrackPointResponse {
+
+    @Schema(example = "a0e4f423-4384-4a90-a4df-4c0f70085f66")
+    private UUID guid;
+
+    @Schema(example = "2024-08-12T14:50:00Z")
+    private OffsetDateTime at;
+
+    @Schema(description = "Geodetic latitude on the WGS-84 ellipsoid, degrees", example = "41.87")
+    private Double latitude;
+
+    @Schema(description = "Longitude, degrees east", example = "12.48")
+    private Double longitude;
+
+    @Schema(description = "Altitude above the WGS-84 ellipsoid, km", example = "418.2")
+    private Double altitude;
+
+    @Schema(description = "Why the sample could not be computed, or that the satellite has decayed", example = "satellite has decayed")
+    private String error;
+
+}
@@ -0,0 +1,26 @@
+package com.andrea.reactive.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LivePositionsResponse {
+
+    @Schema(example = "2024-08-12T14:50:02Z")
+    private OffsetDateTime at;
+
+    @Schema(description = "Positions of the followed satellites at this tick; satellites still being looked up are left out")
+    private List<SatellitePositionResponse> positions;
+
+}
@@ -0,0 +1,50 @@
+package com.andrea.reactive.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SatellitePassResponse {
+
+    @Schema(example = "a0e4f423-4384-4a90-a4df-4c0f70085f66")
+    private UUID guid;
+
+    @Schema(example = "ISS (ZARYA)")
+    private String name;
+
+    @Schema(example = "Rome")
+    private String station;
+
+    @Schema(description = "Acquisition of signal, clipped to the start of the window", example = "2024-08-12T18:03:41.2Z")
+    private OffsetDateTime aos;
+
+    @Schema(description = "Azimuth at AOS, degrees clockwise from north", example = "231.4")
+    private Double aosAzimuth;
+
+    @Schema(example = "2024-08-12T18:08:52Z")
+    private OffsetDateTime maxElevationAt;
+
+    @Schema(description = "Highest elevation during the pass, degrees", example = "47.9")
+    private Double maxElevation;
+
+    @Schema(description = "Loss of signal, clipped to the end of the window", example = "2024-08-12T18:14:02.7Z")
+    private OffsetDateTime los;
+
+    @Schema(description = "Azimuth at LOS, degrees clockwise from north", example = "58.1")
+    private Double losAzimuth;
+
+    @Schema(description = "Why no pass could be predicted for this satellite", example = "satellite not found")
+    private String error;
+
+}
@@ -0,0 +1,38 @@
+package com.andrea.reactive.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SatellitePositionResponse {
+
+    @Schema(example = "a0e4f423-4384-4a90-a4df-4c0f70085f66")
+    private UUID guid;
+
+    @Schema(example = "ISS (ZARYA)")
+    private String name;
+
+    @Schema(example = "2024-08-12T14:50:02Z")
+    private OffsetDateTime at;
+
+    @Schema(description = "TEME position x, y, z in km", example = "[-4402.6, 1841.5, 4951.0]")
+    private double[] position;
+
+    @Schema(description = "TEME velocity x, y, z in km/s", example = "[-2.73, -7.13, 0.21]")
+    private double[] velocity;
+
+    @Schema(description = "Why no state could be computed, or that the satellite has decayed", example = "satellite has decayed")
+    private String error;
+
+}
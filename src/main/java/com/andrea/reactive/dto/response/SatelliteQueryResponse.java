@@ -0,0 +1,29 @@
+package com.andrea.reactive.dto.response;
+
+import com.andrea.reactive.dto.SatelliteDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SatelliteQueryResponse {
+
+    @Schema(description = "Satellites matching the filters, before the limit", example = "1532")
+    private int matched;
+
+    @Schema(description = "Satellites held in the snapshot", example = "27816")
+    private int snapshotSize;
+
+    private List<UUID> guids;
+
+    private List<SatelliteDto> satellites;
+
+}
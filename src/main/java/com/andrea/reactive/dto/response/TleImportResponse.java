@@ -0,0 +1,20 @@
+package com.andrea.reactive.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TleImportResponse {
+    @Schema(example = "120")
+    private int newCount;
+    @Schema(example = "24870")
+    private int updatedCount;
+    @Schema(example = "1010")
+    private int unchangedCount;
+    @Schema(example = "3")
+    private int rejectedCount;
+}
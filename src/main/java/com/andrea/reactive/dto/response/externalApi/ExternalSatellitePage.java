@@ -0,0 +1,16 @@
+package com.andrea.reactive.dto.response.externalApi;
+
+import com.andrea.reactive.dto.TleDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ExternalSatellitePage {
+
+    private int page;
+    private List<TleDto> members;
+
+}
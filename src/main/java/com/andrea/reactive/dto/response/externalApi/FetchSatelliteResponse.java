@@ -13,4 +13,8 @@ public class FetchSatelliteResponse {
     private int newCount;
     @Schema(example = "49")
     private int updatedCount;
+    @Schema(example = "901")
+    private int unchangedCount;
+    @Schema(example = "2")
+    private int rejectedCount;
 }
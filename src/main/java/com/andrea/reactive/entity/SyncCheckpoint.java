@@ -0,0 +1,37 @@
+package com.andrea.reactive.entity;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+@Table(name = SatelliteConstants.SYNC_CHECKPOINT_TABLE_NAME)
+public class SyncCheckpoint {
+
+    @Id
+    @Column("sync_key")
+    private String syncKey;
+
+    @Column("page_size")
+    private Integer pageSize;
+
+    @Column("last_page")
+    private Integer lastPage;
+
+    private Boolean completed;
+
+    private OffsetDateTime watermark;
+
+    @Column("updated_at")
+    private OffsetDateTime updatedAt;
+
+}
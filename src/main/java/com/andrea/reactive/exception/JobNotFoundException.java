@@ -0,0 +1,7 @@
+package com.andrea.reactive.exception;
+
+public class JobNotFoundException extends RuntimeException {
+
+    public JobNotFoundException(String message) { super(message); }
+
+}
@@ -2,10 +2,13 @@ package com.andrea.reactive.exception.handler;
 
 import com.andrea.reactive.exception.DatabaseOperationException;
 import com.andrea.reactive.exception.ExternalAPIException;
+import com.andrea.reactive.exception.JobNotFoundException;
 import com.andrea.reactive.exception.SatelliteNotFoundException;
+import com.andrea.reactive.exception.TooManyJobsException;
 import com.andrea.reactive.exception.ValidationException;
 import com.andrea.reactive.exception.dto.GlobalError;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -25,6 +28,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<GlobalError> jobNotFoundException(JobNotFoundException e) {
+        GlobalError error = createError(e.getMessage(), HttpStatus.NOT_FOUND);
+        logError(JobNotFoundException.class.getSimpleName(), error, e);
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(TooManyJobsException.class)
+    public ResponseEntity<GlobalError> tooManyJobsException(TooManyJobsException e) {
+        GlobalError error = createError(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+        logError(TooManyJobsException.class.getSimpleName(), error, e);
+        return new ResponseEntity<>(error, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<GlobalError> handleValidationException(ValidationException e) {
         GlobalError error = createError(e.getMessage(), HttpStatus.BAD_REQUEST);
@@ -32,6 +49,13 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(DataBufferLimitException.class)
+    public ResponseEntity<GlobalError> dataBufferLimitException(DataBufferLimitException e) {
+        GlobalError error = createError(e.getMessage(), HttpStatus.BAD_REQUEST);
+        logError(DataBufferLimitException.class.getSimpleName(), error, e);
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<GlobalError> handleValidationExceptions(MethodArgumentNotValidException e) {
         GlobalError error = createError(e.getMessage(), HttpStatus.BAD_REQUEST);
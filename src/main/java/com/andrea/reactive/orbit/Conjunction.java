@@ -0,0 +1,12 @@
+package com.andrea.reactive.orbit;
+
+/**
+ * Closest approach of two satellites within the screening distance.
+ *
+ * @param primary       index of the first satellite in the list given to the {@link ConjunctionScreener}
+ * @param secondary     index of the second satellite, always greater than {@code primary}
+ * @param tcaMicros     time of closest approach, microseconds since the Unix epoch
+ * @param missDistance  distance at closest approach, km
+ * @param relativeSpeed relative speed at closest approach, km/s
+ */
+public record Conjunction(int primary, int secondary, long tcaMicros, double missDistance, double relativeSpeed) {}
@@ -0,0 +1,336 @@
+package com.andrea.reactive.orbit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Screens a set of satellites for close approaches: every pair coming within a given distance of each other inside
+ * a time window.
+ * <p>
+ * The window is cut into steps. For each step every satellite is propagated to its centre and hashed into a uniform
+ * grid of cubic cells, so only satellites in neighbouring cells are compared instead of all pairs. The cell size is
+ * the screening distance padded by how far two satellites can close in on each other within half a step. A pair is a
+ * candidate when its closest approach within the step, moving in straight lines at the velocities of the centre,
+ * is within the screening distance plus the most their orbits can bend away from those lines under gravity; the
+ * closest approach of a candidate is then refined by golden section search on the propagated distance, over the step
+ * widened by the search tolerance so an approach right past its edges is still found as a minimum. An approach is
+ * reported by the step whose start it is at or after and whose end it is before; near a shared edge, where either
+ * step's estimate may fall on either side, whether the pair is still closing at the edge itself decides, so each
+ * approach is reported once.
+ * <p>
+ * Steps are independent and {@link #screenStep} is thread-safe, so they can be screened in parallel.
+ */
+public final class ConjunctionScreener {
+
+    private static final double MICROS_PER_SECOND = 1_000_000.0;
+    private static final double GOLDEN_RATIO = (Math.sqrt(5) - 1) / 2;
+    private static final long TCA_TOLERANCE_MICROS = 1_000;
+    // Surface gravity in km/s², the largest acceleration of any orbit: within half a step h an orbit strays at most
+    // a·h²/2 from its tangent line, so two orbits at most a·h² from their straight-line approach
+    private static final double MAX_ACCELERATION = 0.00981;
+    private static final int[][] FORWARD_NEIGHBOURS = forwardNeighbours();
+
+    private final List<Sgp4Propagator> propagators;
+    private final long startMicros;
+    private final long endMicros;
+    private final long stepMicros;
+    private final double distance;
+    private final int steps;
+
+    /**
+     * @param distance screening distance, km
+     */
+    public ConjunctionScreener(List<Sgp4Propagator> propagators, long startMicros, long endMicros, long stepMicros, double distance) {
+        if (endMicros <= startMicros) throw new IllegalArgumentException("The window must end after it starts");
+        if (stepMicros <= 0) throw new IllegalArgumentException("The step must be positive");
+        if (!(distance > 0)) throw new IllegalArgumentException("The screening distance must be positive");
+        this.propagators = List.copyOf(propagators);
+        this.startMicros = startMicros;
+        this.endMicros = endMicros;
+        this.stepMicros = stepMicros;
+        this.distance = distance;
+        this.steps = (int) ((endMicros - startMicros + stepMicros - 1) / stepMicros);
+    }
+
+    public int steps() {
+        return steps;
+    }
+
+    /**
+     * Returns the close approaches whose time of closest approach falls within step {@code step}, in no
+     * particular order. Satellites that cannot be propagated at the centre of the step are left out of it.
+     */
+    public List<Conjunction> screenStep(int step) {
+
+        long from = startMicros + step * stepMicros;
+        long to = Math.min(endMicros, from + stepMicros);
+        long centre = from + (to - from) / 2;
+        double half = (to - from) / 2.0 / MICROS_PER_SECOND;
+
+        int n = propagators.size();
+        double[] states = new double[n * Sgp4Propagator.STATE_SIZE];
+        boolean[] valid = new boolean[n];
+        double maxSpeed = 0;
+        for (int i = 0; i < n; i++) {
+            Sgp4Propagator propagator = propagators.get(i);
+            int offset = i * Sgp4Propagator.STATE_SIZE;
+            valid[i] = propagator.propagate(propagator.minutesSinceEpoch(centre), states, offset) == Sgp4Propagator.OK;
+            if (valid[i]) maxSpeed = Math.max(maxSpeed, norm(states[offset + 3], states[offset + 4], states[offset + 5]));
+        }
+
+        double bend = MAX_ACCELERATION * half * half;
+        double reach = distance + bend;
+        double cellSize = reach + 2 * maxSpeed * half;
+        CellGrid grid = new CellGrid(states, valid, cellSize);
+        double[] packed = grid.states;
+        int[] members = grid.members;
+
+        List<Conjunction> conjunctions = new ArrayList<>();
+        double[] scratch = new double[2 * Sgp4Propagator.STATE_SIZE];
+        for (int cell = 0; cell < grid.cells; cell++) {
+            // Own cell, then the half of the neighbouring cells that come after it: every pair of cells is visited once
+            for (int neighbour = 0; neighbour < FORWARD_NEIGHBOURS.length; neighbour++) {
+                int[] offset = FORWARD_NEIGHBOURS[neighbour];
+                int other = neighbour == 0 ? cell : grid.find(cell, offset[0], offset[1], offset[2]);
+                if (other < 0) continue;
+
+                for (int p = grid.start[cell]; p < grid.start[cell + 1]; p++) {
+                    int a = p * Sgp4Propagator.STATE_SIZE;
+                    for (int q = neighbour == 0 ? p + 1 : grid.start[other]; q < grid.start[other + 1]; q++) {
+                        int b = q * Sgp4Propagator.STATE_SIZE;
+                        double rx = packed[b] - packed[a], ry = packed[b + 1] - packed[a + 1], rz = packed[b + 2] - packed[a + 2];
+                        // Most of the neighbourhood is farther than any pair can close in within the step
+                        if (rx * rx + ry * ry + rz * rz > cellSize * cellSize || closestOnLine(packed, a, b, half) > reach) continue;
+
+                        int i = members[p];
+                        int j = members[q];
+                        Conjunction conjunction = refine(Math.min(i, j), Math.max(i, j), from, to, scratch);
+                        if (conjunction != null) conjunctions.add(conjunction);
+                    }
+                }
+            }
+        }
+        return conjunctions;
+    }
+
+    /**
+     * Golden section search for the closest approach of a candidate pair within {@code [from, to)}; returns null
+     * when it is farther than the screening distance or belongs to a neighbouring step.
+     */
+    private Conjunction refine(int i, int j, long from, long to, double[] scratch) {
+
+        double a = Math.max(startMicros, from - TCA_TOLERANCE_MICROS);
+        double b = Math.min(endMicros, to + TCA_TOLERANCE_MICROS);
+        double c = b - GOLDEN_RATIO * (b - a);
+        double d = a + GOLDEN_RATIO * (b - a);
+        double fc = rangeSquared(i, j, (long) c, scratch);
+        double fd = rangeSquared(i, j, (long) d, scratch);
+        while (b - a > TCA_TOLERANCE_MICROS) {
+            if (fc <= fd) {
+                b = d;
+                d = c;
+                fd = fc;
+                c = b - GOLDEN_RATIO * (b - a);
+                fc = rangeSquared(i, j, (long) c, scratch);
+            } else {
+                a = c;
+                c = d;
+                fc = fd;
+                d = a + GOLDEN_RATIO * (b - a);
+                fd = rangeSquared(i, j, (long) d, scratch);
+            }
+        }
+
+        long tca = (long) ((a + b) / 2);
+        // The closest approach is at or after an edge where the pair is still closing, and before one where it is
+        // already opening; the neighbouring step checks the same edge, so exactly one of them keeps it
+        if (from != startMicros && tca <= from + TCA_TOLERANCE_MICROS) {
+            if (!(rangeRate(i, j, from, scratch) <= 0)) return null;
+            tca = Math.max(tca, from);
+        }
+        if (to != endMicros && tca >= to - TCA_TOLERANCE_MICROS) {
+            if (!(rangeRate(i, j, to, scratch) > 0)) return null;
+            tca = Math.min(tca, to - 1);
+        }
+
+        double missDistance = Math.sqrt(rangeSquared(i, j, tca, scratch));
+        if (!(missDistance <= distance)) return null;
+
+        int s = Sgp4Propagator.STATE_SIZE;
+        return new Conjunction(i, j, tca, missDistance, norm(scratch[s + 3] - scratch[3], scratch[s + 4] - scratch[4], scratch[s + 5] - scratch[5]));
+    }
+
+    /**
+     * Rate of change of the squared distance between {@code i} and {@code j} at {@code t}, up to a factor of two;
+     * NaN when either cannot be propagated.
+     */
+    private double rangeRate(int i, int j, long t, double[] scratch) {
+        if (rangeSquared(i, j, t, scratch) == Double.POSITIVE_INFINITY) return Double.NaN;
+        int s = Sgp4Propagator.STATE_SIZE;
+        double rx = scratch[s] - scratch[0], ry = scratch[s + 1] - scratch[1], rz = scratch[s + 2] - scratch[2];
+        double vx = scratch[s + 3] - scratch[3], vy = scratch[s + 4] - scratch[4], vz = scratch[s + 5] - scratch[5];
+        return rx * vx + ry * vy + rz * vz;
+    }
+
+    /**
+     * Squared distance between {@code i} and {@code j} at {@code t}, leaving both states in {@code scratch};
+     * infinite when either cannot be propagated.
+     */
+    private double rangeSquared(int i, int j, long t, double[] scratch) {
+        Sgp4Propagator first = propagators.get(i);
+        Sgp4Propagator second = propagators.get(j);
+        if (first.propagate(first.minutesSinceEpoch(t), scratch, 0) != Sgp4Propagator.OK
+                || second.propagate(second.minutesSinceEpoch(t), scratch, Sgp4Propagator.STATE_SIZE) != Sgp4Propagator.OK)
+            return Double.POSITIVE_INFINITY;
+        double dx = scratch[Sgp4Propagator.STATE_SIZE] - scratch[0];
+        double dy = scratch[Sgp4Propagator.STATE_SIZE + 1] - scratch[1];
+        double dz = scratch[Sgp4Propagator.STATE_SIZE + 2] - scratch[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Offsets of the own cell followed by the 13 neighbouring cells that come after it in (x, y, z) order.
+     */
+    private static int[][] forwardNeighbours() {
+        int[][] offsets = new int[14][];
+        int count = 0;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    if (dx > 0 || dx == 0 && (dy > 0 || dy == 0 && dz >= 0)) offsets[count++] = new int[]{dx, dy, dz};
+                }
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * Closest distance of two satellites within {@code half} seconds of the centre of the step, moving in straight
+     * lines at their velocities at the centre.
+     */
+    private static double closestOnLine(double[] states, int a, int b, double half) {
+        double rx = states[b] - states[a], ry = states[b + 1] - states[a + 1], rz = states[b + 2] - states[a + 2];
+        double vx = states[b + 3] - states[a + 3], vy = states[b + 4] - states[a + 4], vz = states[b + 5] - states[a + 5];
+        double speedSquared = vx * vx + vy * vy + vz * vz;
+        double tau = speedSquared > 0 ? Math.max(-half, Math.min(half, -(rx * vx + ry * vy + rz * vz) / speedSquared)) : 0;
+        return norm(rx + vx * tau, ry + vy * tau, rz + vz * tau);
+    }
+
+    private static double norm(double x, double y, double z) {
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    /**
+     * Uniform grid of cubic cells over the positions of one step. Satellites are counting-sorted by cell and their
+     * states copied in that order, so the members of a cell are one contiguous range of {@code states} and the pair
+     * loops stream through memory. Occupied cells are numbered densely and found through an open-addressing hash
+     * table on their coordinates, clamped to 21 bits per axis; far cells that share a key only cost extra comparisons.
+     */
+    private static final class CellGrid {
+
+        private static final int AXIS_BITS = 21;
+        private static final long AXIS_OFFSET = 1L << (AXIS_BITS - 1);
+        private static final long AXIS_MAX = (1L << AXIS_BITS) - 1;
+        private static final long EMPTY = -1;
+
+        /** States in cell order. */
+        final double[] states;
+        /** Index in the input of each satellite in cell order. */
+        final int[] members;
+        /** Members of cell {@code c} are {@code [start[c], start[c + 1])}. */
+        final int[] start;
+        int cells;
+
+        private final double cellSize;
+        private final long[] coordinates;
+        private final long[] keys;
+        private final int[] ids;
+        private final int mask;
+        private final int shift;
+
+        CellGrid(double[] input, boolean[] valid, double cellSize) {
+            int n = valid.length;
+            int capacity = Integer.highestOneBit(Math.max(2, n) * 2 - 1) << 1;
+            this.cellSize = cellSize;
+            this.keys = new long[capacity];
+            this.ids = new int[capacity];
+            this.mask = capacity - 1;
+            this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+            Arrays.fill(keys, EMPTY);
+
+            int[] cellOf = new int[n];
+            int[] counts = new int[n + 1];
+            long[] cellCoordinates = new long[n * 3];
+            int placed = 0;
+            for (int i = 0; i < n; i++) {
+                cellOf[i] = -1;
+                if (!valid[i]) continue;
+                int offset = i * Sgp4Propagator.STATE_SIZE;
+                long x = coordinate(input[offset]);
+                long y = coordinate(input[offset + 1]);
+                long z = coordinate(input[offset + 2]);
+                long key = key(x, y, z);
+                int slot = slot(key);
+                if (keys[slot] == EMPTY) {
+                    keys[slot] = key;
+                    ids[slot] = cells;
+                    cellCoordinates[cells * 3] = x;
+                    cellCoordinates[cells * 3 + 1] = y;
+                    cellCoordinates[cells * 3 + 2] = z;
+                    cells++;
+                }
+                cellOf[i] = ids[slot];
+                counts[ids[slot] + 1]++;
+                placed++;
+            }
+            this.coordinates = cellCoordinates;
+
+            this.start = new int[cells + 1];
+            for (int c = 0; c < cells; c++) start[c + 1] = start[c] + counts[c + 1];
+
+            int[] cursor = Arrays.copyOf(start, cells);
+            this.states = new double[placed * Sgp4Propagator.STATE_SIZE];
+            this.members = new int[placed];
+            for (int i = 0; i < n; i++) {
+                if (cellOf[i] < 0) continue;
+                int position = cursor[cellOf[i]]++;
+                members[position] = i;
+                System.arraycopy(input, i * Sgp4Propagator.STATE_SIZE, states, position * Sgp4Propagator.STATE_SIZE, Sgp4Propagator.STATE_SIZE);
+            }
+        }
+
+        /**
+         * Cell at offset {@code (dx, dy, dz)} from cell {@code c}, or -1 when it is empty.
+         */
+        int find(int c, int dx, int dy, int dz) {
+            long x = coordinates[c * 3] + dx;
+            long y = coordinates[c * 3 + 1] + dy;
+            long z = coordinates[c * 3 + 2] + dz;
+            if (x < 0 || y < 0 || z < 0 || x > AXIS_MAX || y > AXIS_MAX || z > AXIS_MAX) return -1;
+            long key = key(x, y, z);
+            int slot = slot(key);
+            return keys[slot] == key ? ids[slot] : -1;
+        }
+
+        private long coordinate(double position) {
+            double cell = Math.floor(position / cellSize) + AXIS_OFFSET;
+            return (long) Math.max(0, Math.min(AXIS_MAX, cell));
+        }
+
+        /**
+         * Slot holding {@code key}, or the empty slot where it would go.
+         */
+        private int slot(long key) {
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+            while (keys[slot] != EMPTY && keys[slot] != key) slot = (slot + 1) & mask;
+            return slot;
+        }
+
+        private static long key(long x, long y, long z) {
+            return x << (2 * AXIS_BITS) | y << AXIS_BITS | z;
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.andrea.reactive.orbit;
+
+/**
+ * Columns of an {@link ElementColumns} snapshot. Angles are in degrees, distances in km above the WGS-72 equator
+ * radius, the epoch in microseconds since 1970-01-01T00:00Z.
+ */
+public enum ElementColumn {
+    NORAD_ID,
+    EPOCH,
+    INCLINATION,
+    RAAN,
+    ECCENTRICITY,
+    ARGUMENT_OF_PERIGEE,
+    MEAN_MOTION,
+    BSTAR,
+    PERIOD,
+    PERIGEE,
+    APOGEE
+}
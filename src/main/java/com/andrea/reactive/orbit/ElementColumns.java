@@ -0,0 +1,231 @@
+package com.andrea.reactive.orbit;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Column-oriented store of the orbital elements of a catalogue: one primitive array per {@link ElementColumn},
+ * rows addressed by a dense internal index. Removing a row moves the last row into its slot, so the arrays never
+ * have holes and every scan is a straight loop over {@code [0, size)}.
+ * <p>
+ * Not thread-safe: callers serialise writes and exclude them from scans.
+ */
+public class ElementColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // WGS-72, same constants as the propagator
+    private static final double MU = 398600.8;
+    private static final double RADIUS_EARTH_KM = 6378.135;
+    private static final double SECONDS_PER_DAY = 86400.0;
+    private static final double MINUTES_PER_DAY = 1440.0;
+
+    // HashMap node, boxed index and UUID key, per row
+    private static final long INDEX_ENTRY_BYTES = 32 + 16 + 32;
+
+    private final Map<UUID, Integer> indexByGuid = new HashMap<>();
+    private final double[][] columns = new double[ElementColumn.values().length][];
+    private long[] guidHigh;
+    private long[] guidLow;
+    private int size;
+
+    public ElementColumns() {
+        guidHigh = new long[INITIAL_CAPACITY];
+        guidLow = new long[INITIAL_CAPACITY];
+        for (int c = 0; c < columns.length; c++) columns[c] = new double[INITIAL_CAPACITY];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Inserts or overwrites the row of {@code guid}.
+     */
+    public void upsert(UUID guid, TleElements elements) {
+
+        Integer existing = indexByGuid.get(guid);
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            if (size == guidHigh.length) grow();
+            row = size++;
+            indexByGuid.put(guid, row);
+            guidHigh[row] = guid.getMostSignificantBits();
+            guidLow[row] = guid.getLeastSignificantBits();
+        }
+
+        double meanMotion = elements.getMeanMotion();
+        double n = meanMotion * 2 * Math.PI / SECONDS_PER_DAY;
+        double semiMajorAxis = Math.cbrt(MU / (n * n));
+
+        set(ElementColumn.NORAD_ID, row, elements.getNoradId());
+        set(ElementColumn.EPOCH, row, elements.getEpochMicros());
+        set(ElementColumn.INCLINATION, row, elements.getInclination());
+        set(ElementColumn.RAAN, row, elements.getRaan());
+        set(ElementColumn.ECCENTRICITY, row, elements.getEccentricity());
+        set(ElementColumn.ARGUMENT_OF_PERIGEE, row, elements.getArgumentOfPerigee());
+        set(ElementColumn.MEAN_MOTION, row, meanMotion);
+        set(ElementColumn.BSTAR, row, elements.getBstar());
+        set(ElementColumn.PERIOD, row, MINUTES_PER_DAY / meanMotion);
+        set(ElementColumn.PERIGEE, row, semiMajorAxis * (1 - elements.getEccentricity()) - RADIUS_EARTH_KM);
+        set(ElementColumn.APOGEE, row, semiMajorAxis * (1 + elements.getEccentricity()) - RADIUS_EARTH_KM);
+    }
+
+    /**
+     * Removes the row of {@code guid}; returns false when there was none.
+     */
+    public boolean remove(UUID guid) {
+
+        Integer removed = indexByGuid.remove(guid);
+        if (removed == null) return false;
+
+        int row = removed;
+        int last = --size;
+        if (row != last) {
+            guidHigh[row] = guidHigh[last];
+            guidLow[row] = guidLow[last];
+            for (double[] column : columns) column[row] = column[last];
+            indexByGuid.put(guid(row), row);
+        }
+        return true;
+    }
+
+    public UUID guid(int row) {
+        return new UUID(guidHigh[row], guidLow[row]);
+    }
+
+    public double get(ElementColumn column, int row) {
+        return columns[column.ordinal()][row];
+    }
+
+    /**
+     * Writes the rows matching every range into {@code selection} and returns how many there are.
+     * The first range scans its whole column, the next ones only re-check the rows still selected.
+     * Loops are branch-free: every row is written and the cursor only advances on a match.
+     */
+    public int select(List<ElementRange> ranges, int[] selection) {
+
+        if (ranges.isEmpty()) {
+            for (int i = 0; i < size; i++) selection[i] = i;
+            return size;
+        }
+
+        ElementRange first = ranges.get(0);
+        double[] column = columns[first.column().ordinal()];
+        double min = first.min();
+        double max = first.max();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            double value = column[i];
+            selection[count] = i;
+            count += (value >= min) & (value <= max) ? 1 : 0;
+        }
+
+        for (int r = 1; r < ranges.size() && count > 0; r++) {
+            ElementRange range = ranges.get(r);
+            column = columns[range.column().ordinal()];
+            min = range.min();
+            max = range.max();
+            int kept = 0;
+            for (int j = 0; j < count; j++) {
+                int row = selection[j];
+                double value = column[row];
+                selection[kept] = row;
+                kept += (value >= min) & (value <= max) ? 1 : 0;
+            }
+            count = kept;
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the first {@code limit} rows of {@code selection[0, count)} ordered by {@code sort}, ties broken by
+     * NORAD id. Uses a bounded heap, so the cost is {@code count * log(limit)} and only {@code limit} rows are sorted.
+     */
+    public int[] top(int[] selection, int count, ElementColumn sort, boolean descending, int limit) {
+
+        double[] keys = columns[sort.ordinal()];
+        double[] ids = columns[ElementColumn.NORAD_ID.ordinal()];
+        double sign = descending ? -1.0 : 1.0;
+
+        int k = Math.min(limit, count);
+        int[] heap = new int[k];
+        int heapSize = 0;
+
+        // Max-heap on the sort order: the root is the worst row kept so far
+        for (int j = 0; j < count; j++) {
+            int row = selection[j];
+            if (heapSize < k) {
+                int child = heapSize++;
+                heap[child] = row;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (!before(heap[parent], heap[child], keys, ids, sign)) break;
+                    swap(heap, parent, child);
+                    child = parent;
+                }
+            } else if (k > 0 && before(row, heap[0], keys, ids, sign)) {
+                heap[0] = row;
+                siftDown(heap, 0, heapSize, keys, ids, sign);
+            }
+        }
+
+        // Heap sort in place: repeatedly move the worst row to the end
+        for (int end = heapSize - 1; end > 0; end--) {
+            swap(heap, 0, end);
+            siftDown(heap, 0, end, keys, ids, sign);
+        }
+        return heap;
+    }
+
+    /**
+     * Approximate heap footprint: allocated columns plus the guid index.
+     */
+    public long memoryBytes() {
+        long capacity = guidHigh.length;
+        long columnBytes = capacity * (2L * Long.BYTES + (long) columns.length * Double.BYTES);
+        return columnBytes + indexByGuid.size() * INDEX_ENTRY_BYTES;
+    }
+
+    private void set(ElementColumn column, int row, double value) {
+        columns[column.ordinal()][row] = value;
+    }
+
+    private void grow() {
+        int capacity = guidHigh.length * 2;
+        guidHigh = Arrays.copyOf(guidHigh, capacity);
+        guidLow = Arrays.copyOf(guidLow, capacity);
+        for (int c = 0; c < columns.length; c++) columns[c] = Arrays.copyOf(columns[c], capacity);
+    }
+
+    private static boolean before(int a, int b, double[] keys, double[] ids, double sign) {
+        double ka = sign * keys[a];
+        double kb = sign * keys[b];
+        if (ka != kb) return ka < kb;
+        return ids[a] < ids[b];
+    }
+
+    private static void siftDown(int[] heap, int parent, int size, double[] keys, double[] ids, double sign) {
+        while (true) {
+            int child = 2 * parent + 1;
+            if (child >= size) return;
+            if (child + 1 < size && before(heap[child], heap[child + 1], keys, ids, sign)) child++;
+            if (!before(heap[parent], heap[child], keys, ids, sign)) return;
+            swap(heap, parent, child);
+            parent = child;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+}
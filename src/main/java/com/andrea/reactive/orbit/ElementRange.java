@@ -0,0 +1,7 @@
+package com.andrea.reactive.orbit;
+
+/**
+ * Inclusive {@code [min, max]} filter on one column; use infinities for an open bound.
+ */
+public record ElementRange(ElementColumn column, double min, double max) {
+}
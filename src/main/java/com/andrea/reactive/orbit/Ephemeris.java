@@ -0,0 +1,143 @@
+package com.andrea.reactive.orbit;
+
+import lombok.Getter;
+
+/**
+ * Precomputed states of one satellite over one segment of a fixed time grid, answering queries at any instant of the
+ * segment by Lagrange interpolation instead of a full propagation.
+ * <p>
+ * Grid nodes sit at whole multiples of a step derived from the orbit, so the satellite never turns by more than a
+ * fixed angle between two nodes whatever its altitude or eccentricity; this bounds the interpolation error, which
+ * stays below ten centimetres in position and a millimetre per second in velocity. A segment holds a fixed number of
+ * nodes plus the few on either side that the interpolation around its edges needs, in one flat {@code double[]}.
+ * Instants whose interpolation would touch a node the propagator could not compute are propagated directly.
+ * <p>
+ * Instances are immutable and can be shared by any number of threads.
+ */
+public final class Ephemeris {
+
+    public static final int NODES_PER_SEGMENT = 64;
+
+    private static final int POINTS = 10;
+    // Nodes before the one at or before the instant that take part in its interpolation
+    private static final int LEFT = POINTS / 2 - 1;
+    private static final double MAX_ANGLE_PER_STEP = 0.15;
+    private static final long MIN_STEP_MICROS = 1_000_000L;
+    private static final long MAX_STEP_MICROS = 3_600_000_000L;
+    private static final double MICROS_PER_MINUTE = 60_000_000.0;
+    private static final double[] DENOMINATORS = denominators();
+
+    @Getter
+    private final Sgp4Propagator propagator;
+    private final long stepMicros;
+    private final long firstNode;
+    private final double[] states;
+    private final boolean[] valid;
+
+    private Ephemeris(Sgp4Propagator propagator, long stepMicros, long firstNode, double[] states, boolean[] valid) {
+        this.propagator = propagator;
+        this.stepMicros = stepMicros;
+        this.firstNode = firstNode;
+        this.states = states;
+        this.valid = valid;
+    }
+
+    /**
+     * Grid step of the satellite, in microseconds: the time it takes to turn by the maximum angle per step at its
+     * fastest, at perigee.
+     */
+    public static long stepMicros(Sgp4Propagator propagator) {
+        double step = MAX_ANGLE_PER_STEP / propagator.maxAngularRate() * MICROS_PER_MINUTE;
+        return Math.max(MIN_STEP_MICROS, Math.min(MAX_STEP_MICROS, (long) step));
+    }
+
+    /**
+     * Segment of the grid holding {@code atMicros}.
+     */
+    public static long segment(long stepMicros, long atMicros) {
+        return Math.floorDiv(Math.floorDiv(atMicros, stepMicros), NODES_PER_SEGMENT);
+    }
+
+    public static Ephemeris build(Sgp4Propagator propagator, long stepMicros, long segment) {
+
+        long firstNode = segment * NODES_PER_SEGMENT - LEFT;
+        int nodes = NODES_PER_SEGMENT + POINTS - 1;
+        double[] states = new double[nodes * Sgp4Propagator.STATE_SIZE];
+        boolean[] valid = new boolean[nodes];
+        for (int i = 0; i < nodes; i++) {
+            double tsince = propagator.minutesSinceEpoch((firstNode + i) * stepMicros);
+            valid[i] = propagator.propagate(tsince, states, i * Sgp4Propagator.STATE_SIZE) == Sgp4Propagator.OK;
+        }
+        return new Ephemeris(propagator, stepMicros, firstNode, states, valid);
+    }
+
+    /**
+     * Writes the state at {@code atMicros} into {@code state} starting at {@code offset}, with the same layout and
+     * result codes as {@link Sgp4Propagator#propagate}.
+     */
+    public int propagate(long atMicros, double[] state, int offset) {
+
+        long node = Math.floorDiv(atMicros, stepMicros);
+        int first = (int) (node - LEFT - firstNode);
+        if (first < 0 || first > NODES_PER_SEGMENT - 1 || !validFrom(first))
+            return propagator.propagate(propagator.minutesSinceEpoch(atMicros), state, offset);
+
+        long remainder = atMicros - node * stepMicros;
+        if (remainder == 0) {
+            System.arraycopy(states, (first + LEFT) * Sgp4Propagator.STATE_SIZE, state, offset, Sgp4Propagator.STATE_SIZE);
+            return Sgp4Propagator.OK;
+        }
+
+        // Position of the instant among the interpolation nodes, 0 being the first of them; strictly between two
+        // nodes, so each Lagrange basis polynomial is the full product divided by its own factor
+        double u = LEFT + (double) remainder / stepMicros;
+        double product = 1.0;
+        for (int j = 0; j < POINTS; j++) product *= u - j;
+
+        double x = 0, y = 0, z = 0, vx = 0, vy = 0, vz = 0;
+        int index = first * Sgp4Propagator.STATE_SIZE;
+        for (int j = 0; j < POINTS; j++, index += Sgp4Propagator.STATE_SIZE) {
+            double weight = product / (DENOMINATORS[j] * (u - j));
+            x += weight * states[index];
+            y += weight * states[index + 1];
+            z += weight * states[index + 2];
+            vx += weight * states[index + 3];
+            vy += weight * states[index + 4];
+            vz += weight * states[index + 5];
+        }
+        state[offset] = x;
+        state[offset + 1] = y;
+        state[offset + 2] = z;
+        state[offset + 3] = vx;
+        state[offset + 4] = vy;
+        state[offset + 5] = vz;
+        return Sgp4Propagator.OK;
+    }
+
+    /**
+     * Estimated heap used by this ephemeris, in bytes.
+     */
+    public long memoryBytes() {
+        // Object header and fields, plus the header and contents of each array
+        return 48 + 16 + 8L * states.length + 16 + valid.length;
+    }
+
+    private boolean validFrom(int first) {
+        for (int j = first; j < first + POINTS; j++) if (!valid[j]) return false;
+        return true;
+    }
+
+    /**
+     * Denominators of the Lagrange basis polynomials on the nodes 0 to {@code POINTS - 1}.
+     */
+    private static double[] denominators() {
+        double[] denominators = new double[POINTS];
+        for (int j = 0; j < POINTS; j++) {
+            double product = 1.0;
+            for (int m = 0; m < POINTS; m++) if (m != j) product *= j - m;
+            denominators[j] = product;
+        }
+        return denominators;
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.andrea.reactive.orbit;
+
+import lombok.Getter;
+
+/**
+ * Observer on the ground, given by its geodetic coordinates on the WGS-84 ellipsoid. The Earth-fixed position and
+ * the rotation to the local horizon are computed once, since every pass search evaluates them many times.
+ */
+@Getter
+public final class GroundStation {
+
+    private static final double DEG_TO_RAD = Math.PI / 180;
+    static final double WGS84_A_KM = 6378.137;
+    static final double WGS84_F = 1 / 298.257223563;
+    static final double WGS84_E2 = WGS84_F * (2 - WGS84_F);
+
+    private final String name;
+    private final double latitude;
+    private final double longitude;
+    private final double altitude;
+
+    final double sinLat, cosLat, sinLon, cosLon;
+    // Earth-fixed position in km, and its distance from the centre of the Earth
+    final double x, y, z, radius;
+
+    /**
+     * @param latitude  geodetic latitude in degrees
+     * @param longitude longitude in degrees, east positive
+     * @param altitude  height above the ellipsoid in metres
+     */
+    public GroundStation(String name, double latitude, double longitude, double altitude) {
+        this.name = name;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.altitude = altitude;
+
+        double lat = latitude * DEG_TO_RAD;
+        double lon = longitude * DEG_TO_RAD;
+        this.sinLat = Math.sin(lat);
+        this.cosLat = Math.cos(lat);
+        this.sinLon = Math.sin(lon);
+        this.cosLon = Math.cos(lon);
+
+        double h = altitude / 1000.0;
+        double n = WGS84_A_KM / Math.sqrt(1 - WGS84_E2 * sinLat * sinLat);
+        this.x = (n + h) * cosLat * cosLon;
+        this.y = (n + h) * cosLat * sinLon;
+        this.z = (n * (1 - WGS84_E2) + h) * sinLat;
+        this.radius = Math.sqrt(x * x + y * y + z * z);
+    }
+
+}
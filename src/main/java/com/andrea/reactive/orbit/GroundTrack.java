@@ -0,0 +1,123 @@
+package com.andrea.reactive.orbit;
+
+/**
+ * Cursor over the ground track of a satellite: its geodetic latitude, longitude and altitude above the WGS-84
+ * ellipsoid, sampled every step from the start of a window up to its end included. Samples are computed one at a
+ * time as the cursor advances, so a track of any length costs the same memory.
+ * <p>
+ * When the step is shorter than the satellite's {@link Ephemeris} grid, the track builds the segments it crosses one
+ * after the other and interpolates the samples in them, so each propagation serves several samples; otherwise every
+ * sample is propagated directly. Segments are kept by the cursor alone: a track sweeps days of one orbit once, which
+ * would only evict the segments live queries reuse from a shared cache.
+ * <p>
+ * Not thread-safe: each stream of samples gets its own cursor.
+ */
+public final class GroundTrack {
+
+    public static final int SAMPLE_SIZE = 3;
+
+    private static final double RAD_TO_DEG = 180 / Math.PI;
+    private static final double MICROS_PER_DAY = 86_400_000_000.0;
+    private static final double JULIAN_DATE_UNIX_EPOCH = 2440587.5;
+    // About a tenth of a millimetre on the surface of the Earth
+    private static final double LATITUDE_TOLERANCE = 1e-11;
+    private static final int MAX_ITERATIONS = 10;
+
+    private final Sgp4Propagator propagator;
+    private final long startMicros;
+    private final long stepMicros;
+    private final long samples;
+    private final long ephemerisStepMicros;
+    private final double[] state = new double[Sgp4Propagator.STATE_SIZE];
+    private Ephemeris ephemeris;
+    private long segment;
+    private long next;
+
+    public GroundTrack(Sgp4Propagator propagator, long startMicros, long endMicros, long stepMicros) {
+        if (endMicros < startMicros) throw new IllegalArgumentException("The window must not end before it starts");
+        if (stepMicros <= 0) throw new IllegalArgumentException("The step must be positive");
+        this.propagator = propagator;
+        this.startMicros = startMicros;
+        this.stepMicros = stepMicros;
+        this.samples = (endMicros - startMicros) / stepMicros + 1;
+        long ephemerisStep = Ephemeris.stepMicros(propagator);
+        this.ephemerisStepMicros = stepMicros < ephemerisStep ? ephemerisStep : 0;
+    }
+
+    /**
+     * Number of samples in the window.
+     */
+    public long samples() {
+        return samples;
+    }
+
+    public boolean hasNext() {
+        return next < samples;
+    }
+
+    /**
+     * Instant of the sample the next call to {@link #next} computes, in microseconds since the Unix epoch.
+     */
+    public long nextMicros() {
+        return startMicros + next * stepMicros;
+    }
+
+    /**
+     * Writes the latitude and longitude in degrees, east positive, and the altitude in km of the next sample into
+     * {@code sample} starting at {@code offset}, and moves on to the following one. Returns the result code of the
+     * propagation as {@link Sgp4Propagator#propagate} does; nothing is written unless it is OK or DECAYED.
+     */
+    public int next(double[] sample, int offset) {
+
+        long atMicros = nextMicros();
+        next++;
+
+        int result = propagate(atMicros);
+        if (result != Sgp4Propagator.OK && result != Sgp4Propagator.DECAYED) return result;
+
+        // Rotate from TEME to the Earth-fixed frame by the sidereal angle at the sample
+        double theta = Sgp4Propagator.gstime(atMicros / MICROS_PER_DAY + JULIAN_DATE_UNIX_EPOCH);
+        double cosTheta = Math.cos(theta);
+        double sinTheta = Math.sin(theta);
+        double x = cosTheta * state[0] + sinTheta * state[1];
+        double y = -sinTheta * state[0] + cosTheta * state[1];
+        toGeodetic(x, y, state[2], sample, offset);
+        return result;
+    }
+
+    private int propagate(long atMicros) {
+        if (ephemerisStepMicros == 0) return propagator.propagate(propagator.minutesSinceEpoch(atMicros), state, 0);
+
+        long atSegment = Ephemeris.segment(ephemerisStepMicros, atMicros);
+        if (ephemeris == null || atSegment != segment) {
+            ephemeris = Ephemeris.build(propagator, ephemerisStepMicros, atSegment);
+            segment = atSegment;
+        }
+        return ephemeris.propagate(atMicros, state, 0);
+    }
+
+    /**
+     * Converts an Earth-fixed position in km to latitude and longitude in degrees and altitude in km on the WGS-84
+     * ellipsoid, iterating on the latitude from its spherical estimate until it settles.
+     */
+    static void toGeodetic(double x, double y, double z, double[] sample, int offset) {
+
+        double p = Math.sqrt(x * x + y * y);
+        double lat = Math.atan2(z, p * (1 - GroundStation.WGS84_E2));
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double sinLat = Math.sin(lat);
+            double n = GroundStation.WGS84_A_KM / Math.sqrt(1 - GroundStation.WGS84_E2 * sinLat * sinLat);
+            double previous = lat;
+            lat = Math.atan2(z + n * GroundStation.WGS84_E2 * sinLat, p);
+            if (Math.abs(lat - previous) < LATITUDE_TOLERANCE) break;
+        }
+
+        double sinLat = Math.sin(lat);
+        double cosLat = Math.cos(lat);
+        sample[offset] = lat * RAD_TO_DEG;
+        sample[offset + 1] = Math.atan2(y, x) * RAD_TO_DEG;
+        // Distance along the normal to the ellipsoid, which holds at any latitude including the poles
+        sample[offset + 2] = p * cosLat + z * sinLat - GroundStation.WGS84_A_KM * Math.sqrt(1 - GroundStation.WGS84_E2 * sinLat * sinLat);
+    }
+
+}
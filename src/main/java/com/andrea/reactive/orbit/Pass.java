@@ -0,0 +1,12 @@
+package com.andrea.reactive.orbit;
+
+/**
+ * One pass of a satellite over a ground station. Times are microseconds since the Unix epoch, angles are degrees.
+ * AOS and LOS are clipped to the search window when the satellite is already, or still, in view at its bounds.
+ *
+ * @param station index of the station in the list given to the {@link PassPredictor}
+ */
+public record Pass(int station,
+                   long aosMicros, double aosAzimuth,
+                   long maxElevationMicros, double maxElevation,
+                   long losMicros, double losAzimuth) {}
@@ -0,0 +1,291 @@
+package com.andrea.reactive.orbit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds the passes of a satellite over a set of ground stations within a time window: AOS and LOS where the
+ * elevation crosses the minimum, and the culmination in between.
+ * <p>
+ * The orbit is sampled on a coarse step and every station is checked on each sample, so one propagation serves all
+ * of them. Crossings bracketed by two samples are refined by bisection and the culmination by golden section search.
+ * Samples that rise close to the horizon without crossing it are searched as well, to catch passes shorter than the
+ * step. While the satellite is far outside the visibility cone of every station, sampling jumps ahead by the shortest
+ * time it could take to enter one, so the part of the orbit that cannot be seen costs a handful of propagations.
+ * <p>
+ * Immutable and thread-safe: each call keeps its scratch state to itself.
+ */
+public final class PassPredictor {
+
+    private static final double DEG_TO_RAD = Math.PI / 180;
+    private static final double RAD_TO_DEG = 180 / Math.PI;
+    private static final double MICROS_PER_DAY = 86_400_000_000.0;
+    private static final double MICROS_PER_MINUTE = 60_000_000.0;
+    private static final double JULIAN_DATE_UNIX_EPOCH = 2440587.5;
+    private static final double EARTH_ROTATION_RATE = 7.292115e-5 * 60.0;
+    private static final double GOLDEN_RATIO = (Math.sqrt(5) - 1) / 2;
+    private static final long NO_PASS = Long.MIN_VALUE;
+
+    private static final long CROSSING_TOLERANCE_MICROS = 100_000;
+    private static final long CULMINATION_TOLERANCE_MICROS = 1_000_000;
+    // Coarse maxima this close below the minimum elevation (sine of about 6 degrees) are searched for a short pass
+    private static final double NEAR_MISS = 0.1;
+    // Slack on the bounds used to skip ahead and to discard stations, covering SGP4 perturbations of the mean
+    // elements and the flattening of the Earth
+    private static final double ANGLE_MARGIN = 2 * DEG_TO_RAD;
+    private static final double RATE_MARGIN = 1.1;
+
+    private final List<GroundStation> stations;
+    private final long startMicros;
+    private final long endMicros;
+    private final long stepMicros;
+    private final double minElevation;
+    private final double sinMinElevation;
+
+    /**
+     * @param minElevation minimum elevation above the horizon for the satellite to be in view, in degrees
+     */
+    public PassPredictor(List<GroundStation> stations, long startMicros, long endMicros, long stepMicros, double minElevation) {
+        if (endMicros <= startMicros) throw new IllegalArgumentException("The window must end after it starts");
+        if (stepMicros <= 0) throw new IllegalArgumentException("The step must be positive");
+        this.stations = List.copyOf(stations);
+        this.startMicros = startMicros;
+        this.endMicros = endMicros;
+        this.stepMicros = stepMicros;
+        this.minElevation = minElevation * DEG_TO_RAD;
+        this.sinMinElevation = Math.sin(this.minElevation);
+    }
+
+    /**
+     * Returns the passes over all stations ordered by AOS. The search stops early if the satellite decays
+     * or its elements stop being propagatable within the window.
+     */
+    public List<Pass> predict(Sgp4Propagator propagator) {
+        return new Search(propagator).run();
+    }
+
+    private final class Search {
+
+        private final Sgp4Propagator propagator;
+        private final double[] state = new double[Sgp4Propagator.STATE_SIZE];
+        private final List<Pass> passes = new ArrayList<>();
+        // Earth-fixed position of the last located sample, in km
+        private double x, y, z;
+
+        Search(Sgp4Propagator propagator) {
+            this.propagator = propagator;
+        }
+
+        List<Pass> run() {
+
+            double apogee = propagator.apogeeRadius();
+            double maxLatitude = Math.min(propagator.inclination(), Math.PI - propagator.inclination());
+
+            // Stations whose visibility cone the ground track can reach; the others never see the satellite
+            int[] candidates = new int[stations.size()];
+            double[] cones = new double[stations.size()];
+            int count = 0;
+            for (int i = 0; i < stations.size(); i++) {
+                GroundStation station = stations.get(i);
+                double cone = visibilityCone(station, apogee);
+                if (Math.abs(station.getLatitude()) * DEG_TO_RAD <= maxLatitude + cone) {
+                    candidates[count] = i;
+                    cones[count++] = cone;
+                }
+            }
+            if (count == 0) return passes;
+
+            double maxRate = propagator.maxAngularRate() * RATE_MARGIN + EARTH_ROTATION_RATE;
+            long[] aos = new long[count];
+            long[] peakTime = new long[count];
+            double[] peak = new double[count];
+            double[] current = new double[count];
+            double[] previous = new double[count];
+            double[] beforePrevious = new double[count];
+            Arrays.fill(aos, NO_PASS);
+
+            long previousTime = startMicros;
+            long beforePreviousTime = startMicros;
+            int samples = 0;
+
+            for (long t = startMicros; locate(t); ) {
+
+                // Read every station off this sample before the refinements below move the satellite
+                double gap = Double.MAX_VALUE;
+                for (int i = 0; i < count; i++) {
+                    GroundStation station = stations.get(candidates[i]);
+                    current[i] = elevationSine(station) - sinMinElevation;
+                    gap = Math.min(gap, centralAngle(station) - cones[i]);
+                }
+
+                for (int i = 0; i < count; i++) {
+                    int index = candidates[i];
+                    GroundStation station = stations.get(index);
+                    double v = current[i];
+
+                    if (aos[i] == NO_PASS) {
+                        if (v >= 0) {
+                            aos[i] = samples == 0 ? t : crossing(station, previousTime, t, true);
+                            peak[i] = v;
+                            peakTime[i] = t;
+                        } else if (samples >= 2 && previous[i] > beforePrevious[i] && previous[i] >= v && previous[i] > -NEAR_MISS) {
+                            shortPass(index, station, beforePreviousTime, t);
+                        }
+                    } else if (v >= 0) {
+                        if (v > peak[i]) {
+                            peak[i] = v;
+                            peakTime[i] = t;
+                        }
+                    } else {
+                        addPass(index, station, aos[i], peakTime[i], crossing(station, previousTime, t, false));
+                        aos[i] = NO_PASS;
+                    }
+
+                    beforePrevious[i] = previous[i];
+                    previous[i] = v;
+                }
+
+                beforePreviousTime = previousTime;
+                previousTime = t;
+                samples++;
+                if (t == endMicros) break;
+
+                long skip = gap > 0 ? (long) (gap / maxRate * MICROS_PER_MINUTE) : 0;
+                t = Math.min(endMicros, t + Math.max(stepMicros, skip));
+            }
+
+            // Still in view at the end of the window, or when propagation stopped
+            for (int i = 0; i < count; i++) {
+                if (aos[i] != NO_PASS) addPass(candidates[i], stations.get(candidates[i]), aos[i], peakTime[i], previousTime);
+            }
+
+            passes.sort(Comparator.comparingLong(Pass::aosMicros));
+            return passes;
+        }
+
+        /**
+         * Searches between two samples around a coarse maximum below the horizon and adds the pass if the true
+         * maximum rises above it.
+         */
+        private void shortPass(int index, GroundStation station, long from, long to) {
+            long culmination = culmination(station, from, to);
+            if (value(station, culmination) < 0) return;
+            addPass(index, station, crossing(station, from, culmination, true), culmination, crossing(station, culmination, to, false));
+        }
+
+        private void addPass(int index, GroundStation station, long aos, long peakTime, long los) {
+
+            long culmination = culmination(station, Math.max(aos, peakTime - stepMicros), Math.min(los, peakTime + stepMicros));
+            // The search assumes one maximum per bracket; keep the best sample if it was fooled
+            if (value(station, culmination) < value(station, peakTime)) culmination = peakTime;
+            double maxElevation = Math.asin(Math.min(1.0, value(station, culmination) + sinMinElevation)) * RAD_TO_DEG;
+
+            double aosAzimuth = locate(aos) ? azimuth(station) : Double.NaN;
+            double losAzimuth = locate(los) ? azimuth(station) : Double.NaN;
+            passes.add(new Pass(index, aos, aosAzimuth, culmination, maxElevation, los, losAzimuth));
+        }
+
+        /**
+         * Bisects {@code [from, to]} for the elevation crossing the minimum and returns the bound that is in view.
+         */
+        private long crossing(GroundStation station, long from, long to, boolean rising) {
+            while (to - from > CROSSING_TOLERANCE_MICROS) {
+                long mid = from + (to - from) / 2;
+                if (value(station, mid) >= 0 == rising) to = mid;
+                else from = mid;
+            }
+            return rising ? to : from;
+        }
+
+        /**
+         * Golden section search for the highest elevation in {@code [from, to]}.
+         */
+        private long culmination(GroundStation station, long from, long to) {
+            double a = from;
+            double b = to;
+            double c = b - GOLDEN_RATIO * (b - a);
+            double d = a + GOLDEN_RATIO * (b - a);
+            double fc = value(station, (long) c);
+            double fd = value(station, (long) d);
+            while (b - a > CULMINATION_TOLERANCE_MICROS) {
+                if (fc >= fd) {
+                    b = d;
+                    d = c;
+                    fd = fc;
+                    c = b - GOLDEN_RATIO * (b - a);
+                    fc = value(station, (long) c);
+                } else {
+                    a = c;
+                    c = d;
+                    fc = fd;
+                    d = a + GOLDEN_RATIO * (b - a);
+                    fd = value(station, (long) d);
+                }
+            }
+            return (long) ((a + b) / 2);
+        }
+
+        /**
+         * Sine of the elevation above the minimum at {@code t}; negative when out of view or not propagatable.
+         */
+        private double value(GroundStation station, long t) {
+            return locate(t) ? elevationSine(station) - sinMinElevation : Double.NEGATIVE_INFINITY;
+        }
+
+        /**
+         * Propagates to {@code t} and rotates the TEME position into the Earth-fixed frame by the sidereal time,
+         * ignoring polar motion. Returns false when the satellite has decayed or cannot be propagated.
+         */
+        private boolean locate(long t) {
+            if (propagator.propagate(propagator.minutesSinceEpoch(t), state, 0) != Sgp4Propagator.OK) return false;
+            double theta = Sgp4Propagator.gstime(t / MICROS_PER_DAY + JULIAN_DATE_UNIX_EPOCH);
+            double cos = Math.cos(theta);
+            double sin = Math.sin(theta);
+            x = cos * state[0] + sin * state[1];
+            y = -sin * state[0] + cos * state[1];
+            z = state[2];
+            return true;
+        }
+
+        private double elevationSine(GroundStation station) {
+            double rx = x - station.x;
+            double ry = y - station.y;
+            double rz = z - station.z;
+            double up = station.cosLat * station.cosLon * rx + station.cosLat * station.sinLon * ry + station.sinLat * rz;
+            return up / Math.sqrt(rx * rx + ry * ry + rz * rz);
+        }
+
+        private double azimuth(GroundStation station) {
+            double rx = x - station.x;
+            double ry = y - station.y;
+            double rz = z - station.z;
+            double south = station.sinLat * station.cosLon * rx + station.sinLat * station.sinLon * ry - station.cosLat * rz;
+            double east = -station.sinLon * rx + station.cosLon * ry;
+            double azimuth = Math.atan2(east, -south) * RAD_TO_DEG;
+            return azimuth < 0 ? azimuth + 360 : azimuth;
+        }
+
+        /**
+         * Angle at the centre of the Earth between the station and the satellite.
+         */
+        private double centralAngle(GroundStation station) {
+            double r = Math.sqrt(x * x + y * y + z * z);
+            double cos = (x * station.x + y * station.y + z * station.z) / (r * station.radius);
+            return Math.acos(Math.max(-1.0, Math.min(1.0, cos)));
+        }
+
+        /**
+         * Widest angle at the centre of the Earth between the station and a satellite no higher than {@code radius}
+         * still seen above the minimum elevation.
+         */
+        private double visibilityCone(GroundStation station, double radius) {
+            if (radius <= station.radius) return Math.PI;
+            double cos = station.radius / radius * Math.cos(minElevation);
+            return Math.min(Math.PI, Math.acos(cos) - minElevation + ANGLE_MARGIN);
+        }
+
+    }
+
+}
@@ -0,0 +1,984 @@
+package com.andrea.reactive.orbit;
+
+import lombok.Getter;
+
+/**
+ * SGP4/SDP4 propagator for one TLE, following Vallado's revised reference implementation
+ * ("Revisiting Spacetrack Report #3", AIAA 2006-6753) with WGS-72 constants and the improved operation mode.
+ * <p>
+ * All initialisation is done once in {@link #create}; the instance is immutable afterwards, so one propagator can be
+ * cached per satellite and shared by any number of threads. The deep-space resonance integrator always restarts
+ * from the epoch instead of keeping the last integration step, which gives the same result without shared state.
+ * Positions are written in km and velocities in km/s, in the TEME frame of the TLE.
+ */
+public final class Sgp4Propagator {
+
+    public static final int STATE_SIZE = 6;
+
+    public static final int OK = 0;
+    public static final int ERROR_ECCENTRICITY = 1;
+    public static final int ERROR_MEAN_MOTION = 2;
+    public static final int ERROR_PERTURBED_ECCENTRICITY = 3;
+    public static final int ERROR_SEMI_LATUS_RECTUM = 4;
+    public static final int DECAYED = 6;
+
+    private static final double TWO_PI = 2 * Math.PI;
+    private static final double DEG_TO_RAD = Math.PI / 180;
+    private static final double X2O3 = 2.0 / 3.0;
+    private static final double TEMP4 = 1.5e-12;
+    private static final double MINUTES_PER_DAY = 1440;
+    private static final double MICROS_PER_MINUTE = 60_000_000.0;
+
+    // WGS-72
+    private static final double MU = 398600.8;
+    private static final double RADIUS_EARTH_KM = 6378.135;
+    private static final double XKE = 60.0 / Math.sqrt(RADIUS_EARTH_KM * RADIUS_EARTH_KM * RADIUS_EARTH_KM / MU);
+    private static final double J2 = 0.001082616;
+    private static final double J3 = -0.00000253881;
+    private static final double J4 = -0.00000165597;
+    private static final double J3OJ2 = J3 / J2;
+    private static final double VKM_PER_SEC = RADIUS_EARTH_KM * XKE / 60.0;
+
+    // Lunar-solar constants
+    private static final double ZNS = 1.19459e-5;
+    private static final double ZES = 0.01675;
+    private static final double ZNL = 1.5835218e-4;
+    private static final double ZEL = 0.05490;
+    private static final double RPTIM = 4.37526908801129966e-3;
+
+    @Getter
+    private final int noradId;
+    @Getter
+    private final long epochMicros;
+    @Getter
+    private final String line1;
+    @Getter
+    private final String line2;
+
+    // Mean elements at epoch
+    private final double ecco;
+    private final double inclo;
+    private final double nodeo;
+    private final double argpo;
+    private final double mo;
+    private final double noUnkozai;
+    private final double bstar;
+
+    // Near-earth terms
+    private final boolean isimp;
+    private final boolean deepSpace;
+    private final double aycof;
+    private final double con41;
+    private final double cc1;
+    private final double cc4;
+    private final double cc5;
+    private final double d2;
+    private final double d3;
+    private final double d4;
+    private final double delmo;
+    private final double eta;
+    private final double argpdot;
+    private final double omgcof;
+    private final double sinmao;
+    private final double t2cof;
+    private final double t3cof;
+    private final double t4cof;
+    private final double t5cof;
+    private final double x1mth2;
+    private final double x7thm1;
+    private final double mdot;
+    private final double nodedot;
+    private final double xlcof;
+    private final double xmcof;
+    private final double nodecf;
+
+    // Deep-space terms
+    private final int irez;
+    private final double d2201, d2211, d3210, d3222, d4410, d4422, d5220, d5232, d5421, d5433;
+    private final double dedt, didt, dmdt, dnodt, domdt;
+    private final double del1, del2, del3;
+    private final double e3, ee2, peo, pgho, pho, pinco, plo;
+    private final double se2, se3, sgh2, sgh3, sgh4, sh2, sh3, si2, si3, sl2, sl3, sl4;
+    private final double gsto, xfact;
+    private final double xgh2, xgh3, xgh4, xh2, xh3, xi2, xi3, xl2, xl3, xl4;
+    private final double xlamo, zmol, zmos;
+
+    /**
+     * Initialises a propagator from parsed elements.
+     *
+     * @throws IllegalArgumentException when the elements cannot be propagated (e.g. eccentricity out of range)
+     */
+    public static Sgp4Propagator create(TleElements elements, String line1, String line2) {
+        if (!(elements.getEccentricity() >= 0.0 && elements.getEccentricity() < 1.0) || !(elements.getMeanMotion() > 0.0))
+            throw new IllegalArgumentException("TLE " + elements.getNoradId() + " cannot be propagated: elements out of range");
+        Sgp4Propagator propagator = new Sgp4Propagator(elements, line1, line2);
+        int error = propagator.propagate(0, new double[STATE_SIZE], 0);
+        if (error != OK && error != DECAYED) throw new IllegalArgumentException("TLE " + elements.getNoradId() + " cannot be propagated: " + describe(error));
+        return propagator;
+    }
+
+    public static String describe(int error) {
+        return switch (error) {
+            case OK -> "ok";
+            case ERROR_ECCENTRICITY -> "mean eccentricity out of range";
+            case ERROR_MEAN_MOTION -> "mean motion not positive";
+            case ERROR_PERTURBED_ECCENTRICITY -> "perturbed eccentricity out of range";
+            case ERROR_SEMI_LATUS_RECTUM -> "semi-latus rectum negative";
+            case DECAYED -> "satellite has decayed";
+            default -> "error " + error;
+        };
+    }
+
+    public double minutesSinceEpoch(long epochMicrosUtc) {
+        return (epochMicrosUtc - epochMicros) / MICROS_PER_MINUTE;
+    }
+
+    /**
+     * Mean inclination at epoch, in radians.
+     */
+    double inclination() {
+        return inclo;
+    }
+
+    /**
+     * Mean apogee radius at epoch, in km from the centre of the Earth.
+     */
+    double apogeeRadius() {
+        return Math.pow(XKE / noUnkozai, X2O3) * (1.0 + ecco) * RADIUS_EARTH_KM;
+    }
+
+    /**
+     * Upper bound of the angular rate of the satellite around the centre of the Earth, reached at perigee,
+     * in radians per minute.
+     */
+    double maxAngularRate() {
+        double omeosq = 1.0 - ecco * ecco;
+        return noUnkozai * (1.0 + ecco) * (1.0 + ecco) / (omeosq * Math.sqrt(omeosq));
+    }
+
+    private Sgp4Propagator(TleElements elements, String line1, String line2) {
+
+        this.noradId = elements.getNoradId();
+        this.epochMicros = elements.getEpochMicros();
+        this.line1 = line1;
+        this.line2 = line2;
+
+        double xpdotp = MINUTES_PER_DAY / TWO_PI;
+        double noKozai = elements.getMeanMotion() / xpdotp;
+        this.bstar = elements.getBstar();
+        this.ecco = elements.getEccentricity();
+        this.inclo = elements.getInclination() * DEG_TO_RAD;
+        this.nodeo = elements.getRaan() * DEG_TO_RAD;
+        this.argpo = elements.getArgumentOfPerigee() * DEG_TO_RAD;
+        this.mo = elements.getMeanAnomaly() * DEG_TO_RAD;
+
+        // Days since 1950 Jan 0.0 UTC
+        double epoch = elements.getEpochMicros() / 86_400_000_000.0 + 7306.0;
+
+        // initl
+        double eccsq = ecco * ecco;
+        double omeosq = 1.0 - eccsq;
+        double rteosq = Math.sqrt(omeosq);
+        double cosio = Math.cos(inclo);
+        double cosio2 = cosio * cosio;
+
+        double ak = Math.pow(XKE / noKozai, X2O3);
+        double d1 = 0.75 * J2 * (3.0 * cosio2 - 1.0) / (rteosq * omeosq);
+        double del = d1 / (ak * ak);
+        double adel = ak * (1.0 - del * del - del * (1.0 / 3.0 + 134.0 * del * del / 81.0));
+        del = d1 / (adel * adel);
+        this.noUnkozai = noKozai / (1.0 + del);
+
+        double ao = Math.pow(XKE / noUnkozai, X2O3);
+        double sinio = Math.sin(inclo);
+        double po = ao * omeosq;
+        double con42 = 1.0 - 5.0 * cosio2;
+        this.con41 = -con42 - cosio2 - cosio2;
+        double posq = po * po;
+        double rp = ao * (1.0 - ecco);
+        this.gsto = gstime(epoch + 2433281.5);
+
+        // sgp4init
+        double ss = 78.0 / RADIUS_EARTH_KM + 1.0;
+        double qzms2t = Math.pow((120.0 - 78.0) / RADIUS_EARTH_KM, 4);
+
+        boolean simple = rp < 220.0 / RADIUS_EARTH_KM + 1.0;
+
+        double sfour = ss;
+        double qzms24 = qzms2t;
+        double perige = (rp - 1.0) * RADIUS_EARTH_KM;
+        if (perige < 156.0) {
+            sfour = perige - 78.0;
+            if (perige < 98.0) sfour = 20.0;
+            qzms24 = Math.pow((120.0 - sfour) / RADIUS_EARTH_KM, 4);
+            sfour = sfour / RADIUS_EARTH_KM + 1.0;
+        }
+        double pinvsq = 1.0 / posq;
+
+        double tsi = 1.0 / (ao - sfour);
+        this.eta = ao * ecco * tsi;
+        double etasq = eta * eta;
+        double eeta = ecco * eta;
+        double psisq = Math.abs(1.0 - etasq);
+        double coef = qzms24 * Math.pow(tsi, 4.0);
+        double coef1 = coef / Math.pow(psisq, 3.5);
+        double cc2 = coef1 * noUnkozai * (ao * (1.0 + 1.5 * etasq + eeta * (4.0 + etasq))
+                + 0.375 * J2 * tsi / psisq * con41 * (8.0 + 3.0 * etasq * (8.0 + etasq)));
+        this.cc1 = bstar * cc2;
+        double cc3 = 0.0;
+        if (ecco > 1.0e-4) cc3 = -2.0 * coef * tsi * J3OJ2 * noUnkozai * sinio / ecco;
+        this.x1mth2 = 1.0 - cosio2;
+        this.cc4 = 2.0 * noUnkozai * coef1 * ao * omeosq * (eta * (2.0 + 0.5 * etasq) + ecco * (0.5 + 2.0 * etasq)
+                - J2 * tsi / (ao * psisq) * (-3.0 * con41 * (1.0 - 2.0 * eeta + etasq * (1.5 - 0.5 * eeta))
+                + 0.75 * x1mth2 * (2.0 * etasq - eeta * (1.0 + etasq)) * Math.cos(2.0 * argpo)));
+        this.cc5 = 2.0 * coef1 * ao * omeosq * (1.0 + 2.75 * (etasq + eeta) + eeta * etasq);
+        double cosio4 = cosio2 * cosio2;
+        double temp1 = 1.5 * J2 * pinvsq * noUnkozai;
+        double temp2 = 0.5 * temp1 * J2 * pinvsq;
+        double temp3 = -0.46875 * J4 * pinvsq * pinvsq * noUnkozai;
+        this.mdot = noUnkozai + 0.5 * temp1 * rteosq * con41 + 0.0625 * temp2 * rteosq * (13.0 - 78.0 * cosio2 + 137.0 * cosio4);
+        this.argpdot = -0.5 * temp1 * con42 + 0.0625 * temp2 * (7.0 - 114.0 * cosio2 + 395.0 * cosio4)
+                + temp3 * (3.0 - 36.0 * cosio2 + 49.0 * cosio4);
+        double xhdot1 = -temp1 * cosio;
+        this.nodedot = xhdot1 + (0.5 * temp2 * (4.0 - 19.0 * cosio2) + 2.0 * temp3 * (3.0 - 7.0 * cosio2)) * cosio;
+        double xpidot = argpdot + nodedot;
+        this.omgcof = bstar * cc3 * Math.cos(argpo);
+        this.xmcof = ecco > 1.0e-4 ? -X2O3 * coef * bstar / eeta : 0.0;
+        this.nodecf = 3.5 * omeosq * xhdot1 * cc1;
+        this.t2cof = 1.5 * cc1;
+        this.xlcof = Math.abs(cosio + 1.0) > TEMP4
+                ? -0.25 * J3OJ2 * sinio * (3.0 + 5.0 * cosio) / (1.0 + cosio)
+                : -0.25 * J3OJ2 * sinio * (3.0 + 5.0 * cosio) / TEMP4;
+        this.aycof = -0.5 * J3OJ2 * sinio;
+        double delmotemp = 1.0 + eta * Math.cos(mo);
+        this.delmo = delmotemp * delmotemp * delmotemp;
+        this.sinmao = Math.sin(mo);
+        this.x7thm1 = 7.0 * cosio2 - 1.0;
+
+        this.deepSpace = TWO_PI / noUnkozai >= 225.0;
+        this.isimp = simple || deepSpace;
+
+        if (deepSpace) {
+            DeepSpaceCommon c = new DeepSpaceCommon(epoch, ecco, argpo, 0.0, inclo, nodeo, noUnkozai);
+            this.e3 = c.e3;
+            this.ee2 = c.ee2;
+            this.peo = c.peo;
+            this.pgho = c.pgho;
+            this.pho = c.pho;
+            this.pinco = c.pinco;
+            this.plo = c.plo;
+            this.se2 = c.se2;
+            this.se3 = c.se3;
+            this.sgh2 = c.sgh2;
+            this.sgh3 = c.sgh3;
+            this.sgh4 = c.sgh4;
+            this.sh2 = c.sh2;
+            this.sh3 = c.sh3;
+            this.si2 = c.si2;
+            this.si3 = c.si3;
+            this.sl2 = c.sl2;
+            this.sl3 = c.sl3;
+            this.sl4 = c.sl4;
+            this.xgh2 = c.xgh2;
+            this.xgh3 = c.xgh3;
+            this.xgh4 = c.xgh4;
+            this.xh2 = c.xh2;
+            this.xh3 = c.xh3;
+            this.xi2 = c.xi2;
+            this.xi3 = c.xi3;
+            this.xl2 = c.xl2;
+            this.xl3 = c.xl3;
+            this.xl4 = c.xl4;
+            this.zmol = c.zmol;
+            this.zmos = c.zmos;
+
+            // dsinit
+            double q22 = 1.7891679e-6;
+            double q31 = 2.1460748e-6;
+            double q33 = 2.2123015e-7;
+            double root22 = 1.7891679e-6;
+            double root44 = 7.3636953e-9;
+            double root54 = 2.1765803e-9;
+            double root32 = 3.7393792e-7;
+            double root52 = 1.1428639e-7;
+
+            double nm = c.nm;
+            double em = c.em;
+            double emsq = c.emsq;
+            double sinim = c.sinim;
+            double cosim = c.cosim;
+            double inclm = inclo;
+
+            int resonance = 0;
+            if (nm < 0.0052359877 && nm > 0.0034906585) resonance = 1;
+            if (nm >= 8.26e-3 && nm <= 9.24e-3 && em >= 0.5) resonance = 2;
+            this.irez = resonance;
+
+            double ses = c.ss1 * ZNS * c.ss5;
+            double sis = c.ss2 * ZNS * (c.sz11 + c.sz13);
+            double sls = -ZNS * c.ss3 * (c.sz1 + c.sz3 - 14.0 - 6.0 * emsq);
+            double sghs = c.ss4 * ZNS * (c.sz31 + c.sz33 - 6.0);
+            double shs = -ZNS * c.ss2 * (c.sz21 + c.sz23);
+            if (inclm < 5.2359877e-2 || inclm > Math.PI - 5.2359877e-2) shs = 0.0;
+            if (sinim != 0.0) shs = shs / sinim;
+            double sgs = sghs - cosim * shs;
+
+            this.dedt = ses + c.s1 * ZNL * c.s5;
+            this.didt = sis + c.s2 * ZNL * (c.z11 + c.z13);
+            this.dmdt = sls - ZNL * c.s3 * (c.z1 + c.z3 - 14.0 - 6.0 * emsq);
+            double sghl = c.s4 * ZNL * (c.z31 + c.z33 - 6.0);
+            double shll = -ZNL * c.s2 * (c.z21 + c.z23);
+            if (inclm < 5.2359877e-2 || inclm > Math.PI - 5.2359877e-2) shll = 0.0;
+            double domdtTemp = sgs + sghl;
+            double dnodtTemp = shs;
+            if (sinim != 0.0) {
+                domdtTemp = domdtTemp - cosim / sinim * shll;
+                dnodtTemp = dnodtTemp + shll / sinim;
+            }
+            this.domdt = domdtTemp;
+            this.dnodt = dnodtTemp;
+
+            double theta = (gsto % TWO_PI);
+
+            double r2201 = 0, r2211 = 0, r3210 = 0, r3222 = 0, r4410 = 0, r4422 = 0, r5220 = 0, r5232 = 0, r5421 = 0, r5433 = 0;
+            double rdel1 = 0, rdel2 = 0, rdel3 = 0, rxlamo = 0, rxfact = 0;
+
+            if (resonance != 0) {
+                double aonv = Math.pow(nm / XKE, X2O3);
+
+                if (resonance == 2) {
+                    double cosisq = cosim * cosim;
+                    double emo = em;
+                    em = ecco;
+                    double emsqo = emsq;
+                    emsq = eccsq;
+                    double eoc = em * emsq;
+                    double g201 = -0.306 - (em - 0.64) * 0.440;
+                    double g211, g310, g322, g410, g422, g520, g521, g532, g533;
+                    if (em <= 0.65) {
+                        g211 = 3.616 - 13.2470 * em + 16.2900 * emsq;
+                        g310 = -19.302 + 117.3900 * em - 228.4190 * emsq + 156.5910 * eoc;
+                        g322 = -18.9068 + 109.7927 * em - 214.6334 * emsq + 146.5816 * eoc;
+                        g410 = -41.122 + 242.6940 * em - 471.0940 * emsq + 313.9530 * eoc;
+                        g422 = -146.407 + 841.8800 * em - 1629.014 * emsq + 1083.4350 * eoc;
+                        g520 = -532.114 + 3017.977 * em - 5740.032 * emsq + 3708.2760 * eoc;
+                    } else {
+                        g211 = -72.099 + 331.819 * em - 508.738 * emsq + 266.724 * eoc;
+                        g310 = -346.844 + 1582.851 * em - 2415.925 * emsq + 1246.113 * eoc;
+                        g322 = -342.585 + 1554.908 * em - 2366.899 * emsq + 1215.972 * eoc;
+                        g410 = -1052.797 + 4758.686 * em - 7193.992 * emsq + 3651.957 * eoc;
+                        g422 = -3581.690 + 16178.110 * em - 24462.770 * emsq + 12422.520 * eoc;
+                        g520 = em > 0.715
+                                ? -5149.66 + 29936.92 * em - 54087.36 * emsq + 31324.56 * eoc
+                                : 1464.74 - 4664.75 * em + 3763.64 * emsq;
+                    }
+                    if (em < 0.7) {
+                        g533 = -919.22770 + 4988.6100 * em - 9064.7700 * emsq + 5542.21 * eoc;
+                        g521 = -822.71072 + 4568.6173 * em - 8491.4146 * emsq + 5337.524 * eoc;
+                        g532 = -853.66600 + 4690.2500 * em - 8624.7700 * emsq + 5341.4 * eoc;
+                    } else {
+                        g533 = -37995.780 + 161616.52 * em - 229838.20 * emsq + 109377.94 * eoc;
+                        g521 = -51752.104 + 218913.95 * em - 309468.16 * emsq + 146349.42 * eoc;
+                        g532 = -40023.880 + 170470.89 * em - 242699.48 * emsq + 115605.82 * eoc;
+                    }
+
+                    double sini2 = sinim * sinim;
+                    double f220 = 0.75 * (1.0 + 2.0 * cosim + cosisq);
+                    double f221 = 1.5 * sini2;
+                    double f321 = 1.875 * sinim * (1.0 - 2.0 * cosim - 3.0 * cosisq);
+                    double f322 = -1.875 * sinim * (1.0 + 2.0 * cosim - 3.0 * cosisq);
+                    double f441 = 35.0 * sini2 * f220;
+                    double f442 = 39.3750 * sini2 * sini2;
+                    double f522 = 9.84375 * sinim * (sini2 * (1.0 - 2.0 * cosim - 5.0 * cosisq)
+                            + 0.33333333 * (-2.0 + 4.0 * cosim + 6.0 * cosisq));
+                    double f523 = sinim * (4.92187512 * sini2 * (-2.0 - 4.0 * cosim + 10.0 * cosisq)
+                            + 6.56250012 * (1.0 + 2.0 * cosim - 3.0 * cosisq));
+                    double f542 = 29.53125 * sinim * (2.0 - 8.0 * cosim + cosisq * (-12.0 + 8.0 * cosim + 10.0 * cosisq));
+                    double f543 = 29.53125 * sinim * (-2.0 - 8.0 * cosim + cosisq * (12.0 + 8.0 * cosim - 10.0 * cosisq));
+                    double xno2 = nm * nm;
+                    double ainv2 = aonv * aonv;
+                    double t1 = 3.0 * xno2 * ainv2;
+                    double t = t1 * root22;
+                    r2201 = t * f220 * g201;
+                    r2211 = t * f221 * g211;
+                    t1 = t1 * aonv;
+                    t = t1 * root32;
+                    r3210 = t * f321 * g310;
+                    r3222 = t * f322 * g322;
+                    t1 = t1 * aonv;
+                    t = 2.0 * t1 * root44;
+                    r4410 = t * f441 * g410;
+                    r4422 = t * f442 * g422;
+                    t1 = t1 * aonv;
+                    t = t1 * root52;
+                    r5220 = t * f522 * g520;
+                    r5232 = t * f523 * g532;
+                    t = 2.0 * t1 * root54;
+                    r5421 = t * f542 * g521;
+                    r5433 = t * f543 * g533;
+                    rxlamo = (mo + nodeo + nodeo - theta - theta) % TWO_PI;
+                    rxfact = mdot + dmdt + 2.0 * (nodedot + dnodt - RPTIM) - noUnkozai;
+                    em = emo;
+                    emsq = emsqo;
+                }
+
+                if (resonance == 1) {
+                    double g200 = 1.0 + emsq * (-2.5 + 0.8125 * emsq);
+                    double g310 = 1.0 + 2.0 * emsq;
+                    double g300 = 1.0 + emsq * (-6.0 + 6.60937 * emsq);
+                    double f220 = 0.75 * (1.0 + cosim) * (1.0 + cosim);
+                    double f311 = 0.9375 * sinim * sinim * (1.0 + 3.0 * cosim) - 0.75 * (1.0 + cosim);
+                    double f330 = 1.0 + cosim;
+                    f330 = 1.875 * f330 * f330 * f330;
+                    rdel1 = 3.0 * nm * nm * aonv * aonv;
+                    rdel2 = 2.0 * rdel1 * f220 * g200 * q22;
+                    rdel3 = 3.0 * rdel1 * f330 * g300 * q33 * aonv;
+                    rdel1 = rdel1 * f311 * g310 * q31 * aonv;
+                    rxlamo = (mo + nodeo + argpo - theta) % TWO_PI;
+                    rxfact = mdot + xpidot - RPTIM + dmdt + domdt + dnodt - noUnkozai;
+                }
+            }
+
+            this.d2201 = r2201;
+            this.d2211 = r2211;
+            this.d3210 = r3210;
+            this.d3222 = r3222;
+            this.d4410 = r4410;
+            this.d4422 = r4422;
+            this.d5220 = r5220;
+            this.d5232 = r5232;
+            this.d5421 = r5421;
+            this.d5433 = r5433;
+            this.del1 = rdel1;
+            this.del2 = rdel2;
+            this.del3 = rdel3;
+            this.xlamo = rxlamo;
+            this.xfact = rxfact;
+        } else {
+            this.irez = 0;
+            this.d2201 = this.d2211 = this.d3210 = this.d3222 = this.d4410 = this.d4422 = 0;
+            this.d5220 = this.d5232 = this.d5421 = this.d5433 = 0;
+            this.dedt = this.didt = this.dmdt = this.dnodt = this.domdt = 0;
+            this.del1 = this.del2 = this.del3 = 0;
+            this.e3 = this.ee2 = this.peo = this.pgho = this.pho = this.pinco = this.plo = 0;
+            this.se2 = this.se3 = this.sgh2 = this.sgh3 = this.sgh4 = this.sh2 = this.sh3 = 0;
+            this.si2 = this.si3 = this.sl2 = this.sl3 = this.sl4 = 0;
+            this.xfact = 0;
+            this.xgh2 = this.xgh3 = this.xgh4 = this.xh2 = this.xh3 = 0;
+            this.xi2 = this.xi3 = this.xl2 = this.xl3 = this.xl4 = 0;
+            this.xlamo = this.zmol = this.zmos = 0;
+        }
+
+        if (!isimp) {
+            double cc1sq = cc1 * cc1;
+            this.d2 = 4.0 * ao * tsi * cc1sq;
+            double temp = d2 * tsi * cc1 / 3.0;
+            this.d3 = (17.0 * ao + sfour) * temp;
+            this.d4 = 0.5 * temp * ao * tsi * (221.0 * ao + 31.0 * sfour) * cc1;
+            this.t3cof = d2 + 2.0 * cc1sq;
+            this.t4cof = 0.25 * (3.0 * d3 + cc1 * (12.0 * d2 + 10.0 * cc1sq));
+            this.t5cof = 0.2 * (3.0 * d4 + 12.0 * cc1 * d3 + 6.0 * d2 * d2 + 15.0 * cc1sq * (2.0 * d2 + cc1sq));
+        } else {
+            this.d2 = this.d3 = this.d4 = 0;
+            this.t3cof = this.t4cof = this.t5cof = 0;
+        }
+    }
+
+    /**
+     * Propagates to {@code tsince} minutes from the TLE epoch and writes x, y, z (km) then vx, vy, vz (km/s)
+     * into {@code state} starting at {@code offset}. Returns {@link #OK}, {@link #DECAYED} (state still written)
+     * or one of the error codes, in which case the state is left untouched.
+     */
+    public int propagate(double tsince, double[] state, int offset) {
+
+        double t = tsince;
+
+        // Secular gravity and atmospheric drag
+        double xmdf = mo + mdot * t;
+        double argpdf = argpo + argpdot * t;
+        double nodedf = nodeo + nodedot * t;
+        double argpm = argpdf;
+        double mm = xmdf;
+        double t2 = t * t;
+        double nodem = nodedf + nodecf * t2;
+        double tempa = 1.0 - cc1 * t;
+        double tempe = bstar * cc4 * t;
+        double templ = t2cof * t2;
+
+        if (!isimp) {
+            double delomg = omgcof * t;
+            double delmtemp = 1.0 + eta * Math.cos(xmdf);
+            double delm = xmcof * (delmtemp * delmtemp * delmtemp - delmo);
+            double temp = delomg + delm;
+            mm = xmdf + temp;
+            argpm = argpdf - temp;
+            double t3 = t2 * t;
+            double t4 = t3 * t;
+            tempa = tempa - d2 * t2 - d3 * t3 - d4 * t4;
+            tempe = tempe + bstar * cc5 * (Math.sin(mm) - sinmao);
+            templ = templ + t3cof * t3 + t4 * (t4cof + t * t5cof);
+        }
+
+        double nm = noUnkozai;
+        double em = ecco;
+        double inclm = inclo;
+
+        if (deepSpace) {
+            // dspace
+            double theta = (gsto + t * RPTIM) % TWO_PI;
+            em = em + dedt * t;
+            inclm = inclm + didt * t;
+            argpm = argpm + domdt * t;
+            nodem = nodem + dnodt * t;
+            mm = mm + dmdt * t;
+
+            if (irez != 0) {
+                double fasx2 = 0.13130908;
+                double fasx4 = 2.8843198;
+                double fasx6 = 0.37448087;
+                double g22 = 5.7686396;
+                double g32 = 0.95240898;
+                double g44 = 1.8014998;
+                double g52 = 1.0508330;
+                double g54 = 4.4108898;
+                double stepp = 720.0;
+                double stepn = -720.0;
+                double step2 = 259200.0;
+
+                double atime = 0.0;
+                double xni = noUnkozai;
+                double xli = xlamo;
+                double delt = t > 0.0 ? stepp : stepn;
+                double xndt;
+                double xnddt;
+                double xldot;
+                double ft;
+
+                while (true) {
+                    if (irez != 2) {
+                        xndt = del1 * Math.sin(xli - fasx2) + del2 * Math.sin(2.0 * (xli - fasx4)) + del3 * Math.sin(3.0 * (xli - fasx6));
+                        xldot = xni + xfact;
+                        xnddt = del1 * Math.cos(xli - fasx2) + 2.0 * del2 * Math.cos(2.0 * (xli - fasx4))
+                                + 3.0 * del3 * Math.cos(3.0 * (xli - fasx6));
+                        xnddt = xnddt * xldot;
+                    } else {
+                        double xomi = argpo + argpdot * atime;
+                        double x2omi = xomi + xomi;
+                        double x2li = xli + xli;
+                        xndt = d2201 * Math.sin(x2omi + xli - g22) + d2211 * Math.sin(xli - g22)
+                                + d3210 * Math.sin(xomi + xli - g32) + d3222 * Math.sin(-xomi + xli - g32)
+                                + d4410 * Math.sin(x2omi + x2li - g44) + d4422 * Math.sin(x2li - g44)
+                                + d5220 * Math.sin(xomi + xli - g52) + d5232 * Math.sin(-xomi + xli - g52)
+                                + d5421 * Math.sin(xomi + x2li - g54) + d5433 * Math.sin(-xomi + x2li - g54);
+                        xldot = xni + xfact;
+                        xnddt = d2201 * Math.cos(x2omi + xli - g22) + d2211 * Math.cos(xli - g22)
+                                + d3210 * Math.cos(xomi + xli - g32) + d3222 * Math.cos(-xomi + xli - g32)
+                                + d5220 * Math.cos(xomi + xli - g52) + d5232 * Math.cos(-xomi + xli - g52)
+                                + 2.0 * (d4410 * Math.cos(x2omi + x2li - g44) + d4422 * Math.cos(x2li - g44)
+                                + d5421 * Math.cos(xomi + x2li - g54) + d5433 * Math.cos(-xomi + x2li - g54));
+                        xnddt = xnddt * xldot;
+                    }
+
+                    if (Math.abs(t - atime) >= stepp) {
+                        xli = xli + xldot * delt + xndt * step2;
+                        xni = xni + xndt * delt + xnddt * step2;
+                        atime = atime + delt;
+                    } else {
+                        ft = t - atime;
+                        break;
+                    }
+                }
+
+                nm = xni + xndt * ft + xnddt * ft * ft * 0.5;
+                double xl = xli + xldot * ft + xndt * ft * ft * 0.5;
+                if (irez != 1) {
+                    mm = xl - 2.0 * nodem + 2.0 * theta;
+                } else {
+                    mm = xl - nodem - argpm + theta;
+                }
+            }
+        }
+
+        if (nm <= 0.0) return ERROR_MEAN_MOTION;
+
+        double am = Math.pow(XKE / nm, X2O3) * tempa * tempa;
+        nm = XKE / Math.pow(am, 1.5);
+        em = em - tempe;
+
+        if (em >= 1.0 || em < -0.001) return ERROR_ECCENTRICITY;
+        if (em < 1.0e-6) em = 1.0e-6;
+
+        mm = mm + noUnkozai * templ;
+        double xlm = mm + argpm + nodem;
+
+        nodem = nodem % TWO_PI;
+        argpm = argpm % TWO_PI;
+        xlm = xlm % TWO_PI;
+        mm = (xlm - argpm - nodem) % TWO_PI;
+
+        double sinim = Math.sin(inclm);
+        double cosim = Math.cos(inclm);
+
+        // Lunar-solar periodics
+        double ep = em;
+        double xincp = inclm;
+        double argpp = argpm;
+        double nodep = nodem;
+        double mp = mm;
+        double sinip = sinim;
+        double cosip = cosim;
+
+        double localAycof = aycof;
+        double localXlcof = xlcof;
+        double localCon41 = con41;
+        double localX1mth2 = x1mth2;
+        double localX7thm1 = x7thm1;
+
+        if (deepSpace) {
+            // dpper
+            double zm = zmos + ZNS * t;
+            double zf = zm + 2.0 * ZES * Math.sin(zm);
+            double sinzf = Math.sin(zf);
+            double f2 = 0.5 * sinzf * sinzf - 0.25;
+            double f3 = -0.5 * sinzf * Math.cos(zf);
+            double ses = se2 * f2 + se3 * f3;
+            double sis = si2 * f2 + si3 * f3;
+            double sls = sl2 * f2 + sl3 * f3 + sl4 * sinzf;
+            double sghs = sgh2 * f2 + sgh3 * f3 + sgh4 * sinzf;
+            double shs = sh2 * f2 + sh3 * f3;
+            zm = zmol + ZNL * t;
+            zf = zm + 2.0 * ZEL * Math.sin(zm);
+            sinzf = Math.sin(zf);
+            f2 = 0.5 * sinzf * sinzf - 0.25;
+            f3 = -0.5 * sinzf * Math.cos(zf);
+            double sel = ee2 * f2 + e3 * f3;
+            double sil = xi2 * f2 + xi3 * f3;
+            double sll = xl2 * f2 + xl3 * f3 + xl4 * sinzf;
+            double sghl = xgh2 * f2 + xgh3 * f3 + xgh4 * sinzf;
+            double shll = xh2 * f2 + xh3 * f3;
+            double pe = ses + sel - peo;
+            double pinc = sis + sil - pinco;
+            double pl = sls + sll - plo;
+            double pgh = sghs + sghl - pgho;
+            double ph = shs + shll - pho;
+
+            xincp = xincp + pinc;
+            ep = ep + pe;
+            sinip = Math.sin(xincp);
+            cosip = Math.cos(xincp);
+
+            if (xincp >= 0.2) {
+                ph = ph / sinip;
+                pgh = pgh - cosip * ph;
+                argpp = argpp + pgh;
+                nodep = nodep + ph;
+                mp = mp + pl;
+            } else {
+                // Lyddane modification for low inclinations
+                double sinop = Math.sin(nodep);
+                double cosop = Math.cos(nodep);
+                double alfdp = sinip * sinop;
+                double betdp = sinip * cosop;
+                double dalf = ph * cosop + pinc * cosip * sinop;
+                double dbet = -ph * sinop + pinc * cosip * cosop;
+                alfdp = alfdp + dalf;
+                betdp = betdp + dbet;
+                nodep = nodep % TWO_PI;
+                double xls = mp + argpp + cosip * nodep;
+                double dls = pl + pgh - pinc * nodep * sinip;
+                xls = xls + dls;
+                double xnoh = nodep;
+                nodep = Math.atan2(alfdp, betdp);
+                if (Math.abs(xnoh - nodep) > Math.PI) {
+                    if (nodep < xnoh) nodep = nodep + TWO_PI;
+                    else nodep = nodep - TWO_PI;
+                }
+                mp = mp + pl;
+                argpp = xls - mp - cosip * nodep;
+            }
+
+            if (xincp < 0.0) {
+                xincp = -xincp;
+                nodep = nodep + Math.PI;
+                argpp = argpp - Math.PI;
+            }
+            if (ep < 0.0 || ep > 1.0) return ERROR_PERTURBED_ECCENTRICITY;
+
+            sinip = Math.sin(xincp);
+            cosip = Math.cos(xincp);
+            localAycof = -0.5 * J3OJ2 * sinip;
+            localXlcof = Math.abs(cosip + 1.0) > TEMP4
+                    ? -0.25 * J3OJ2 * sinip * (3.0 + 5.0 * cosip) / (1.0 + cosip)
+                    : -0.25 * J3OJ2 * sinip * (3.0 + 5.0 * cosip) / TEMP4;
+        }
+
+        // Long period periodics
+        double axnl = ep * Math.cos(argpp);
+        double temp = 1.0 / (am * (1.0 - ep * ep));
+        double aynl = ep * Math.sin(argpp) + temp * localAycof;
+        double xl = mp + argpp + nodep + temp * localXlcof * axnl;
+
+        // Kepler's equation
+        double u = (xl - nodep) % TWO_PI;
+        double eo1 = u;
+        double tem5 = 9999.9;
+        int ktr = 1;
+        double sineo1 = 0.0;
+        double coseo1 = 0.0;
+        while (Math.abs(tem5) >= 1.0e-12 && ktr <= 10) {
+            sineo1 = Math.sin(eo1);
+            coseo1 = Math.cos(eo1);
+            tem5 = 1.0 - coseo1 * axnl - sineo1 * aynl;
+            tem5 = (u - aynl * coseo1 + axnl * sineo1 - eo1) / tem5;
+            if (Math.abs(tem5) >= 0.95) tem5 = tem5 > 0.0 ? 0.95 : -0.95;
+            eo1 = eo1 + tem5;
+            ktr++;
+        }
+
+        // Short period preliminary quantities
+        double ecose = axnl * coseo1 + aynl * sineo1;
+        double esine = axnl * sineo1 - aynl * coseo1;
+        double el2 = axnl * axnl + aynl * aynl;
+        double pl = am * (1.0 - el2);
+        if (pl < 0.0) return ERROR_SEMI_LATUS_RECTUM;
+
+        double rl = am * (1.0 - ecose);
+        double rdotl = Math.sqrt(am) * esine / rl;
+        double rvdotl = Math.sqrt(pl) / rl;
+        double betal = Math.sqrt(1.0 - el2);
+        temp = esine / (1.0 + betal);
+        double sinu = am / rl * (sineo1 - aynl - axnl * temp);
+        double cosu = am / rl * (coseo1 - axnl + aynl * temp);
+        double su = Math.atan2(sinu, cosu);
+        double sin2u = (cosu + cosu) * sinu;
+        double cos2u = 1.0 - 2.0 * sinu * sinu;
+        temp = 1.0 / pl;
+        double temp1 = 0.5 * J2 * temp;
+        double temp2 = temp1 * temp;
+
+        if (deepSpace) {
+            double cosisq = cosip * cosip;
+            localCon41 = 3.0 * cosisq - 1.0;
+            localX1mth2 = 1.0 - cosisq;
+            localX7thm1 = 7.0 * cosisq - 1.0;
+        }
+
+        // Short period periodics
+        double mrt = rl * (1.0 - 1.5 * temp2 * betal * localCon41) + 0.5 * temp1 * localX1mth2 * cos2u;
+        su = su - 0.25 * temp2 * localX7thm1 * sin2u;
+        double xnode = nodep + 1.5 * temp2 * cosip * sin2u;
+        double xinc = xincp + 1.5 * temp2 * cosip * sinip * cos2u;
+        double mvt = rdotl - nm * temp1 * localX1mth2 * sin2u / XKE;
+        double rvdot = rvdotl + nm * temp1 * (localX1mth2 * cos2u + 1.5 * localCon41) / XKE;
+
+        // Orientation vectors
+        double sinsu = Math.sin(su);
+        double cossu = Math.cos(su);
+        double snod = Math.sin(xnode);
+        double cnod = Math.cos(xnode);
+        double sini = Math.sin(xinc);
+        double cosi = Math.cos(xinc);
+        double xmx = -snod * cosi;
+        double xmy = cnod * cosi;
+        double ux = xmx * sinsu + cnod * cossu;
+        double uy = xmy * sinsu + snod * cossu;
+        double uz = sini * sinsu;
+        double vx = xmx * cossu - cnod * sinsu;
+        double vy = xmy * cossu - snod * sinsu;
+        double vz = sini * cossu;
+
+        state[offset] = mrt * ux * RADIUS_EARTH_KM;
+        state[offset + 1] = mrt * uy * RADIUS_EARTH_KM;
+        state[offset + 2] = mrt * uz * RADIUS_EARTH_KM;
+        state[offset + 3] = (mvt * ux + rvdot * vx) * VKM_PER_SEC;
+        state[offset + 4] = (mvt * uy + rvdot * vy) * VKM_PER_SEC;
+        state[offset + 5] = (mvt * uz + rvdot * vz) * VKM_PER_SEC;
+
+        return mrt < 1.0 ? DECAYED : OK;
+    }
+
+    /**
+     * Greenwich sidereal time (IAU-82) at the given UT1 Julian date, in radians.
+     */
+    static double gstime(double jdut1) {
+        double tut1 = (jdut1 - 2451545.0) / 36525.0;
+        double temp = -6.2e-6 * tut1 * tut1 * tut1 + 0.093104 * tut1 * tut1
+                + (876600.0 * 3600 + 8640184.812866) * tut1 + 67310.54841;
+        temp = (temp * DEG_TO_RAD / 240.0) % TWO_PI;
+        if (temp < 0.0) temp += TWO_PI;
+        return temp;
+    }
+
+    /**
+     * Lunar and solar terms shared by the deep-space initialisation (Vallado's dscom), computed once per TLE.
+     */
+    private static final class DeepSpaceCommon {
+
+        double snodm, cnodm, sinim, cosim, sinomm, cosomm, day, e3, ee2, em, emsq, gam;
+        double peo, pgho, pho, pinco, plo, rtemsq;
+        double se2, se3, sgh2, sgh3, sgh4, sh2, sh3, si2, si3, sl2, sl3, sl4;
+        double s1, s2, s3, s4, s5, s6, s7;
+        double ss1, ss2, ss3, ss4, ss5, ss6, ss7;
+        double sz1, sz2, sz3, sz11, sz12, sz13, sz21, sz22, sz23, sz31, sz32, sz33;
+        double xgh2, xgh3, xgh4, xh2, xh3, xi2, xi3, xl2, xl3, xl4, nm;
+        double z1, z2, z3, z11, z12, z13, z21, z22, z23, z31, z32, z33;
+        double zmol, zmos;
+
+        DeepSpaceCommon(double epoch, double ep, double argpp, double tc, double inclp, double nodep, double np) {
+
+            double c1ss = 2.9864797e-6;
+            double c1l = 4.7968065e-7;
+            double zsinis = 0.39785416;
+            double zcosis = 0.91744867;
+            double zcosgs = 0.1945905;
+            double zsings = -0.98088458;
+
+            nm = np;
+            em = ep;
+            snodm = Math.sin(nodep);
+            cnodm = Math.cos(nodep);
+            sinomm = Math.sin(argpp);
+            cosomm = Math.cos(argpp);
+            sinim = Math.sin(inclp);
+            cosim = Math.cos(inclp);
+            emsq = em * em;
+            double betasq = 1.0 - emsq;
+            rtemsq = Math.sqrt(betasq);
+
+            peo = 0.0;
+            pinco = 0.0;
+            plo = 0.0;
+            pgho = 0.0;
+            pho = 0.0;
+            day = epoch + 18261.5 + tc / 1440.0;
+            double xnodce = (4.5236020 - 9.2422029e-4 * day) % TWO_PI;
+            double stem = Math.sin(xnodce);
+            double ctem = Math.cos(xnodce);
+            double zcosil = 0.91375164 - 0.03568096 * ctem;
+            double zsinil = Math.sqrt(1.0 - zcosil * zcosil);
+            double zsinhl = 0.089683511 * stem / zsinil;
+            double zcoshl = Math.sqrt(1.0 - zsinhl * zsinhl);
+            gam = 5.8351514 + 0.0019443680 * day;
+            double zx = 0.39785416 * stem / zsinil;
+            double zy = zcoshl * ctem + 0.91744867 * zsinhl * stem;
+            zx = Math.atan2(zx, zy);
+            zx = gam + zx - xnodce;
+            double zcosgl = Math.cos(zx);
+            double zsingl = Math.sin(zx);
+
+            double zcosg = zcosgs;
+            double zsing = zsings;
+            double zcosi = zcosis;
+            double zsini = zsinis;
+            double zcosh = cnodm;
+            double zsinh = snodm;
+            double cc = c1ss;
+            double xnoi = 1.0 / nm;
+
+            for (int lsflg = 1; lsflg <= 2; lsflg++) {
+                double a1 = zcosg * zcosh + zsing * zcosi * zsinh;
+                double a3 = -zsing * zcosh + zcosg * zcosi * zsinh;
+                double a7 = -zcosg * zsinh + zsing * zcosi * zcosh;
+                double a8 = zsing * zsini;
+                double a9 = zsing * zsinh + zcosg * zcosi * zcosh;
+                double a10 = zcosg * zsini;
+                double a2 = cosim * a7 + sinim * a8;
+                double a4 = cosim * a9 + sinim * a10;
+                double a5 = -sinim * a7 + cosim * a8;
+                double a6 = -sinim * a9 + cosim * a10;
+
+                double x1 = a1 * cosomm + a2 * sinomm;
+                double x2 = a3 * cosomm + a4 * sinomm;
+                double x3 = -a1 * sinomm + a2 * cosomm;
+                double x4 = -a3 * sinomm + a4 * cosomm;
+                double x5 = a5 * sinomm;
+                double x6 = a6 * sinomm;
+                double x7 = a5 * cosomm;
+                double x8 = a6 * cosomm;
+
+                z31 = 12.0 * x1 * x1 - 3.0 * x3 * x3;
+                z32 = 24.0 * x1 * x2 - 6.0 * x3 * x4;
+                z33 = 12.0 * x2 * x2 - 3.0 * x4 * x4;
+                z1 = 3.0 * (a1 * a1 + a2 * a2) + z31 * emsq;
+                z2 = 6.0 * (a1 * a3 + a2 * a4) + z32 * emsq;
+                z3 = 3.0 * (a3 * a3 + a4 * a4) + z33 * emsq;
+                z11 = -6.0 * a1 * a5 + emsq * (-24.0 * x1 * x7 - 6.0 * x3 * x5);
+                z12 = -6.0 * (a1 * a6 + a3 * a5) + emsq * (-24.0 * (x2 * x7 + x1 * x8) - 6.0 * (x3 * x6 + x4 * x5));
+                z13 = -6.0 * a3 * a6 + emsq * (-24.0 * x2 * x8 - 6.0 * x4 * x6);
+                z21 = 6.0 * a2 * a5 + emsq * (24.0 * x1 * x5 - 6.0 * x3 * x7);
+                z22 = 6.0 * (a4 * a5 + a2 * a6) + emsq * (24.0 * (x2 * x5 + x1 * x6) - 6.0 * (x4 * x7 + x3 * x8));
+                z23 = 6.0 * a4 * a6 + emsq * (24.0 * x2 * x6 - 6.0 * x4 * x8);
+                z1 = z1 + z1 + betasq * z31;
+                z2 = z2 + z2 + betasq * z32;
+                z3 = z3 + z3 + betasq * z33;
+                s3 = cc * xnoi;
+                s2 = -0.5 * s3 / rtemsq;
+                s4 = s3 * rtemsq;
+                s1 = -15.0 * em * s4;
+                s5 = x1 * x3 + x2 * x4;
+                s6 = x2 * x3 + x1 * x4;
+                s7 = x2 * x4 - x1 * x3;
+
+                if (lsflg == 1) {
+                    ss1 = s1;
+                    ss2 = s2;
+                    ss3 = s3;
+                    ss4 = s4;
+                    ss5 = s5;
+                    ss6 = s6;
+                    ss7 = s7;
+                    sz1 = z1;
+                    sz2 = z2;
+                    sz3 = z3;
+                    sz11 = z11;
+                    sz12 = z12;
+                    sz13 = z13;
+                    sz21 = z21;
+                    sz22 = z22;
+                    sz23 = z23;
+                    sz31 = z31;
+                    sz32 = z32;
+                    sz33 = z33;
+                    zcosg = zcosgl;
+                    zsing = zsingl;
+                    zcosi = zcosil;
+                    zsini = zsinil;
+                    zcosh = zcoshl * cnodm + zsinhl * snodm;
+                    zsinh = snodm * zcoshl - cnodm * zsinhl;
+                    cc = c1l;
+                }
+            }
+
+            zmol = (4.7199672 + 0.22997150 * day - gam) % TWO_PI;
+            zmos = (6.2565837 + 0.017201977 * day) % TWO_PI;
+
+            se2 = 2.0 * ss1 * ss6;
+            se3 = 2.0 * ss1 * ss7;
+            si2 = 2.0 * ss2 * sz12;
+            si3 = 2.0 * ss2 * (sz13 - sz11);
+            sl2 = -2.0 * ss3 * sz2;
+            sl3 = -2.0 * ss3 * (sz3 - sz1);
+            sl4 = -2.0 * ss3 * (-21.0 - 9.0 * emsq) * ZES;
+            sgh2 = 2.0 * ss4 * sz32;
+            sgh3 = 2.0 * ss4 * (sz33 - sz31);
+            sgh4 = -18.0 * ss4 * ZES;
+            sh2 = -2.0 * ss2 * sz22;
+            sh3 = -2.0 * ss2 * (sz23 - sz21);
+
+            ee2 = 2.0 * s1 * s6;
+            e3 = 2.0 * s1 * s7;
+            xi2 = 2.0 * s2 * z12;
+            xi3 = 2.0 * s2 * (z13 - z11);
+            xl2 = -2.0 * s3 * z2;
+            xl3 = -2.0 * s3 * (z3 - z1);
+            xl4 = -2.0 * s3 * (-21.0 - 9.0 * emsq) * ZEL;
+            xgh2 = 2.0 * s4 * z32;
+            xgh3 = 2.0 * s4 * (z33 - z31);
+            xgh4 = -18.0 * s4 * ZEL;
+            xh2 = -2.0 * s2 * z22;
+            xh3 = -2.0 * s2 * (z23 - z21);
+        }
+
+    }
+
+}
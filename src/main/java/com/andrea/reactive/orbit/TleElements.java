@@ -0,0 +1,43 @@
+package com.andrea.reactive.orbit;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Orbital elements of one TLE as flat primitives, in the units of the TLE itself (degrees, revolutions per day).
+ * Instances are mutable and meant to be reused: {@link TleParser#parse} overwrites every field.
+ */
+@Getter
+public class TleElements {
+
+    int noradId;
+    int epochYear;
+    /** Fractional day of the year, 1.0 being January 1st at 00:00 UTC. */
+    double epochDay;
+    long epochMicros;
+    /** First derivative of the mean motion divided by two, in revolutions per day squared. */
+    double meanMotionDot;
+    /** Second derivative of the mean motion divided by six, in revolutions per day cubed. */
+    double meanMotionDdot;
+    /** Drag term in inverse earth radii. */
+    double bstar;
+    int elementSetNumber;
+    double inclination;
+    double raan;
+    double eccentricity;
+    double argumentOfPerigee;
+    double meanAnomaly;
+    double meanMotion;
+    int revolutionNumber;
+    boolean line1ChecksumValid;
+    boolean line2ChecksumValid;
+
+    public OffsetDateTime getEpoch() {
+        return Instant.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L), Math.floorMod(epochMicros, 1_000_000L) * 1_000)
+                .atOffset(ZoneOffset.UTC);
+    }
+
+}
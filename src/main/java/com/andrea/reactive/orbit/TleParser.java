@@ -0,0 +1,204 @@
+package com.andrea.reactive.orbit;
+
+/**
+ * Decodes a TLE line pair into {@link TleElements} by reading the fixed-width columns in place:
+ * no substrings, no boxing and no {@code Double.parseDouble}, so parsing into a reused instance allocates nothing.
+ * Works on any {@link CharSequence}, including byte views over a mapped file.
+ */
+public class TleParser {
+
+    public static final int LINE_LENGTH = 69;
+
+    private static final int CHECKSUM_INDEX = 68;
+    private static final long MICROS_PER_DAY = 86_400_000_000L;
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18};
+
+    /**
+     * Whether {@code line} looks like line 1 or line 2 of a TLE: long enough, starting with its line number and a space.
+     */
+    public static boolean isLine(CharSequence line, char lineNumber) {
+        return line.length() >= LINE_LENGTH && line.charAt(0) == lineNumber && line.charAt(1) == ' ';
+    }
+
+    /**
+     * Parses both lines into {@code elements} and returns whether the TLE is usable: both checksums match, every
+     * field is well-formed and in range, and both lines carry the same catalog number. The checksum flags are set
+     * even when the TLE is rejected; other fields are then unspecified.
+     */
+    public static boolean parse(CharSequence line1, CharSequence line2, TleElements elements) {
+
+        if (!isLine(line1, '1') || !isLine(line2, '2')) {
+            elements.line1ChecksumValid = false;
+            elements.line2ChecksumValid = false;
+            return false;
+        }
+
+        elements.line1ChecksumValid = hasValidChecksum(line1);
+        elements.line2ChecksumValid = hasValidChecksum(line2);
+
+        elements.noradId = parseCatalogNumber(line1, 2);
+        int year = parseInt(line1, 18, 20);
+        elements.epochDay = parseDecimal(line1, 20, 32);
+        elements.meanMotionDot = parseDecimal(line1, 33, 43);
+        elements.meanMotionDdot = parseExponential(line1, 44, 52);
+        elements.bstar = parseExponential(line1, 53, 61);
+        elements.elementSetNumber = parseInt(line1, 64, 68);
+
+        elements.inclination = parseDecimal(line2, 8, 16);
+        elements.raan = parseDecimal(line2, 17, 25);
+        elements.eccentricity = parseImpliedDecimal(line2, 26, 33);
+        elements.argumentOfPerigee = parseDecimal(line2, 34, 42);
+        elements.meanAnomaly = parseDecimal(line2, 43, 51);
+        elements.meanMotion = parseDecimal(line2, 52, 63);
+        elements.revolutionNumber = parseInt(line2, 63, 68);
+
+        if (year < 0 || !(elements.epochDay >= 1 && elements.epochDay < 367)) return false;
+        // Two-digit years: 57-99 are 1957-1999, 00-56 are 2000-2056
+        elements.epochYear = year + (year < 57 ? 2000 : 1900);
+        elements.epochMicros = daysSinceUnixEpoch(elements.epochYear) * MICROS_PER_DAY + Math.round((elements.epochDay - 1) * MICROS_PER_DAY);
+
+        return elements.line1ChecksumValid && elements.line2ChecksumValid
+                && elements.noradId >= 0 && elements.noradId == parseCatalogNumber(line2, 2)
+                && !Double.isNaN(elements.meanMotionDot) && !Double.isNaN(elements.meanMotionDdot) && !Double.isNaN(elements.bstar)
+                && elements.inclination >= 0 && elements.inclination <= 180
+                && elements.raan >= 0 && elements.raan < 360
+                && elements.eccentricity >= 0 && elements.eccentricity < 1
+                && elements.argumentOfPerigee >= 0 && elements.argumentOfPerigee < 360
+                && elements.meanAnomaly >= 0 && elements.meanAnomaly < 360
+                && elements.meanMotion > 0;
+    }
+
+    /**
+     * Modulo-10 checksum of columns 1-68: digits count their value, minus signs count one, everything else zero.
+     */
+    public static boolean hasValidChecksum(CharSequence line) {
+        if (line.length() < LINE_LENGTH) return false;
+        int sum = 0;
+        for (int i = 0; i < CHECKSUM_INDEX; i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') sum += c - '0';
+            else if (c == '-') sum++;
+        }
+        char expected = line.charAt(CHECKSUM_INDEX);
+        return expected >= '0' && expected <= '9' && sum % 10 == expected - '0';
+    }
+
+    /**
+     * Five-column catalog number, including the Alpha-5 form where a leading letter (I and O excluded)
+     * stands for 10-33 ten-thousands. Returns -1 when malformed.
+     */
+    static int parseCatalogNumber(CharSequence line, int start) {
+        char first = line.charAt(start);
+        if (first >= 'A' && first <= 'Z' && first != 'I' && first != 'O') {
+            int rest = parseInt(line, start + 1, start + 5);
+            int prefix = first - 'A' + 10 - (first > 'I' ? 1 : 0) - (first > 'O' ? 1 : 0);
+            return rest < 0 ? -1 : prefix * 10_000 + rest;
+        }
+        return parseInt(line, start, start + 5);
+    }
+
+    /**
+     * Unsigned integer in [start, end), blanks allowed around it. Returns -1 when malformed or blank.
+     */
+    static int parseInt(CharSequence line, int start, int end) {
+        int value = 0;
+        boolean digits = false;
+        boolean trailing = false;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == ' ') {
+                if (digits) trailing = true;
+            } else if (c >= '0' && c <= '9' && !trailing) {
+                value = value * 10 + (c - '0');
+                digits = true;
+            } else {
+                return -1;
+            }
+        }
+        return digits ? value : -1;
+    }
+
+    /**
+     * Signed decimal such as {@code " 51.6416"}, {@code "-.00002182"} or {@code "15.72125391"} in [start, end).
+     * Returns NaN when malformed or blank.
+     */
+    static double parseDecimal(CharSequence line, int start, int end) {
+        int i = skipBlanks(line, start, end);
+        boolean negative = false;
+        if (i < end && (line.charAt(i) == '-' || line.charAt(i) == '+')) negative = line.charAt(i++) == '-';
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits == 18) return Double.NaN;
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (fractionDigits >= 0) fractionDigits++;
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (c == ' ') {
+                break;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (digits == 0 || skipBlanks(line, i, end) != end) return Double.NaN;
+
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Digits with an implied leading decimal point, as the eccentricity {@code "0006703"} for 0.0006703.
+     */
+    static double parseImpliedDecimal(CharSequence line, int start, int end) {
+        long mantissa = 0;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') return Double.NaN;
+            mantissa = mantissa * 10 + (c - '0');
+        }
+        return mantissa / POWERS_OF_TEN[end - start];
+    }
+
+    /**
+     * Exponential notation with an implied leading decimal point, as {@code "-11606-4"} for -0.11606e-4
+     * or {@code " 00000+0"} for zero.
+     */
+    static double parseExponential(CharSequence line, int start, int end) {
+        int exponentSign = end - 2;
+        char sign = line.charAt(start);
+        int mantissaStart = sign == '-' || sign == '+' || sign == ' ' ? start + 1 : start;
+
+        double mantissa = parseImpliedDecimal(line, mantissaStart, exponentSign);
+        char exponentSignChar = line.charAt(exponentSign);
+        char exponentDigit = line.charAt(end - 1);
+        if (Double.isNaN(mantissa) || exponentDigit < '0' || exponentDigit > '9'
+                || (exponentSignChar != '-' && exponentSignChar != '+' && exponentSignChar != ' ')) return Double.NaN;
+
+        int exponent = exponentDigit - '0';
+        double value = exponentSignChar == '-' ? mantissa / POWERS_OF_TEN[exponent] : mantissa * POWERS_OF_TEN[exponent];
+        return sign == '-' ? -value : value;
+    }
+
+    private static int skipBlanks(CharSequence line, int start, int end) {
+        int i = start;
+        while (i < end && line.charAt(i) == ' ') i++;
+        return i;
+    }
+
+    /**
+     * Days from 1970-01-01 to January 1st of {@code year} in the proleptic Gregorian calendar.
+     */
+    private static long daysSinceUnixEpoch(int year) {
+        return 365L * (year - 1970) + leapYearsThrough(year - 1) - leapYearsThrough(1969);
+    }
+
+    private static long leapYearsThrough(int year) {
+        return Math.floorDiv(year, 4) - Math.floorDiv(year, 100) + Math.floorDiv(year, 400);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.andrea.reactive.repository;
+
+import com.andrea.reactive.dto.SatelliteUpsertResult;
+import com.andrea.reactive.dto.TleDto;
+import com.andrea.reactive.entity.Satellite;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface SatelliteCustomRepository {
+
+    /**
+     * Upserts a batch of TLEs on ext_id with a single multi-row statement.
+     * Existing rows are only overwritten when the incoming epoch is newer than the stored one.
+     * Emits the guid of each row written, flagged NEW when inserted and UPDATED when an existing row was overwritten;
+     * TLEs skipped because their epoch is not newer produce no result.
+     */
+    Flux<SatelliteUpsertResult> upsertAll(List<TleDto> tles);
+
+    /**
+     * Inserts a batch of satellites, whose guids are chosen by the caller, with a single multi-row statement and
+     * emits the rows as stored. Rows come back in no particular order: callers match them on their guid.
+     */
+    Flux<Satellite> insertAll(List<Satellite> satellites);
+
+    /**
+     * Streams every satellite matching the optional filters, ordered by id, from a server-side cursor:
+     * rows are pulled from the database {@code fetchSize} at a time as downstream demand arrives,
+     * so the full result is never held in memory.
+     * A null {@code name}, {@code since} or {@code until} disables the corresponding filter.
+     */
+    Flux<Satellite> streamAll(String name, OffsetDateTime since, OffsetDateTime until, int fetchSize);
+
+    /**
+     * Same stream and filters as {@link #streamAll}, restricted to satellites that have both TLE lines,
+     * with each row written directly as 3LE text into a buffer of {@code bufferFactory}.
+     */
+    Flux<DataBuffer> streamTle(String name, OffsetDateTime since, OffsetDateTime until, int fetchSize, DataBufferFactory bufferFactory);
+
+}
@@ -0,0 +1,149 @@
+package com.andrea.reactive.repository;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.dto.SatelliteUpsertResult;
+import com.andrea.reactive.dto.TleDto;
+import com.andrea.reactive.dto.enumerator.FetchSatelliteResult;
+import com.andrea.reactive.entity.Satellite;
+import com.andrea.reactive.utils.SqlUtil;
+import com.andrea.reactive.utils.TleTextEncoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class SatelliteCustomRepositoryImpl implements SatelliteCustomRepository {
+
+    private static final int UPSERT_COLUMNS = 5;
+    private static final int INSERT_COLUMNS = 5;
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter r2dbcConverter;
+
+    public SatelliteCustomRepositoryImpl(DatabaseClient databaseClient, R2dbcConverter r2dbcConverter) {
+        this.databaseClient = databaseClient;
+        this.r2dbcConverter = r2dbcConverter;
+    }
+
+    @Override
+    public Flux<SatelliteUpsertResult> upsertAll(List<TleDto> tles) {
+
+        if (tles.isEmpty()) return Flux.empty();
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(SatelliteConstants.TABLE_NAME)
+                .append(" (ext_id, name, date, line1, line2, created_at, updated_at) VALUES ");
+
+        for (int i = 0; i < tles.size(); i++) {
+            int p = i * UPSERT_COLUMNS;
+            if (i > 0) sql.append(", ");
+            sql.append("($").append(p + 1)
+                    .append(", $").append(p + 2)
+                    .append(", $").append(p + 3)
+                    .append(", $").append(p + 4)
+                    .append(", $").append(p + 5)
+                    .append(", now(), now())");
+        }
+
+        sql.append(" ON CONFLICT (ext_id) DO UPDATE SET date = EXCLUDED.date, line1 = EXCLUDED.line1, line2 = EXCLUDED.line2, updated_at = EXCLUDED.updated_at")
+                // Same or older epochs are skipped by the database: no new row version, no WAL, no index churn
+                .append(" WHERE satellite.date IS NULL OR satellite.date < EXCLUDED.date")
+                .append(" RETURNING guid, (xmax = 0) AS inserted");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+
+        for (int i = 0; i < tles.size(); i++) {
+            TleDto tle = tles.get(i);
+            int p = i * UPSERT_COLUMNS;
+            spec = bind(spec, p, tle.getSatelliteId(), Integer.class);
+            spec = bind(spec, p + 1, tle.getName(), String.class);
+            spec = bind(spec, p + 2, tle.getDate(), OffsetDateTime.class);
+            spec = bind(spec, p + 3, tle.getLine1(), String.class);
+            spec = bind(spec, p + 4, tle.getLine2(), String.class);
+        }
+
+        return spec.map(row -> new SatelliteUpsertResult(row.get("guid", UUID.class),
+                        Boolean.TRUE.equals(row.get("inserted", Boolean.class)) ? FetchSatelliteResult.NEW : FetchSatelliteResult.UPDATED))
+                .all();
+    }
+
+    @Override
+    public Flux<Satellite> insertAll(List<Satellite> satellites) {
+
+        if (satellites.isEmpty()) return Flux.empty();
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(SatelliteConstants.TABLE_NAME)
+                .append(" (guid, name, date, line1, line2, created_at, updated_at) VALUES ");
+
+        for (int i = 0; i < satellites.size(); i++) {
+            int p = i * INSERT_COLUMNS;
+            if (i > 0) sql.append(", ");
+            sql.append("($").append(p + 1)
+                    .append(", $").append(p + 2)
+                    .append(", $").append(p + 3)
+                    .append(", $").append(p + 4)
+                    .append(", $").append(p + 5)
+                    .append(", now(), now())");
+        }
+
+        // RETURNING follows no particular order, so rows are matched back to the input on the guid the caller chose
+        sql.append(" RETURNING *");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+
+        for (int i = 0; i < satellites.size(); i++) {
+            Satellite satellite = satellites.get(i);
+            int p = i * INSERT_COLUMNS;
+            spec = spec.bind(p, satellite.getGuid());
+            spec = bind(spec, p + 1, satellite.getName(), String.class);
+            spec = bind(spec, p + 2, satellite.getDate(), OffsetDateTime.class);
+            spec = bind(spec, p + 3, satellite.getLine1(), String.class);
+            spec = bind(spec, p + 4, satellite.getLine2(), String.class);
+        }
+
+        return spec.map((row, metadata) -> r2dbcConverter.read(Satellite.class, row, metadata)).all();
+    }
+
+    @Override
+    public Flux<Satellite> streamAll(String name, OffsetDateTime since, OffsetDateTime until, int fetchSize) {
+        return getExportSpec("*", "", name, since, until, fetchSize)
+                .map((row, metadata) -> r2dbcConverter.read(Satellite.class, row, metadata))
+                .all();
+    }
+
+    @Override
+    public Flux<DataBuffer> streamTle(String name, OffsetDateTime since, OffsetDateTime until, int fetchSize, DataBufferFactory bufferFactory) {
+        return getExportSpec("name, line1, line2", " AND line1 IS NOT NULL AND line2 IS NOT NULL", name, since, until, fetchSize)
+                .map(row -> TleTextEncoder.encode(row.get("name", String.class), row.get("line1", String.class), row.get("line2", String.class), bufferFactory))
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec getExportSpec(String columns, String extraCondition, String name, OffsetDateTime since, OffsetDateTime until, int fetchSize) {
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM ").append(SatelliteConstants.TABLE_NAME)
+                .append(" WHERE TRUE").append(extraCondition);
+        // Same shape as the list filter, so the trigram index on upper(name) applies
+        if (name != null) sql.append(" AND UPPER(name) LIKE UPPER(:name)");
+        if (since != null) sql.append(" AND date >= :since");
+        if (until != null) sql.append(" AND date <= :until");
+        sql.append(" ORDER BY id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter(statement -> statement.fetchSize(fetchSize));
+
+        if (name != null) spec = spec.bind("name", "%" + SqlUtil.escapeLike(name) + "%");
+        if (since != null) spec = spec.bind("since", since);
+        if (until != null) spec = spec.bind("until", until);
+
+        return spec;
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, int index, Object value, Class<?> type) {
+        return value == null ? spec.bindNull(index, type) : spec.bind(index, value);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.andrea.reactive.repository;
+
+import com.andrea.reactive.dto.SatelliteCursor;
+import com.andrea.reactive.entity.Satellite;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+
+public interface SatelliteKeysetRepository {
+
+    /**
+     * Keyset variant of findByNameContainingIgnoreCase: returns up to {@code limit} satellites ordered by
+     * {@code sort} (plus id as tie-breaker) that come strictly after {@code cursor}, or from the start when the
+     * cursor is null. Cost does not depend on how deep the page is.
+     */
+    Flux<Satellite> findByNameContainingIgnoreCaseAfter(String name, Sort sort, SatelliteCursor cursor, int limit);
+
+}
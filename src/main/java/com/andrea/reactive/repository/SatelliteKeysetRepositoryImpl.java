@@ -0,0 +1,90 @@
+package com.andrea.reactive.repository;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.dto.SatelliteCursor;
+import com.andrea.reactive.entity.Satellite;
+import com.andrea.reactive.utils.SqlUtil;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SatelliteKeysetRepositoryImpl implements SatelliteKeysetRepository {
+
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    public SatelliteKeysetRepositoryImpl(R2dbcEntityTemplate r2dbcEntityTemplate) {
+        this.r2dbcEntityTemplate = r2dbcEntityTemplate;
+    }
+
+    @Override
+    public Flux<Satellite> findByNameContainingIgnoreCaseAfter(String name, Sort sort, SatelliteCursor cursor, int limit) {
+
+        List<Sort.Order> orders = new ArrayList<>(sort.toList());
+        orders.add(Sort.Order.asc(SatelliteConstants.ID_PROPERTY));
+
+        Criteria criteria = Criteria.where(SatelliteConstants.NAME_PROPERTY).like("%" + SqlUtil.escapeLike(name) + "%").ignoreCase(true);
+        if (cursor != null) criteria = criteria.and(getSeekCriteria(orders, cursor));
+
+        return r2dbcEntityTemplate.select(Satellite.class)
+                .matching(Query.query(criteria).sort(Sort.by(orders)).limit(limit))
+                .all();
+    }
+
+    /**
+     * Expands the row comparison (k1, k2, ..., id) > (v1, v2, ..., id) for mixed sort directions:
+     * k1 beyond v1, or k1 = v1 and k2 beyond v2, and so on down to the id tie-breaker.
+     * Nullable keys follow the Postgres default of sorting NULLs last ascending and first descending: NULL rows are
+     * beyond any value when ascending, and every non-NULL row is beyond a NULL cursor value when descending.
+     */
+    private static Criteria getSeekCriteria(List<Sort.Order> orders, SatelliteCursor cursor) {
+
+        Criteria seek = Criteria.empty();
+        Criteria equalPrefix = Criteria.empty();
+
+        for (Sort.Order order : orders) {
+            String property = order.getProperty();
+            Object value = getCursorValue(cursor, property);
+
+            Criteria beyond = getBeyondCriteria(order, value);
+            if (beyond != null) {
+                Criteria step = equalPrefix.isEmpty() ? beyond : equalPrefix.and(beyond);
+                seek = seek.isEmpty() ? step : seek.or(step);
+            }
+
+            Criteria equal = value == null ? Criteria.where(property).isNull() : Criteria.where(property).is(value);
+            equalPrefix = equalPrefix.isEmpty() ? equal : equalPrefix.and(equal);
+        }
+
+        return seek;
+    }
+
+    /**
+     * Rows strictly after {@code value} on one key, or null when there are none (a NULL value sorted ascending).
+     */
+    private static Criteria getBeyondCriteria(Sort.Order order, Object value) {
+        String property = order.getProperty();
+        if (order.isAscending()) {
+            if (value == null) return null;
+            // The id tie-breaker is the primary key, never NULL
+            return SatelliteConstants.ID_PROPERTY.equals(property)
+                    ? Criteria.where(property).greaterThan(value)
+                    : Criteria.where(property).greaterThan(value).or(property).isNull();
+        }
+        return value == null ? Criteria.where(property).isNotNull() : Criteria.where(property).lessThan(value);
+    }
+
+    private static Object getCursorValue(SatelliteCursor cursor, String property) {
+        return switch (property) {
+            case SatelliteConstants.NAME_PROPERTY -> cursor.getName();
+            case SatelliteConstants.DATE_PROPERTY -> cursor.getDate();
+            case SatelliteConstants.ID_PROPERTY -> cursor.getId();
+            default -> null;
+        };
+    }
+
+}
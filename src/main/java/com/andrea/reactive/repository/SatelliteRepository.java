@@ -1,15 +1,32 @@
 package com.andrea.reactive.repository;
 
 import com.andrea.reactive.entity.Satellite;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
-public interface SatelliteRepository extends ReactiveCrudRepository<Satellite, Integer> {
+public interface SatelliteRepository extends ReactiveCrudRepository<Satellite, Integer>, SatelliteCustomRepository {
 
     Mono<Satellite> findByExtId(Integer extId);
 
     Mono<Satellite> findByGuid(UUID guid);
 
+    @Query("SELECT * FROM satellite WHERE guid = ANY(:guids)")
+    Flux<Satellite> findAllByGuidAny(UUID[] guids);
+
+    @Query("INSERT INTO satellite (name, date, line1, line2, created_at, updated_at) " +
+            "VALUES (:name, :date, :line1, :line2, :createdAt, :updatedAt) RETURNING *")
+    Mono<Satellite> insertReturning(String name, OffsetDateTime date, String line1, String line2, OffsetDateTime createdAt, OffsetDateTime updatedAt);
+
+    @Query("UPDATE satellite SET name = :name, date = :date, line1 = :line1, line2 = :line2, updated_at = :updatedAt " +
+            "WHERE guid = :guid RETURNING *")
+    Mono<Satellite> updateByGuidReturning(UUID guid, String name, OffsetDateTime date, String line1, String line2, OffsetDateTime updatedAt);
+
+    @Query("DELETE FROM satellite WHERE guid = :guid RETURNING id")
+    Mono<Integer> deleteByGuidReturningId(UUID guid);
+
 }
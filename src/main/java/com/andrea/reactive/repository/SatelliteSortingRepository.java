@@ -6,9 +6,17 @@ import org.springframework.data.repository.reactive.ReactiveSortingRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface SatelliteSortingRepository extends ReactiveSortingRepository<Satellite, Integer> {
+public interface SatelliteSortingRepository extends ReactiveSortingRepository<Satellite, Integer>, SatelliteKeysetRepository {
 
+    /**
+     * Derived as {@code UPPER(name) LIKE UPPER('%' || ? || '%')}, which is served by the
+     * idx_satellite_name_upper_trgm trigram index. Keep the IgnoreCase form: an ILIKE or LOWER() rewrite
+     * would no longer match the indexed expression.
+     */
     Flux<Satellite> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
+    /**
+     * Same predicate as {@link #findByNameContainingIgnoreCase(String, Pageable)}, so it uses the same trigram index.
+     */
     Mono<Long> countByNameContainingIgnoreCase(String name);
 }
@@ -0,0 +1,27 @@
+package com.andrea.reactive.repository;
+
+import com.andrea.reactive.entity.SyncCheckpoint;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+public interface SyncCheckpointRepository extends ReactiveCrudRepository<SyncCheckpoint, String> {
+
+    @Modifying
+    @Query("INSERT INTO sync_checkpoint (sync_key, page_size, last_page, completed, updated_at) " +
+            "VALUES (:syncKey, :pageSize, :lastPage, :completed, now()) " +
+            "ON CONFLICT (sync_key) DO UPDATE SET page_size = EXCLUDED.page_size, last_page = EXCLUDED.last_page, " +
+            "completed = EXCLUDED.completed, updated_at = EXCLUDED.updated_at")
+    Mono<Integer> upsert(String syncKey, int pageSize, int lastPage, boolean completed);
+
+    @Modifying
+    @Query("INSERT INTO sync_checkpoint (sync_key, page_size, last_page, completed, watermark, updated_at) " +
+            "VALUES (:syncKey, :pageSize, 0, true, :watermark, now()) " +
+            "ON CONFLICT (sync_key) DO UPDATE SET watermark = GREATEST(sync_checkpoint.watermark, EXCLUDED.watermark), " +
+            "updated_at = EXCLUDED.updated_at")
+    Mono<Integer> upsertWatermark(String syncKey, int pageSize, OffsetDateTime watermark);
+
+}
@@ -0,0 +1,259 @@
+package com.andrea.reactive.service;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.entity.Satellite;
+import com.andrea.reactive.orbit.ElementColumn;
+import com.andrea.reactive.orbit.ElementColumns;
+import com.andrea.reactive.orbit.ElementRange;
+import com.andrea.reactive.orbit.TleElements;
+import com.andrea.reactive.orbit.TleParser;
+import com.andrea.reactive.repository.SatelliteRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory columnar snapshot of the parsed orbital elements of the catalogue, for range filters and sorts that
+ * would otherwise read every row from the database. The snapshot is loaded from the table on the first query and
+ * then kept current by the write paths, which report the satellites they changed. Rows written behind the service's
+ * back are picked up by a full reload, started in the background by the first query once the snapshot is older than
+ * {@code satellite.snapshot.reload-interval}; queries keep reading the current snapshot until the reloaded one
+ * replaces it. Satellites without a valid TLE are not part of the snapshot.
+ */
+@Service
+@Slf4j
+public class CatalogueSnapshotService {
+
+    private enum State { EMPTY, LOADING, LOADED }
+
+    public record QueryResult(int matched, int snapshotSize, List<UUID> guids) {}
+
+    private final SatelliteRepository satelliteRepository;
+    private final Duration reloadInterval;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private ElementColumns columns = new ElementColumns();
+    private final TleElements elements = new TleElements();
+    private final Set<UUID> changedWhileLoading = new HashSet<>();
+    private State state = State.EMPTY;
+    private boolean loading;
+    // Guarded by this
+    private Mono<Void> load;
+    private boolean reloading;
+    private long loadedAt;
+    private long generation;
+
+    @Value("${satellite.export.fetch-size:500}")
+    private int fetchSize;
+
+    public CatalogueSnapshotService(SatelliteRepository satelliteRepository, MeterRegistry meterRegistry,
+                                    @Value("${satellite.snapshot.reload-interval:PT10M}") Duration reloadInterval) {
+        this.satelliteRepository = satelliteRepository;
+        this.reloadInterval = reloadInterval;
+        Gauge.builder(SatelliteConstants.SNAPSHOT_METRIC_PREFIX + ".size", this, snapshot -> snapshot.read(() -> snapshot.columns.size()))
+                .description("Satellites held in the columnar snapshot")
+                .register(meterRegistry);
+        Gauge.builder(SatelliteConstants.SNAPSHOT_METRIC_PREFIX + ".memory", this, snapshot -> snapshot.read(() -> snapshot.columns.memoryBytes()))
+                .description("Estimated heap used by the columnar snapshot")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the filters over the snapshot, loading it first if needed, and returns the guids of the first
+     * {@code limit} matches in {@code sort} order together with the total number of matches.
+     */
+    public Mono<QueryResult> query(List<ElementRange> ranges, ElementColumn sort, boolean descending, int limit) {
+        return ensureLoaded().then(Mono.fromSupplier(() -> read(() -> {
+            int[] selection = new int[columns.size()];
+            int matched = columns.select(ranges, selection);
+            int[] rows = columns.top(selection, matched, sort, descending, limit);
+            List<UUID> guids = new ArrayList<>(rows.length);
+            for (int row : rows) guids.add(columns.guid(row));
+            return new QueryResult(matched, columns.size(), guids);
+        })));
+    }
+
+    /**
+     * Applies a row the caller has just written and read back.
+     */
+    public void apply(Satellite satellite) {
+        write(() -> {
+            if (loading) changedWhileLoading.add(satellite.getGuid());
+            if (state == State.LOADED) applyRow(columns, elements, satellite);
+            return null;
+        });
+    }
+
+    public void remove(UUID guid) {
+        write(() -> {
+            if (loading) changedWhileLoading.add(guid);
+            if (state == State.LOADED) columns.remove(guid);
+            return null;
+        });
+    }
+
+    /**
+     * Drops the snapshot, so the next query loads it again from the table.
+     */
+    public synchronized void invalidate() {
+        resetLoad();
+    }
+
+    /**
+     * Re-reads the given satellites, for write paths that only know which guids they touched.
+     * Nothing is read while the snapshot has not been loaded, since the load will see the new rows anyway.
+     */
+    public Mono<Void> refresh(Collection<UUID> guids) {
+
+        if (guids.isEmpty()) return Mono.empty();
+
+        return Mono.defer(() -> {
+            boolean loaded = write(() -> {
+                if (loading) changedWhileLoading.addAll(guids);
+                return state == State.LOADED;
+            });
+            if (!loaded) return Mono.empty();
+
+            return satelliteRepository.findAllByGuidAny(guids.toArray(UUID[]::new))
+                    .collectList()
+                    .doOnNext(satellites -> write(() -> {
+                        Set<UUID> missing = new HashSet<>(guids);
+                        for (Satellite satellite : satellites) {
+                            missing.remove(satellite.getGuid());
+                            applyRow(columns, elements, satellite);
+                        }
+                        missing.forEach(columns::remove);
+                        return null;
+                    }))
+                    .then();
+        });
+    }
+
+    private synchronized Mono<Void> ensureLoaded() {
+        if (load == null) {
+            load = loadAll(generation)
+                    .doOnError(e -> {
+                        log.error("Failed to load the catalogue snapshot", e);
+                        invalidate();
+                    })
+                    .cache();
+        } else if (!reloading && System.nanoTime() - loadedAt >= reloadInterval.toNanos() && read(() -> state == State.LOADED)) {
+            reloading = true;
+            long reloaded = generation;
+            loadAll(reloaded)
+                    .doFinally(signal -> reloadDone(reloaded))
+                    .subscribe(null, e -> log.error("Failed to reload the catalogue snapshot", e));
+        }
+        return load;
+    }
+
+    private synchronized void reloadDone(long reloaded) {
+        if (reloaded != generation) return;
+        reloading = false;
+        write(() -> {
+            // Nothing left to read again when the reload failed: the current snapshot has applied every change
+            loading = false;
+            changedWhileLoading.clear();
+            return null;
+        });
+    }
+
+    private void resetLoad() {
+        load = null;
+        reloading = false;
+        generation++;
+        write(() -> {
+            columns = new ElementColumns();
+            changedWhileLoading.clear();
+            loading = false;
+            state = State.EMPTY;
+            return null;
+        });
+    }
+
+    /**
+     * Reads the whole table into new columns, which replace the current ones once complete; a load started before
+     * the snapshot was invalidated is dropped instead.
+     */
+    private Mono<Void> loadAll(long loadGeneration) {
+        return Mono.defer(() -> {
+            log.info("Start method - loadAll");
+
+            synchronized (this) {
+                loadedAt = System.nanoTime();
+            }
+            write(() -> {
+                changedWhileLoading.clear();
+                loading = true;
+                if (state == State.EMPTY) state = State.LOADING;
+                return null;
+            });
+
+            // Only this load touches the new columns until they are swapped in under the lock
+            ElementColumns loaded = new ElementColumns();
+            TleElements parsed = new TleElements();
+            return satelliteRepository.streamAll(null, null, null, Math.max(1, fetchSize))
+                    .buffer(SatelliteConstants.SNAPSHOT_LOAD_BATCH_SIZE)
+                    .doOnNext(batch -> batch.forEach(satellite -> applyRow(loaded, parsed, satellite)))
+                    .then(Mono.defer(() -> {
+                        // Rows written while the cursor was open may have been read before the change: read them again
+                        List<UUID> changed;
+                        synchronized (this) {
+                            if (loadGeneration != generation) return Mono.empty();
+                            changed = write(() -> {
+                                columns = loaded;
+                                state = State.LOADED;
+                                loading = false;
+                                List<UUID> guids = new ArrayList<>(changedWhileLoading);
+                                changedWhileLoading.clear();
+                                return guids;
+                            });
+                        }
+                        return refresh(changed);
+                    }))
+                    .doOnSuccess(done -> log.info("End method - loadAll - size: {}", read(() -> columns.size())));
+        });
+    }
+
+    private static void applyRow(ElementColumns columns, TleElements elements, Satellite satellite) {
+        if (satellite.getLine1() != null && satellite.getLine2() != null && TleParser.parse(satellite.getLine1(), satellite.getLine2(), elements))
+            columns.upsert(satellite.getGuid(), elements);
+        else
+            columns.remove(satellite.getGuid());
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+}
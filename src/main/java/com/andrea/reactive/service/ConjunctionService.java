@@ -0,0 +1,280 @@
+package com.andrea.reactive.service;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.dto.SatelliteDto;
+import com.andrea.reactive.dto.enumerator.JobStatus;
+import com.andrea.reactive.dto.request.ConjunctionScreeningRequest;
+import com.andrea.reactive.dto.response.BatchSatelliteResult;
+import com.andrea.reactive.dto.response.ConjunctionJobResponse;
+import com.andrea.reactive.dto.response.ConjunctionResponse;
+import com.andrea.reactive.exception.JobNotFoundException;
+import com.andrea.reactive.exception.TooManyJobsException;
+import com.andrea.reactive.exception.ValidationException;
+import com.andrea.reactive.orbit.Conjunction;
+import com.andrea.reactive.orbit.ConjunctionScreener;
+import com.andrea.reactive.orbit.Sgp4Propagator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conjunction screening of the catalogue as asynchronous jobs. A submitted job runs its time steps in parallel on the
+ * propagation scheduler, and callers poll it for progress and results. Only a few jobs run at once, since they share
+ * the scheduler with every other propagation; a finished job is kept in memory until it expires, while a running one
+ * is never evicted.
+ */
+@Service
+@Slf4j
+public class ConjunctionService {
+
+    private final PropagationService propagationService;
+    private final Scheduler propagationScheduler;
+    private final Cache<UUID, Job> jobs;
+    private final int maxRunningJobs;
+    private final AtomicInteger runningJobs = new AtomicInteger();
+
+    @Value("${satellite.conjunction.step:PT1M}")
+    private Duration step;
+
+    public ConjunctionService(PropagationService propagationService, Scheduler propagationScheduler,
+                              @Value("${satellite.conjunction.job-ttl:PT1H}") Duration jobTtl,
+                              @Value("${satellite.conjunction.max-jobs:100}") long maxJobs,
+                              @Value("${satellite.conjunction.max-running-jobs:2}") int maxRunningJobs) {
+        this.propagationService = propagationService;
+        this.propagationScheduler = propagationScheduler;
+        this.maxRunningJobs = maxRunningJobs;
+        // Unfinished jobs weigh nothing and never expire; they are put again when they finish, which starts their TTL
+        this.jobs = Caffeine.newBuilder()
+                .maximumWeight(maxJobs)
+                .<UUID, Job>weigher((id, job) -> job.isFinished() ? 1 : 0)
+                .expireAfter(new JobExpiry(jobTtl))
+                .removalListener((UUID id, Job job, RemovalCause cause) -> {
+                    if (job != null && cause != RemovalCause.REPLACED) job.dispose();
+                })
+                .build();
+    }
+
+    public Mono<ConjunctionJobResponse> submit(ConjunctionScreeningRequest request) {
+
+        log.info("Start method - submit - from: {} - to: {} - distance: {}", request.getFrom(), request.getTo(), request.getDistance());
+
+        if (!request.getTo().isAfter(request.getFrom()))
+            return Mono.error(new ValidationException("'to' must be after 'from'"));
+        if (Duration.between(request.getFrom(), request.getTo()).compareTo(Duration.ofDays(SatelliteConstants.CONJUNCTION_MAX_WINDOW_DAYS)) > 0)
+            return Mono.error(new ValidationException("The window must not exceed " + SatelliteConstants.CONJUNCTION_MAX_WINDOW_DAYS + " days"));
+
+        if (runningJobs.incrementAndGet() > maxRunningJobs) {
+            runningJobs.decrementAndGet();
+            return Mono.error(new TooManyJobsException("Already running " + maxRunningJobs + " conjunction jobs, retry later"));
+        }
+
+        Job job = new Job(UUID.randomUUID(), request);
+        jobs.put(job.id, job);
+
+        job.disposable = run(job)
+                .doFinally(signal -> {
+                    runningJobs.decrementAndGet();
+                    // Weighs and expires the job again now that it is finished, unless it was removed meanwhile
+                    jobs.asMap().replace(job.id, job);
+                })
+                .subscribe(
+                        null,
+                        e -> log.error("Conjunction job {} failed", job.id, e),
+                        () -> log.info("Conjunction job {} completed - conjunctions: {}", job.id, job.conjunctions.size()));
+
+        log.info("End method - submit - job: {}", job.id);
+        return Mono.just(toResponse(job));
+    }
+
+    public Mono<ConjunctionJobResponse> getJob(UUID id) {
+        Job job = jobs.getIfPresent(id);
+        if (job == null) return Mono.error(new JobNotFoundException("Conjunction job " + id + " not found"));
+        return Mono.just(toResponse(job));
+    }
+
+    private Mono<Void> run(Job job) {
+
+        ConjunctionScreeningRequest request = job.request;
+
+        return propagationService.getSatellites(request.getGuids())
+                .filter(BatchSatelliteResult::isFound)
+                .map(BatchSatelliteResult::getSatellite)
+                .collectList()
+                .publishOn(propagationScheduler)
+                .flatMap(found -> {
+                    List<SatelliteDto> satellites = new ArrayList<>(found.size());
+                    List<Sgp4Propagator> propagators = new ArrayList<>(found.size());
+                    for (SatelliteDto satellite : found) {
+                        Sgp4Propagator propagator = propagationService.getPropagator(satellite);
+                        if (propagator == null) continue;
+                        satellites.add(satellite);
+                        propagators.add(propagator);
+                    }
+
+                    ConjunctionScreener screener = new ConjunctionScreener(propagators,
+                            toEpochMicros(request.getFrom()), toEpochMicros(request.getTo()),
+                            Math.max(1, step.toNanos() / 1_000), request.getDistance());
+                    job.start(satellites.size(), screener.steps());
+
+                    return Flux.range(0, screener.steps())
+                            .parallel(propagationService.getParallelism())
+                            .runOn(propagationScheduler)
+                            .map(index -> {
+                                List<Conjunction> conjunctions = screener.screenStep(index);
+                                job.stepsDone.incrementAndGet();
+                                return conjunctions;
+                            })
+                            .sequential()
+                            .flatMapIterable(conjunctions -> conjunctions)
+                            .collectList()
+                            .map(conjunctions -> toResponses(conjunctions, satellites, job));
+                })
+                .doOnNext(job::complete)
+                .doOnError(job::fail)
+                .then();
+    }
+
+    private static List<ConjunctionResponse> toResponses(List<Conjunction> conjunctions, List<SatelliteDto> satellites, Job job) {
+
+        if (conjunctions.size() > SatelliteConstants.CONJUNCTION_MAX_RESULTS) {
+            conjunctions.sort(Comparator.comparingDouble(Conjunction::missDistance));
+            conjunctions = conjunctions.subList(0, SatelliteConstants.CONJUNCTION_MAX_RESULTS);
+            job.truncated = true;
+        }
+        conjunctions.sort(Comparator.comparingLong(Conjunction::tcaMicros));
+
+        List<ConjunctionResponse> responses = new ArrayList<>(conjunctions.size());
+        for (Conjunction conjunction : conjunctions) {
+            SatelliteDto primary = satellites.get(conjunction.primary());
+            SatelliteDto secondary = satellites.get(conjunction.secondary());
+            responses.add(ConjunctionResponse.builder()
+                    .primaryGuid(primary.getGuid())
+                    .primaryName(primary.getName())
+                    .secondaryGuid(secondary.getGuid())
+                    .secondaryName(secondary.getName())
+                    .tca(Instant.EPOCH.plus(conjunction.tcaMicros(), ChronoUnit.MICROS).atOffset(ZoneOffset.UTC))
+                    .missDistance(conjunction.missDistance())
+                    .relativeSpeed(conjunction.relativeSpeed())
+                    .build());
+        }
+        return responses;
+    }
+
+    private static ConjunctionJobResponse toResponse(Job job) {
+        JobStatus status = job.status;
+        return ConjunctionJobResponse.builder()
+                .id(job.id)
+                .status(status)
+                .from(job.request.getFrom())
+                .to(job.request.getTo())
+                .distance(job.request.getDistance())
+                .satellites(status == JobStatus.PENDING ? null : job.satellites)
+                .stepsDone(status == JobStatus.PENDING ? null : job.stepsDone.get())
+                .stepsTotal(status == JobStatus.PENDING ? null : job.stepsTotal)
+                .createdAt(job.createdAt)
+                .completedAt(job.completedAt)
+                .error(job.error)
+                .truncated(status == JobStatus.COMPLETED ? job.truncated : null)
+                .conjunctions(status == JobStatus.COMPLETED ? job.conjunctions : null)
+                .build();
+    }
+
+    private static long toEpochMicros(OffsetDateTime at) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, at.toInstant());
+    }
+
+    /**
+     * Keeps unfinished jobs for good and finished ones for the TTL since they finished.
+     */
+    private record JobExpiry(Duration ttl) implements Expiry<UUID, Job> {
+
+        @Override
+        public long expireAfterCreate(UUID id, Job job, long currentTime) {
+            return job.isFinished() ? ttl.toNanos() : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID id, Job job, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, job, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID id, Job job, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+    /**
+     * State of one job, written by the job pipeline and read by pollers. The status is written last,
+     * so a poller that sees a status also sees the fields it publishes.
+     */
+    private static final class Job {
+
+        private final UUID id;
+        private final ConjunctionScreeningRequest request;
+        private final OffsetDateTime createdAt = OffsetDateTime.now(ZoneOffset.UTC);
+        private final AtomicInteger stepsDone = new AtomicInteger();
+        private int satellites;
+        private int stepsTotal;
+        private boolean truncated;
+        private List<ConjunctionResponse> conjunctions = List.of();
+        private OffsetDateTime completedAt;
+        private String error;
+        private volatile JobStatus status = JobStatus.PENDING;
+        private volatile Disposable disposable;
+
+        Job(UUID id, ConjunctionScreeningRequest request) {
+            this.id = id;
+            this.request = request;
+        }
+
+        void start(int satellites, int stepsTotal) {
+            this.satellites = satellites;
+            this.stepsTotal = stepsTotal;
+            this.status = JobStatus.RUNNING;
+        }
+
+        void complete(List<ConjunctionResponse> conjunctions) {
+            this.conjunctions = conjunctions;
+            this.completedAt = OffsetDateTime.now(ZoneOffset.UTC);
+            this.status = JobStatus.COMPLETED;
+        }
+
+        void fail(Throwable e) {
+            this.error = e.getMessage();
+            this.completedAt = OffsetDateTime.now(ZoneOffset.UTC);
+            this.status = JobStatus.FAILED;
+        }
+
+        boolean isFinished() {
+            return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+        }
+
+        void dispose() {
+            Disposable running = disposable;
+            if (running != null) running.dispose();
+        }
+
+    }
+
+}
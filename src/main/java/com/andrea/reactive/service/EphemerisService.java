@@ -0,0 +1,100 @@
+package com.andrea.reactive.service;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.orbit.Ephemeris;
+import com.andrea.reactive.orbit.Sgp4Propagator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cache of precomputed ephemeris segments, so repeated position queries of the same satellites at nearby instants
+ * interpolate instead of running SGP4 again. A segment is built on the first query that falls in it, and segments are
+ * weighed by their size against a memory budget, the least valuable being evicted first. The write paths drop the
+ * segments of the satellites whose TLE they changed; a segment built from an older TLE is also rebuilt on lookup.
+ * Hits, misses and evictions are published as cache.* metrics under the satellites.ephemeris name, together with
+ * the time spent building segments and the memory they hold.
+ */
+@Service
+@Slf4j
+public class EphemerisService {
+
+    // Key record, entry and map node on top of the segment itself
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private record Key(UUID guid, long segment) {}
+
+    private final Cache<Key, Ephemeris> ephemerides;
+    private final Timer buildTimer;
+
+    @Value("${satellite.ephemeris.enabled:true}")
+    private boolean enabled;
+
+    public EphemerisService(@Value("${satellite.ephemeris.max-memory:64MB}") DataSize maxMemory, MeterRegistry meterRegistry) {
+        this.ephemerides = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((Key key, Ephemeris ephemeris) -> (int) ephemeris.memoryBytes() + ENTRY_OVERHEAD_BYTES)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, ephemerides, SatelliteConstants.EPHEMERIS_CACHE_NAME);
+        this.buildTimer = Timer.builder(SatelliteConstants.EPHEMERIS_CACHE_NAME + ".build")
+                .description("Time spent building ephemeris segments")
+                .register(meterRegistry);
+        Gauge.builder(SatelliteConstants.EPHEMERIS_CACHE_NAME + ".memory", ephemerides,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Estimated heap used by the cached ephemeris segments")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes the state of the satellite at {@code atMicros} into {@code state} starting at {@code offset}, with the
+     * same layout and result codes as {@link Sgp4Propagator#propagate}.
+     */
+    public int propagate(UUID guid, Sgp4Propagator propagator, long atMicros, double[] state, int offset) {
+
+        if (!enabled) return propagator.propagate(propagator.minutesSinceEpoch(atMicros), state, offset);
+
+        long step = Ephemeris.stepMicros(propagator);
+        Key key = new Key(guid, Ephemeris.segment(step, atMicros));
+        Ephemeris ephemeris = ephemerides.get(key, missing -> build(propagator, step, missing.segment()));
+
+        Sgp4Propagator cached = ephemeris.getPropagator();
+        if (cached != propagator && !(cached.getLine1().equals(propagator.getLine1()) && cached.getLine2().equals(propagator.getLine2()))) {
+            ephemeris = build(propagator, step, key.segment());
+            ephemerides.put(key, ephemeris);
+        }
+        return ephemeris.propagate(atMicros, state, offset);
+    }
+
+    public void invalidate(UUID guid) {
+        invalidate(Set.of(guid));
+    }
+
+    /**
+     * Drops every cached segment of the given satellites, in one pass over the cache.
+     */
+    public void invalidate(Collection<UUID> guids) {
+        if (guids.isEmpty()) return;
+        Set<UUID> changed = guids instanceof Set<UUID> set ? set : new HashSet<>(guids);
+        ephemerides.asMap().keySet().removeIf(key -> changed.contains(key.guid()));
+    }
+
+    private Ephemeris build(Sgp4Propagator propagator, long step, long segment) {
+        return buildTimer.record(() -> Ephemeris.build(propagator, step, segment));
+    }
+
+}
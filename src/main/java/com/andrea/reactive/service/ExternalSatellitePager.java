@@ -0,0 +1,100 @@
+package com.andrea.reactive.service;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.dto.response.externalApi.ExternalSatelliteApiResponse;
+import com.andrea.reactive.dto.response.externalApi.ExternalSatellitePage;
+import com.andrea.reactive.utils.RetryUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@Slf4j
+public class ExternalSatellitePager {
+
+    private final HttpService<ExternalSatelliteApiResponse> httpService;
+
+    @Value("${satellite.api.url:https://tle.ivanstanojevic.me/api/tle/}")
+    private String urlApi;
+
+    @Value("${satellite.fetch.max-concurrency:4}")
+    private int maxConcurrency;
+
+    public ExternalSatellitePager(HttpService<ExternalSatelliteApiResponse> httpService) {
+        this.httpService = httpService;
+    }
+
+    /**
+     * Streams the pages needed to cover {@code size} items, starting at {@code startPage}. The first page is used
+     * to learn {@code totalItems} and whether a next page exists; the following pages are requested lazily as
+     * downstream demand arrives, with at most {@code satellite.fetch.max-concurrency} requests in flight, until
+     * the expected count is reached or a page comes back without a {@code view.next} link.
+     * The last page is truncated so that no more than {@code size} items are emitted overall.
+     * {@code extraQueryParams} (e.g. sorting) are sent along with every page request.
+     */
+    public Flux<ExternalSatellitePage> pages(int size, int pageSize, int startPage, Map<String, String> extraQueryParams) {
+
+        return fetchPage(startPage, pageSize, extraQueryParams)
+                .flatMapMany(firstPage -> {
+                    int available = firstPage.getTotalItems() > 0 ? Math.min(size, firstPage.getTotalItems()) : size;
+                    int lastPage = (int) Math.ceil((double) available / pageSize);
+
+                    Flux<ExternalSatelliteApiResponse> nextPages = startPage >= lastPage || !hasNext(firstPage)
+                            ? Flux.empty()
+                            : Flux.range(startPage + 1, lastPage - startPage)
+                                .flatMapSequential(page -> fetchPage(page, pageSize, extraQueryParams), getMaxConcurrency(), 1)
+                                .takeUntil(page -> !hasNext(page));
+
+                    return Flux.just(firstPage).concatWith(nextPages)
+                            .index((index, page) -> new ExternalSatellitePage(startPage + index.intValue(),
+                                    truncate(page.getMember(), available - (startPage + index.intValue() - 1) * pageSize)))
+                            .takeWhile(page -> !page.getMembers().isEmpty());
+                });
+    }
+
+    private Mono<ExternalSatelliteApiResponse> fetchPage(int page, int pageSize, Map<String, String> extraQueryParams) {
+
+        Map<String, String> queryParams = new HashMap<>(extraQueryParams);
+        queryParams.put(SatelliteConstants.EXTERNAL_API_PAGE_PARAMETER_NAME, String.valueOf(page));
+        queryParams.put(SatelliteConstants.EXTERNAL_API_PAGE_SIZE_PARAMETER_NAME, String.valueOf(pageSize));
+
+        // Retries are scoped to this page: a throttled page is re-requested on its own, without replaying the others
+        return httpService.getMany(urlApi, ExternalSatelliteApiResponse.class, Optional.of(queryParams))
+                .retryWhen(getPageRetry())
+                .map(response -> {
+                    if (response.getMember() == null) response.setMember(List.of());
+                    return response;
+                });
+    }
+
+    private Retry getPageRetry() {
+        return RetryUtil.externalApiRetry(SatelliteConstants.BACKOFF_MAX_ATTEMPTS,
+                Duration.ofSeconds(SatelliteConstants.BACKOFF_DURATION),
+                Duration.ofSeconds(SatelliteConstants.BACKOFF_MAX_DURATION),
+                SatelliteConstants.BACKOFF_JITTER,
+                Duration.ofSeconds(SatelliteConstants.BACKOFF_MAX_RETRY_AFTER));
+    }
+
+    private boolean hasNext(ExternalSatelliteApiResponse page) {
+        return !page.getMember().isEmpty() && page.getView() != null && page.getView().getNext() != null;
+    }
+
+    private static <T> List<T> truncate(List<T> members, int limit) {
+        if (limit <= 0) return List.of();
+        return members.size() > limit ? members.subList(0, limit) : members;
+    }
+
+    private int getMaxConcurrency() {
+        return Math.max(1, maxConcurrency);
+    }
+
+}
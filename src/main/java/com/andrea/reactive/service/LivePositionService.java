@@ -0,0 +1,214 @@
+package com.andrea.reactive.service;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.dto.SatelliteDto;
+import com.andrea.reactive.dto.response.BatchSatelliteResult;
+import com.andrea.reactive.dto.response.LivePositionsResponse;
+import com.andrea.reactive.dto.response.SatellitePositionResponse;
+import com.andrea.reactive.exception.ValidationException;
+import com.andrea.reactive.orbit.Sgp4Propagator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Live positions of followed satellites, pushed at a fixed interval. All subscribers asking for the same interval
+ * share one ticker, which propagates the union of the satellites they follow once per tick and multicasts the result;
+ * each subscriber then picks its own satellites out of the tick. A subscriber that cannot keep up only ever gets the
+ * latest tick, so slow clients never hold back the ticker nor the other subscribers. Tickers start with their first
+ * subscriber and stop with their last one.
+ * <p>
+ * Satellites are looked up once when first followed and then every {@code satellite.live.refresh}, through the
+ * satellite cache, to pick up TLE changes without reading the table on every tick. The number of subscribers and of
+ * distinct satellites propagated are published as satellites.live.* metrics.
+ */
+@Service
+@Slf4j
+public class LivePositionService {
+
+    private record Target(SatelliteDto satellite, Sgp4Propagator propagator) {}
+
+    private record Tick(OffsetDateTime at, Map<UUID, SatellitePositionResponse> positions) {}
+
+    private final PropagationService propagationService;
+    private final EphemerisService ephemerisService;
+    private final Scheduler propagationScheduler;
+
+    // Guarded by this
+    private final Map<Duration, Ticker> tickers = new HashMap<>();
+
+    @Value("${satellite.live.refresh:PT1M}")
+    private Duration refresh;
+
+    public LivePositionService(PropagationService propagationService, EphemerisService ephemerisService, Scheduler propagationScheduler, MeterRegistry meterRegistry) {
+        this.propagationService = propagationService;
+        this.ephemerisService = ephemerisService;
+        this.propagationScheduler = propagationScheduler;
+        Gauge.builder(SatelliteConstants.LIVE_METRIC_PREFIX + ".subscribers", this, service -> service.count(ticker -> ticker.subscribers))
+                .description("Clients following live positions")
+                .register(meterRegistry);
+        Gauge.builder(SatelliteConstants.LIVE_METRIC_PREFIX + ".satellites", this, service -> service.count(ticker -> ticker.interest.size()))
+                .description("Satellites propagated on every tick, summed over the tickers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Streams the positions of {@code guids} every {@code interval}, one element per tick, until the subscriber
+     * cancels. Unknown satellites or satellites without a valid TLE come back with an error.
+     */
+    public Flux<LivePositionsResponse> follow(List<UUID> guids, Duration interval) {
+
+        log.info("Start method - follow - size: {} - interval: {}", guids.size(), interval);
+
+        if (interval.compareTo(Duration.ofMillis(SatelliteConstants.LIVE_MIN_INTERVAL_MILLIS)) < 0
+                || interval.compareTo(Duration.ofSeconds(SatelliteConstants.LIVE_MAX_INTERVAL_SECONDS)) > 0)
+            return Flux.error(new ValidationException("The interval must be between " + SatelliteConstants.LIVE_MIN_INTERVAL_MILLIS
+                    + " ms and " + SatelliteConstants.LIVE_MAX_INTERVAL_SECONDS + " s"));
+
+        Set<UUID> followed = new LinkedHashSet<>(guids);
+
+        return Flux.defer(() -> {
+            Ticker ticker = join(interval, followed);
+            return ticker.sink.asFlux()
+                    .onBackpressureLatest()
+                    .map(tick -> select(tick, followed))
+                    .doFinally(signal -> {
+                        leave(ticker, followed);
+                        log.info("End method - follow - size: {} - interval: {} - signal: {}", followed.size(), interval, signal);
+                    });
+        });
+    }
+
+    private synchronized Ticker join(Duration interval, Set<UUID> followed) {
+        Ticker ticker = tickers.computeIfAbsent(interval, Ticker::new);
+        ticker.subscribers++;
+        List<UUID> added = new ArrayList<>();
+        for (UUID guid : followed) {
+            if (ticker.interest.merge(guid, 1, Integer::sum) == 1) added.add(guid);
+        }
+        ticker.resolve(added);
+        return ticker;
+    }
+
+    private synchronized void leave(Ticker ticker, Set<UUID> followed) {
+        for (UUID guid : followed) {
+            if (ticker.interest.merge(guid, -1, Integer::sum) == 0) {
+                ticker.interest.remove(guid);
+                ticker.targets.remove(guid);
+            }
+        }
+        if (--ticker.subscribers == 0) {
+            ticker.ticks.dispose();
+            tickers.remove(ticker.interval);
+        }
+    }
+
+    private synchronized int count(ToIntFunction<Ticker> counter) {
+        return tickers.values().stream().mapToInt(counter).sum();
+    }
+
+    private static LivePositionsResponse select(Tick tick, Set<UUID> followed) {
+        List<SatellitePositionResponse> positions = new ArrayList<>(followed.size());
+        for (UUID guid : followed) {
+            SatellitePositionResponse position = tick.positions.get(guid);
+            if (position != null) positions.add(position);
+        }
+        return LivePositionsResponse.builder().at(tick.at).positions(positions).build();
+    }
+
+    /**
+     * One interval's shared tick: the satellites followed at that interval, counted by subscription, and the sink
+     * every tick is multicast to. Interest and subscriber counts are guarded by the service; targets are also read
+     * by the tick.
+     */
+    private final class Ticker {
+
+        private final Duration interval;
+        private final Sinks.Many<Tick> sink = Sinks.many().multicast().directBestEffort();
+        private final Map<UUID, Integer> interest = new HashMap<>();
+        private final Map<UUID, Target> targets = new ConcurrentHashMap<>();
+        private final Disposable ticks;
+        private int subscribers;
+        private long lastRefresh = System.nanoTime();
+
+        Ticker(Duration interval) {
+            this.interval = interval;
+            this.ticks = Flux.interval(interval, interval, propagationScheduler).subscribe(ignored -> tick());
+        }
+
+        private void tick() {
+            try {
+                if (System.nanoTime() - lastRefresh >= refresh.toNanos()) {
+                    lastRefresh = System.nanoTime();
+                    synchronized (LivePositionService.this) {
+                        resolve(interest.keySet());
+                    }
+                }
+
+                OffsetDateTime at = OffsetDateTime.now(ZoneOffset.UTC);
+                long atMicros = ChronoUnit.MICROS.between(Instant.EPOCH, at.toInstant());
+                double[] state = new double[Sgp4Propagator.STATE_SIZE];
+                Map<UUID, SatellitePositionResponse> positions = new HashMap<>(targets.size() * 2);
+                targets.forEach((guid, target) -> positions.put(guid, propagate(guid, target, at, atMicros, state)));
+                sink.tryEmitNext(new Tick(at, positions));
+            } catch (RuntimeException e) {
+                log.error("Live position tick failed - interval: {}", interval, e);
+            }
+        }
+
+        private SatellitePositionResponse propagate(UUID guid, Target target, OffsetDateTime at, long atMicros, double[] state) {
+            if (target.satellite == null)
+                return SatellitePositionResponse.builder().guid(guid).at(at).error("satellite not found").build();
+            int result = target.propagator == null
+                    ? PropagationService.NOT_PROPAGATABLE
+                    : ephemerisService.propagate(guid, target.propagator, atMicros, state, 0);
+            return PropagationService.toResponse(guid, target.satellite.getName(), at, state, 0, result);
+        }
+
+        /**
+         * Looks the satellites up in the background and updates their targets, unless they were dropped meanwhile.
+         */
+        private void resolve(Collection<UUID> guids) {
+            if (guids.isEmpty()) return;
+            propagationService.getSatellites(new ArrayList<>(guids))
+                    .map(result -> Map.entry(result.getGuid(), toTarget(result)))
+                    .collectList()
+                    .subscribe(resolved -> {
+                        synchronized (LivePositionService.this) {
+                            resolved.forEach(entry -> {
+                                if (interest.containsKey(entry.getKey())) targets.put(entry.getKey(), entry.getValue());
+                            });
+                        }
+                    }, e -> log.warn("Failed to look up live satellites - interval: {}", interval, e));
+        }
+
+        private Target toTarget(BatchSatelliteResult result) {
+            if (!result.isFound()) return new Target(null, null);
+            return new Target(result.getSatellite(), propagationService.getPropagator(result.getSatellite()));
+        }
+
+    }
+
+}
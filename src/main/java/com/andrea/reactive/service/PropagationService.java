@@ -0,0 +1,421 @@
+package com.andrea.reactive.service;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.dto.SatelliteDto;
+import com.andrea.reactive.dto.request.GroundTracksRequest;
+import com.andrea.reactive.dto.request.SatellitePassesRequest;
+import com.andrea.reactive.dto.response.BatchSatelliteResult;
+import com.andrea.reactive.dto.response.GroundTrackPointResponse;
+import com.andrea.reactive.dto.response.SatellitePassResponse;
+import com.andrea.reactive.dto.response.SatellitePositionResponse;
+import com.andrea.reactive.exception.ValidationException;
+import com.andrea.reactive.mapper.SatelliteMapper;
+import com.andrea.reactive.orbit.GroundStation;
+import com.andrea.reactive.orbit.GroundTrack;
+import com.andrea.reactive.orbit.Pass;
+import com.andrea.reactive.orbit.PassPredictor;
+import com.andrea.reactive.orbit.Sgp4Propagator;
+import com.andrea.reactive.orbit.TleElements;
+import com.andrea.reactive.orbit.TleParser;
+import com.andrea.reactive.repository.SatelliteRepository;
+import com.andrea.reactive.utils.GroundTrackEncoder;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class PropagationService {
+
+    static final int NOT_PROPAGATABLE = -1;
+
+    private final SatelliteService satelliteService;
+    private final SatelliteRepository satelliteRepository;
+    private final SatelliteMapper satelliteMapper;
+    private final Cache<UUID, Sgp4Propagator> propagatorCache;
+    private final Scheduler propagationScheduler;
+    private final EphemerisService ephemerisService;
+
+    @Value("${satellite.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${satellite.propagation.parallelism:0}")
+    private int parallelism;
+
+    @Value("${satellite.passes.coarse-step:PT1M}")
+    private Duration passesCoarseStep;
+
+    public PropagationService(SatelliteService satelliteService, SatelliteRepository satelliteRepository, SatelliteMapper satelliteMapper, Cache<UUID, Sgp4Propagator> propagatorCache, Scheduler propagationScheduler, EphemerisService ephemerisService) {
+        this.satelliteService = satelliteService;
+        this.satelliteRepository = satelliteRepository;
+        this.satelliteMapper = satelliteMapper;
+        this.propagatorCache = propagatorCache;
+        this.propagationScheduler = propagationScheduler;
+        this.ephemerisService = ephemerisService;
+    }
+
+    public Mono<SatellitePositionResponse> getPosition(UUID guid, OffsetDateTime at) {
+
+        log.info("Start method - getPosition - guid: {} - at: {}", guid, at);
+
+        return satelliteService.getSatelliteByGuid(guid)
+                .flatMap(satellite -> {
+                    Sgp4Propagator propagator = getPropagator(satellite);
+                    if (propagator == null) return Mono.error(new ValidationException("Satellite " + guid + " has no valid TLE to propagate"));
+
+                    double[] state = new double[Sgp4Propagator.STATE_SIZE];
+                    int result = ephemerisService.propagate(guid, propagator, toEpochMicros(at), state, 0);
+                    log.info("End method - getPosition - guid: {} - at: {}", guid, at);
+                    return Mono.just(toResponse(guid, satellite.getName(), at, state, 0, result));
+                });
+    }
+
+    /**
+     * Propagates many satellites, or the whole catalogue when {@code guids} is empty, to the same instant.
+     * Satellites are cut into chunks that are propagated in parallel on the dedicated propagation scheduler,
+     * each chunk writing its state vectors into one flat {@code double[]}. Results are streamed as chunks complete,
+     * so they do not follow the request order; unknown GUIDs come back with an error.
+     */
+    public Flux<SatellitePositionResponse> getPositions(List<UUID> guids, OffsetDateTime at) {
+
+        log.info("Start method - getPositions - size: {} - at: {}", guids == null ? "all" : guids.size(), at);
+
+        long atMicros = toEpochMicros(at);
+
+        return getSatellites(guids)
+                .buffer(SatelliteConstants.PROPAGATION_CHUNK_SIZE)
+                .parallel(getParallelism())
+                .runOn(propagationScheduler)
+                .map(chunk -> propagateChunk(chunk, at, atMicros))
+                .sequential()
+                .flatMapIterable(chunk -> chunk)
+                .doOnComplete(() -> log.info("End method - getPositions - at: {}", at));
+    }
+
+    /**
+     * Predicts the passes of many satellites, or of the whole catalogue when no GUID is given, over the requested
+     * ground stations. Each satellite is searched on its own on the propagation scheduler, in small chunks so the
+     * work spreads evenly across the cores, and passes are streamed as soon as a chunk is done: they are ordered
+     * by AOS within a satellite, not across satellites. Requested GUIDs that are unknown or have no valid TLE come
+     * back with an error; the rest of the catalogue without a valid TLE is skipped.
+     */
+    public Flux<SatellitePassResponse> getPasses(SatellitePassesRequest request) {
+
+        log.info("Start method - getPasses - size: {} - from: {} - to: {}", request.getGuids() == null ? "all" : request.getGuids().size(), request.getFrom(), request.getTo());
+
+        if (!request.getTo().isAfter(request.getFrom()))
+            return Flux.error(new ValidationException("'to' must be after 'from'"));
+        if (Duration.between(request.getFrom(), request.getTo()).compareTo(Duration.ofDays(SatelliteConstants.PASSES_MAX_WINDOW_DAYS)) > 0)
+            return Flux.error(new ValidationException("The window must not exceed " + SatelliteConstants.PASSES_MAX_WINDOW_DAYS + " days"));
+
+        List<GroundStation> stations = request.getStations().stream()
+                .map(station -> new GroundStation(station.getName(), station.getLatitude(), station.getLongitude(), station.getAltitude()))
+                .toList();
+        PassPredictor predictor = new PassPredictor(stations, toEpochMicros(request.getFrom()), toEpochMicros(request.getTo()),
+                Math.max(1, passesCoarseStep.toNanos() / 1_000), request.getMinElevation());
+        boolean requested = request.getGuids() != null && !request.getGuids().isEmpty();
+
+        return getSatellites(request.getGuids())
+                .buffer(SatelliteConstants.PASSES_CHUNK_SIZE)
+                .parallel(getParallelism())
+                .runOn(propagationScheduler)
+                .map(chunk -> predictChunk(chunk, predictor, stations, requested))
+                .sequential()
+                .flatMapIterable(chunk -> chunk)
+                .doOnComplete(() -> log.info("End method - getPasses - from: {} - to: {}", request.getFrom(), request.getTo()));
+    }
+
+    /**
+     * Streams the ground track of a satellite from {@code from} to {@code to} included, one sample every
+     * {@code step}. Samples are computed on the propagation scheduler a chunk at a time, only as the client asks
+     * for more, so a long window is never held in memory and a slow client simply slows the computation down.
+     */
+    public Flux<GroundTrackPointResponse> getGroundTrack(UUID guid, OffsetDateTime from, OffsetDateTime to, Duration step) {
+
+        log.info("Start method - getGroundTrack - guid: {} - from: {} - to: {} - step: {}", guid, from, to, step);
+
+        ValidationException invalid = validateGroundTrack(from, to, step);
+        if (invalid != null) return Flux.error(invalid);
+
+        return satelliteService.getSatelliteByGuid(guid)
+                .flatMapMany(satellite -> {
+                    Sgp4Propagator propagator = getPropagator(satellite);
+                    if (propagator == null) return Flux.error(new ValidationException("Satellite " + guid + " has no valid TLE to propagate"));
+                    return groundTrackPoints(guid, propagator, from, to, step);
+                })
+                // One chunk at a time: the default prefetch would compute hundreds of chunks ahead of the client
+                .flatMapIterable(chunk -> chunk, 1)
+                .doOnComplete(() -> log.info("End method - getGroundTrack - guid: {} - from: {} - to: {}", guid, from, to));
+    }
+
+    /**
+     * Same as {@link #getGroundTrack} in the compact binary encoding of {@link GroundTrackEncoder}, each chunk of
+     * samples becoming one buffer of {@code bufferFactory}.
+     */
+    public Flux<DataBuffer> getGroundTrackBinary(UUID guid, OffsetDateTime from, OffsetDateTime to, Duration step, DataBufferFactory bufferFactory) {
+
+        log.info("Start method - getGroundTrackBinary - guid: {} - from: {} - to: {} - step: {}", guid, from, to, step);
+
+        ValidationException invalid = validateGroundTrack(from, to, step);
+        if (invalid != null) return Flux.error(invalid);
+
+        return satelliteService.getSatelliteByGuid(guid)
+                .flatMapMany(satellite -> {
+                    Sgp4Propagator propagator = getPropagator(satellite);
+                    if (propagator == null) return Flux.error(new ValidationException("Satellite " + guid + " has no valid TLE to propagate"));
+                    return groundTrackRecords(0, propagator, from, to, step, bufferFactory);
+                })
+                // Buffers still queued when the client goes away are released
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .doOnComplete(() -> log.info("End method - getGroundTrackBinary - guid: {} - from: {} - to: {}", guid, from, to));
+    }
+
+    /**
+     * Streams the ground tracks of many satellites over the same window. Satellites are tracked in parallel on the
+     * propagation scheduler, at most as many at once as its parallelism, each still computed lazily as in
+     * {@link #getGroundTrack} with a single chunk prefetched; their samples are interleaved, in time order within a
+     * satellite. Unknown satellites and satellites without a valid TLE come back as a single sample with an error.
+     */
+    public Flux<GroundTrackPointResponse> getGroundTracks(GroundTracksRequest request) {
+
+        log.info("Start method - getGroundTracks - size: {} - from: {} - to: {} - step: {}", request.getGuids().size(), request.getFrom(), request.getTo(), request.getStep());
+
+        ValidationException invalid = validateGroundTrack(request.getFrom(), request.getTo(), request.getStep());
+        if (invalid != null) return Flux.error(invalid);
+
+        return getSatellites(request.getGuids())
+                .flatMap(result -> {
+                    GroundTrackPointResponse.GroundTrackPointResponseBuilder error = GroundTrackPointResponse.builder().guid(result.getGuid()).at(request.getFrom());
+                    if (!result.isFound()) return Flux.just(List.of(error.error("satellite not found").build()));
+                    Sgp4Propagator propagator = getPropagator(result.getSatellite());
+                    if (propagator == null) return Flux.just(List.of(error.error("no valid TLE to propagate").build()));
+                    return groundTrackPoints(result.getGuid(), propagator, request.getFrom(), request.getTo(), request.getStep());
+                }, getParallelism(), 1)
+                .flatMapIterable(chunk -> chunk, 1)
+                .doOnComplete(() -> log.info("End method - getGroundTracks - from: {} - to: {}", request.getFrom(), request.getTo()));
+    }
+
+    /**
+     * Same as {@link #getGroundTracks} in the compact binary encoding of {@link GroundTrackEncoder}, where records
+     * refer to their satellite by its position in the request. Unknown satellites and satellites without a valid TLE
+     * come back as a single record at {@code from} with NaN coordinates.
+     */
+    public Flux<DataBuffer> getGroundTracksBinary(GroundTracksRequest request, DataBufferFactory bufferFactory) {
+
+        log.info("Start method - getGroundTracksBinary - size: {} - from: {} - to: {} - step: {}", request.getGuids().size(), request.getFrom(), request.getTo(), request.getStep());
+
+        ValidationException invalid = validateGroundTrack(request.getFrom(), request.getTo(), request.getStep());
+        if (invalid != null) return Flux.error(invalid);
+
+        return getSatellites(request.getGuids())
+                .index()
+                .flatMap(indexed -> {
+                    int index = indexed.getT1().intValue();
+                    BatchSatelliteResult result = indexed.getT2();
+                    Sgp4Propagator propagator = result.isFound() ? getPropagator(result.getSatellite()) : null;
+                    if (propagator == null) {
+                        GroundTrackEncoder encoder = new GroundTrackEncoder(1);
+                        encoder.write(index, toEpochMicros(request.getFrom()), Double.NaN, Double.NaN, Double.NaN);
+                        return Flux.just(encoder.toDataBuffer(bufferFactory));
+                    }
+                    return groundTrackRecords(index, propagator, request.getFrom(), request.getTo(), request.getStep(), bufferFactory);
+                }, getParallelism(), 1)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .doOnComplete(() -> log.info("End method - getGroundTracksBinary - from: {} - to: {}", request.getFrom(), request.getTo()));
+    }
+
+    /**
+     * Returns the cached propagator when it was built from the same TLE lines, otherwise parses and initialises
+     * a new one and replaces the cache entry. Returns null when the satellite has no usable TLE.
+     */
+    public Sgp4Propagator getPropagator(SatelliteDto satellite) {
+
+        Sgp4Propagator cached = propagatorCache.getIfPresent(satellite.getGuid());
+        if (cached != null && cached.getLine1().equals(satellite.getLine1()) && cached.getLine2().equals(satellite.getLine2()))
+            return cached;
+
+        if (satellite.getLine1() == null || satellite.getLine2() == null) return null;
+
+        TleElements elements = new TleElements();
+        if (!TleParser.parse(satellite.getLine1(), satellite.getLine2(), elements)) return null;
+
+        try {
+            Sgp4Propagator propagator = Sgp4Propagator.create(elements, satellite.getLine1(), satellite.getLine2());
+            propagatorCache.put(satellite.getGuid(), propagator);
+            return propagator;
+        } catch (IllegalArgumentException e) {
+            log.warn("Satellite {} cannot be propagated: {}", satellite.getGuid(), e.getMessage());
+            return null;
+        }
+    }
+
+    Flux<BatchSatelliteResult> getSatellites(List<UUID> guids) {
+        return guids == null || guids.isEmpty()
+                ? satelliteRepository.streamAll(null, null, null, Math.max(1, fetchSize))
+                    .map(satellite -> new BatchSatelliteResult(satellite.getGuid(), true, satelliteMapper.satelliteToSatelliteDto(satellite)))
+                : satelliteService.getSatellitesByGuids(guids).flatMapIterable(results -> results);
+    }
+
+    /**
+     * Generates the samples of one track a chunk per request, on the propagation scheduler, so nothing is computed
+     * ahead of what the subscriber asked for.
+     */
+    private Flux<List<GroundTrackPointResponse>> groundTrackPoints(UUID guid, Sgp4Propagator propagator, OffsetDateTime from, OffsetDateTime to, Duration step) {
+
+        return Flux.<List<GroundTrackPointResponse>, GroundTrack>generate(
+                        () -> new GroundTrack(propagator, toEpochMicros(from), toEpochMicros(to), step.toNanos() / 1_000),
+                        (track, sink) -> {
+                            double[] sample = new double[GroundTrack.SAMPLE_SIZE];
+                            List<GroundTrackPointResponse> chunk = new ArrayList<>(SatelliteConstants.GROUNDTRACK_SAMPLES_PER_CHUNK);
+                            while (track.hasNext() && chunk.size() < SatelliteConstants.GROUNDTRACK_SAMPLES_PER_CHUNK) {
+                                GroundTrackPointResponse.GroundTrackPointResponseBuilder point = GroundTrackPointResponse.builder()
+                                        .guid(guid)
+                                        .at(toOffsetDateTime(track.nextMicros()));
+                                int result = track.next(sample, 0);
+                                if (result == Sgp4Propagator.OK || result == Sgp4Propagator.DECAYED) {
+                                    point.latitude(sample[0]).longitude(sample[1]).altitude(sample[2]);
+                                }
+                                if (result != Sgp4Propagator.OK) point.error(Sgp4Propagator.describe(result));
+                                chunk.add(point.build());
+                            }
+                            sink.next(chunk);
+                            if (!track.hasNext()) sink.complete();
+                            return track;
+                        })
+                .subscribeOn(propagationScheduler);
+    }
+
+    private Flux<DataBuffer> groundTrackRecords(int index, Sgp4Propagator propagator, OffsetDateTime from, OffsetDateTime to, Duration step, DataBufferFactory bufferFactory) {
+
+        return Flux.<DataBuffer, GroundTrack>generate(
+                        () -> new GroundTrack(propagator, toEpochMicros(from), toEpochMicros(to), step.toNanos() / 1_000),
+                        (track, sink) -> {
+                            double[] sample = new double[GroundTrack.SAMPLE_SIZE];
+                            GroundTrackEncoder encoder = new GroundTrackEncoder((int) Math.min(SatelliteConstants.GROUNDTRACK_SAMPLES_PER_CHUNK, track.samples()));
+                            for (int i = 0; track.hasNext() && i < SatelliteConstants.GROUNDTRACK_SAMPLES_PER_CHUNK; i++) {
+                                long atMicros = track.nextMicros();
+                                int result = track.next(sample, 0);
+                                if (result == Sgp4Propagator.OK || result == Sgp4Propagator.DECAYED) {
+                                    encoder.write(index, atMicros, sample[0], sample[1], sample[2]);
+                                } else {
+                                    encoder.write(index, atMicros, Double.NaN, Double.NaN, Double.NaN);
+                                }
+                            }
+                            sink.next(encoder.toDataBuffer(bufferFactory));
+                            if (!track.hasNext()) sink.complete();
+                            return track;
+                        })
+                .subscribeOn(propagationScheduler);
+    }
+
+    private static ValidationException validateGroundTrack(OffsetDateTime from, OffsetDateTime to, Duration step) {
+        if (!to.isAfter(from))
+            return new ValidationException("'to' must be after 'from'");
+        if (Duration.between(from, to).compareTo(Duration.ofDays(SatelliteConstants.GROUNDTRACK_MAX_WINDOW_DAYS)) > 0)
+            return new ValidationException("The window must not exceed " + SatelliteConstants.GROUNDTRACK_MAX_WINDOW_DAYS + " days");
+        if (step.compareTo(Duration.ofSeconds(SatelliteConstants.GROUNDTRACK_MIN_STEP_SECONDS)) < 0)
+            return new ValidationException("The step must be at least " + SatelliteConstants.GROUNDTRACK_MIN_STEP_SECONDS + " s");
+        return null;
+    }
+
+    private List<SatellitePassResponse> predictChunk(List<BatchSatelliteResult> chunk, PassPredictor predictor, List<GroundStation> stations, boolean requested) {
+
+        List<SatellitePassResponse> responses = new ArrayList<>();
+        for (BatchSatelliteResult result : chunk) {
+            if (!result.isFound()) {
+                responses.add(SatellitePassResponse.builder().guid(result.getGuid()).error("satellite not found").build());
+                continue;
+            }
+
+            SatelliteDto satellite = result.getSatellite();
+            Sgp4Propagator propagator = getPropagator(satellite);
+            if (propagator == null) {
+                if (requested) responses.add(SatellitePassResponse.builder().guid(satellite.getGuid()).name(satellite.getName()).error("no valid TLE to propagate").build());
+                continue;
+            }
+
+            for (Pass pass : predictor.predict(propagator)) {
+                responses.add(SatellitePassResponse.builder()
+                        .guid(satellite.getGuid())
+                        .name(satellite.getName())
+                        .station(stations.get(pass.station()).getName())
+                        .aos(toOffsetDateTime(pass.aosMicros()))
+                        .aosAzimuth(pass.aosAzimuth())
+                        .maxElevationAt(toOffsetDateTime(pass.maxElevationMicros()))
+                        .maxElevation(pass.maxElevation())
+                        .los(toOffsetDateTime(pass.losMicros()))
+                        .losAzimuth(pass.losAzimuth())
+                        .build());
+            }
+        }
+        return responses;
+    }
+
+    private List<SatellitePositionResponse> propagateChunk(List<BatchSatelliteResult> chunk, OffsetDateTime at, long atMicros) {
+
+        double[] states = new double[chunk.size() * Sgp4Propagator.STATE_SIZE];
+        int[] results = new int[chunk.size()];
+
+        for (int i = 0; i < chunk.size(); i++) {
+            SatelliteDto satellite = chunk.get(i).getSatellite();
+            Sgp4Propagator propagator = satellite == null ? null : getPropagator(satellite);
+            results[i] = propagator == null
+                    ? NOT_PROPAGATABLE
+                    : ephemerisService.propagate(satellite.getGuid(), propagator, atMicros, states, i * Sgp4Propagator.STATE_SIZE);
+        }
+
+        List<SatellitePositionResponse> responses = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            BatchSatelliteResult satellite = chunk.get(i);
+            if (!satellite.isFound()) {
+                responses.add(SatellitePositionResponse.builder().guid(satellite.getGuid()).at(at).error("satellite not found").build());
+            } else {
+                responses.add(toResponse(satellite.getGuid(), satellite.getSatellite().getName(), at, states, i * Sgp4Propagator.STATE_SIZE, results[i]));
+            }
+        }
+        return responses;
+    }
+
+    static SatellitePositionResponse toResponse(UUID guid, String name, OffsetDateTime at, double[] states, int offset, int result) {
+
+        SatellitePositionResponse.SatellitePositionResponseBuilder response = SatellitePositionResponse.builder().guid(guid).name(name).at(at);
+
+        if (result == NOT_PROPAGATABLE) return response.error("no valid TLE to propagate").build();
+        if (result != Sgp4Propagator.OK && result != Sgp4Propagator.DECAYED) return response.error(Sgp4Propagator.describe(result)).build();
+
+        return response
+                .position(new double[]{states[offset], states[offset + 1], states[offset + 2]})
+                .velocity(new double[]{states[offset + 3], states[offset + 4], states[offset + 5]})
+                .error(result == Sgp4Propagator.DECAYED ? Sgp4Propagator.describe(result) : null)
+                .build();
+    }
+
+    private static long toEpochMicros(OffsetDateTime at) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, at.toInstant());
+    }
+
+    private static OffsetDateTime toOffsetDateTime(long epochMicros) {
+        return Instant.EPOCH.plus(epochMicros, ChronoUnit.MICROS).atOffset(ZoneOffset.UTC);
+    }
+
+    int getParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+}
@@ -1,149 +1,318 @@
 package com.andrea.reactive.service;
 
 import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.dto.SatelliteCursor;
 import com.andrea.reactive.dto.SatelliteDto;
+import com.andrea.reactive.dto.SatelliteUpsertResult;
 import com.andrea.reactive.dto.TleDto;
+import com.andrea.reactive.dto.enumerator.FetchMode;
 import com.andrea.reactive.dto.enumerator.FetchSatelliteResult;
+import com.andrea.reactive.dto.enumerator.QueryView;
 import com.andrea.reactive.dto.request.CreateSatelliteRequest;
+import com.andrea.reactive.dto.request.SatelliteQueryRequest;
 import com.andrea.reactive.dto.request.UpdateSatelliteRequest;
+import com.andrea.reactive.dto.response.BatchSatelliteResult;
+import com.andrea.reactive.dto.response.BulkSatelliteResult;
 import com.andrea.reactive.dto.response.GenericPagedResponse;
-import com.andrea.reactive.dto.response.externalApi.ExternalSatelliteApiResponse;
+import com.andrea.reactive.dto.response.SatelliteQueryResponse;
+import com.andrea.reactive.dto.response.externalApi.ExternalSatellitePage;
 import com.andrea.reactive.dto.response.externalApi.FetchSatelliteResponse;
 import com.andrea.reactive.entity.Satellite;
 import com.andrea.reactive.exception.DatabaseOperationException;
 import com.andrea.reactive.exception.ExternalAPIException;
 import com.andrea.reactive.exception.SatelliteNotFoundException;
+import com.andrea.reactive.exception.ValidationException;
 import com.andrea.reactive.mapper.SatelliteMapper;
+import com.andrea.reactive.orbit.ElementColumn;
+import com.andrea.reactive.orbit.ElementRange;
+import com.andrea.reactive.orbit.TleElements;
+import com.andrea.reactive.orbit.TleParser;
 import com.andrea.reactive.repository.SatelliteRepository;
 import com.andrea.reactive.repository.SatelliteSortingRepository;
+import com.andrea.reactive.repository.SyncCheckpointRepository;
+import com.andrea.reactive.utils.CursorUtil;
 import com.andrea.reactive.utils.PageUtil;
+import com.andrea.reactive.utils.SingleFlight;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-import reactor.util.retry.Retry;
+import reactor.util.function.Tuple2;
 
 import javax.swing.*;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class SatelliteService {
 
-    private final HttpService<ExternalSatelliteApiResponse> httpService;
+    private final ExternalSatellitePager externalSatellitePager;
 
     private final SatelliteRepository satelliteRepository;
     private final SatelliteSortingRepository satelliteSortingRepository;
     private final SatelliteMapper satelliteMapper;
+    private final SyncCheckpointRepository syncCheckpointRepository;
+    private final AsyncCache<UUID, SatelliteDto> satelliteCache;
+    private final CatalogueSnapshotService catalogueSnapshotService;
+    private final EphemerisService ephemerisService;
+    private final SingleFlight<SatellitesQuery, GenericPagedResponse> satellitesQuerySingleFlight;
+    private final Validator validator;
 
-    @Value("${satellite.api.url:https://tle.ivanstanojevic.me/api/tle/}")
-    private String urlApi;
+    @Value("${satellite.fetch.batch-size:500}")
+    private int upsertBatchSize;
 
-    public SatelliteService(HttpService<ExternalSatelliteApiResponse> httpService, SatelliteRepository satelliteRepository, SatelliteSortingRepository satelliteSortingRepository, SatelliteMapper satelliteMapper) {
-        this.httpService = httpService;
+    @Value("${satellite.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    @Value("${satellite.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    @Value("${satellite.fetch.lanes:0}")
+    private int lanes;
+
+    @Value("${satellite.fetch.lane-queue-size:256}")
+    private int laneQueueSize;
+
+    public SatelliteService(ExternalSatellitePager externalSatellitePager, SatelliteRepository satelliteRepository, SatelliteSortingRepository satelliteSortingRepository, SatelliteMapper satelliteMapper, SyncCheckpointRepository syncCheckpointRepository, AsyncCache<UUID, SatelliteDto> satelliteCache, CatalogueSnapshotService catalogueSnapshotService, EphemerisService ephemerisService, MeterRegistry meterRegistry, Validator validator) {
+        this.externalSatellitePager = externalSatellitePager;
         this.satelliteRepository = satelliteRepository;
         this.satelliteSortingRepository = satelliteSortingRepository;
         this.satelliteMapper = satelliteMapper;
+        this.syncCheckpointRepository = syncCheckpointRepository;
+        this.satelliteCache = satelliteCache;
+        this.catalogueSnapshotService = catalogueSnapshotService;
+        this.ephemerisService = ephemerisService;
+        this.validator = validator;
+        // GUID lookups are already coalesced by the cache, which shares one in-flight load per key
+        this.satellitesQuerySingleFlight = new SingleFlight<>(SatelliteConstants.LIST_SINGLE_FLIGHT_NAME, meterRegistry);
     }
 
-    public Mono<FetchSatelliteResponse> fetchAndUpdateSatellites(int size, Optional<Integer> chunkSizeOpt) {
+    public Mono<FetchSatelliteResponse> fetchAndUpdateSatellites(int size, Optional<Integer> chunkSizeOpt, FetchMode mode) {
 
-        log.info("Start method - fetchAndUpdateSatellites - size: {}", size);
+        log.info("Start method - fetchAndUpdateSatellites - size: {} - mode: {}", size, mode);
 
         int defaultPageSize = SatelliteConstants.EXTERNAL_API_MAX_PAGE_SIZE;
         if(size < defaultPageSize) defaultPageSize = size;
         int pageSize = chunkSizeOpt.orElse(defaultPageSize);
-        int totalPages = (int) Math.ceil((double) size / pageSize);
-        List<Mono<ExternalSatelliteApiResponse>> apiCalls = new ArrayList<>();
 
-        for (int i = 1; i <= totalPages; i++) {
-            Map<String, String> queryParams = new HashMap<>();
+        Mono<FetchSatelliteResponse> sync = mode == FetchMode.INCREMENTAL ? incrementalSync(size, pageSize) : fullSync(size, pageSize);
 
-            int currentPageSize = (i == totalPages) ? (size - (pageSize * (i - 1))) : pageSize;
+        return sync
+                .map(response -> {
+                    log.info("End method - fetchAndUpdateSatellites - size: {} - mode: {}", size, mode);
+                    return response;
+                })
+                .onErrorResume(e -> Mono.error(new ExternalAPIException("Failed to fetch and update satellites: Service Unavailable or Resource Limit Exceeded")));
 
-            queryParams.put(SatelliteConstants.EXTERNAL_API_PAGE_PARAMETER_NAME, String.valueOf(i));
-            queryParams.put(SatelliteConstants.EXTERNAL_API_PAGE_SIZE_PARAMETER_NAME, String.valueOf(currentPageSize));
+    }
 
-            apiCalls.add(httpService.getMany(urlApi, ExternalSatelliteApiResponse.class, Optional.of(queryParams)));
-        }
+    private Mono<FetchSatelliteResponse> fullSync(int size, int pageSize) {
 
-        ConcurrentMap<Integer, Mono<FetchSatelliteResult>> satelliteIdToProcessing = new ConcurrentHashMap<>();
-
-        AtomicInteger newCount = new AtomicInteger();
-        AtomicInteger updatedCount = new AtomicInteger();
-
-        return Flux.merge(apiCalls)
-                .flatMap(apiResponse -> Flux.fromIterable(apiResponse.getMember())
-                        .concatMap(tleDto -> {
-                            int satelliteId = tleDto.getSatelliteId();
-
-                            return satelliteIdToProcessing
-                                    .computeIfAbsent(satelliteId, id -> processSatellite(tleDto, newCount, updatedCount)
-                                            .doFinally(signalType -> satelliteIdToProcessing.remove(satelliteId)));
-                        })
-                        .subscribeOn(Schedulers.boundedElastic())
-                )
-                .retryWhen(Retry.backoff(SatelliteConstants.BACKOFF_MAX_ATTEMPTS, Duration.ofSeconds(SatelliteConstants.BACKOFF_DURATION))
-                        .onRetryExhaustedThrow(((retryBackoffSpec, retrySignal) -> new ExternalAPIException("Resource limit exceeded, retries exhausted"))))
-                .then(Mono.fromCallable(() -> {
-                    log.info("End method - fetchAndUpdateSatellites - size: {}", size);
-                    return new FetchSatelliteResponse(newCount.get(), updatedCount.get());
-                }))
-                .onErrorResume(e -> Mono.error(new ExternalAPIException("Failed to fetch and update satellites: Service Unavailable or Resource Limit Exceeded")));
+        String syncKey = String.join(":", SatelliteConstants.SYNC_KEY_FULL_PREFIX, String.valueOf(size), String.valueOf(pageSize));
+
+        return getResumePage(syncKey, pageSize)
+                .flatMap(startPage -> writePages(externalSatellitePager.pages(size, pageSize, startPage, Map.of()), pageSize,
+                        lastPage -> syncCheckpointRepository.upsert(syncKey, pageSize, lastPage, false)))
+                .flatMap(response -> syncCheckpointRepository.upsert(syncKey, pageSize, 0, true).thenReturn(response));
+    }
 
+    /**
+     * Pulls pages sorted by epoch descending and stops at the first page that holds nothing newer than the
+     * persisted watermark, so a routine refresh only costs the pages that actually changed. The watermark only
+     * moves to the newest epoch seen when the run covered everything above it, that is when it stopped on the
+     * watermark or ran out of pages; a run cut short by {@code size} may have left older TLEs between its last page
+     * and the watermark, so it leaves the watermark where it was for the next run to pick them up.
+     */
+    private Mono<FetchSatelliteResponse> incrementalSync(int size, int pageSize) {
+
+        Map<String, String> sortParams = Map.of(
+                SatelliteConstants.EXTERNAL_API_SORT_PARAMETER_NAME, SatelliteConstants.EXTERNAL_API_SORT_EPOCH_VALUE,
+                SatelliteConstants.EXTERNAL_API_SORT_DIR_PARAMETER_NAME, SatelliteConstants.EXTERNAL_API_SORT_DIR_DESC_VALUE);
+
+        return getWatermark()
+                .flatMap(watermark -> Mono.defer(() -> {
+                    log.info("Incremental sync from watermark {}", watermark.orElse(null));
+
+                    AtomicReference<OffsetDateTime> newestEpoch = new AtomicReference<>();
+                    AtomicBoolean reachedWatermark = new AtomicBoolean();
+                    AtomicInteger received = new AtomicInteger();
+
+                    Flux<ExternalSatellitePage> pages = externalSatellitePager.pages(size, pageSize, SatelliteConstants.EXTERNAL_API_DEFAULT_PAGE_VALUE, sortParams)
+                            .takeWhile(page -> {
+                                boolean newer = watermark.isEmpty() || page.getMembers().stream()
+                                        .anyMatch(tle -> tle.getDate() != null && tle.getDate().isAfter(watermark.get()));
+                                if (!newer) reachedWatermark.set(true);
+                                return newer;
+                            })
+                            .doOnNext(page -> {
+                                received.addAndGet(page.getMembers().size());
+                                page.getMembers().forEach(tle -> {
+                                    if (tle.getDate() != null)
+                                        newestEpoch.accumulateAndGet(tle.getDate(), (current, candidate) -> current == null || candidate.isAfter(current) ? candidate : current);
+                                });
+                            });
+
+                    // The watermark only moves once the whole run is written, so a failed run never hides older pages
+                    return writePages(pages, pageSize, lastPage -> Mono.empty())
+                            .flatMap(response -> {
+                                if (!reachedWatermark.get() && received.get() >= size) {
+                                    log.info("Incremental sync stopped at {} items before reaching the watermark, keeping it at {}", size, watermark.orElse(null));
+                                    return Mono.just(response);
+                                }
+                                return newestEpoch.get() == null
+                                        ? Mono.just(response)
+                                        : syncCheckpointRepository.upsertWatermark(SatelliteConstants.SYNC_KEY_INCREMENTAL, pageSize, newestEpoch.get()).thenReturn(response);
+                            });
+                }));
     }
 
-    private Mono<FetchSatelliteResult> processSatellite(TleDto tleDto, AtomicInteger newCount, AtomicInteger updatedCount) {
-        return satelliteRepository.findByExtId(tleDto.getSatelliteId())
-                .flatMap(existingSatellite -> {
+    private Mono<FetchSatelliteResponse> writePages(Flux<ExternalSatellitePage> pages, int pageSize, Function<Integer, Mono<?>> onPagesWritten) {
+
+        int pagesPerBatch = Math.max(1, getUpsertBatchSize() / pageSize);
+
+        return pages
+                .buffer(pagesPerBatch)
+                .concatMap(batch -> processPages(batch, onPagesWritten), 1)
+                .reduceWith(FetchSatelliteResponse::new, (response, result) -> {
+                    switch (result) {
+                        case NEW -> response.setNewCount(response.getNewCount() + 1);
+                        case UPDATED -> response.setUpdatedCount(response.getUpdatedCount() + 1);
+                        case UNCHANGED -> response.setUnchangedCount(response.getUnchangedCount() + 1);
+                        case REJECTED -> response.setRejectedCount(response.getRejectedCount() + 1);
+                    }
+                    return response;
+                });
+    }
+
+    private Mono<Optional<OffsetDateTime>> getWatermark() {
+        return syncCheckpointRepository.findById(SatelliteConstants.SYNC_KEY_INCREMENTAL)
+                .map(checkpoint -> Optional.ofNullable(checkpoint.getWatermark()))
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Mono<Integer> getResumePage(String syncKey, int pageSize) {
+        return syncCheckpointRepository.findById(syncKey)
+                .filter(checkpoint -> !Boolean.TRUE.equals(checkpoint.getCompleted()) && Objects.equals(checkpoint.getPageSize(), pageSize))
+                .map(checkpoint -> {
+                    log.info("Resuming sync {} after page {}", syncKey, checkpoint.getLastPage());
+                    return checkpoint.getLastPage() + 1;
+                })
+                .defaultIfEmpty(SatelliteConstants.EXTERNAL_API_DEFAULT_PAGE_VALUE);
+    }
+
+    private Flux<FetchSatelliteResult> processPages(List<ExternalSatellitePage> pages, Function<Integer, Mono<?>> onPagesWritten) {
+
+        int lastPage = pages.get(pages.size() - 1).getPage();
+
+        int laneCount = getLaneCount();
+
+        // Each extId always hashes to the same lane: lanes run in parallel, updates within a lane stay in order
+        return Flux.fromIterable(pages)
+                .flatMapIterable(ExternalSatellitePage::getMembers)
+                .groupBy(tle -> getLane(tle.getSatelliteId(), laneCount), getLaneQueueSize())
+                .flatMap(lane -> lane.buffer(getUpsertBatchSize()).concatMap(this::processSatellites, 1), laneCount)
+                .concatWith(Mono.defer(() -> onPagesWritten.apply(lastPage)).then(Mono.empty()));
+    }
 
-                    existingSatellite.setDate(tleDto.getDate());
-                    existingSatellite.setLine1(tleDto.getLine1());
-                    existingSatellite.setLine2(tleDto.getLine2());
-                    existingSatellite.setUpdatedAt(OffsetDateTime.now());
+    private Flux<FetchSatelliteResult> processSatellites(List<TleDto> tles) {
+
+        // Malformed TLEs (bad checksum, unparsable field, mismatched lines) never reach the table
+        TleElements elements = new TleElements();
+        int rejectedCount = 0;
+
+        // A single INSERT ... ON CONFLICT cannot touch the same row twice, so keep only the newest TLE per ext_id
+        Map<Integer, TleDto> latestBySatelliteId = new LinkedHashMap<>();
+        for (TleDto tle : tles) {
+            if (tle.getLine1() == null || tle.getLine2() == null || !TleParser.parse(tle.getLine1(), tle.getLine2(), elements)
+                    || elements.getNoradId() != tle.getSatelliteId()) {
+                log.warn("Rejected malformed TLE for satellite {}", tle.getSatelliteId());
+                rejectedCount++;
+                continue;
+            }
+            latestBySatelliteId.merge(tle.getSatelliteId(), tle, (current, candidate) ->
+                    current.getDate() != null && candidate.getDate() != null && candidate.getDate().isBefore(current.getDate()) ? current : candidate);
+        }
 
-                    updatedCount.incrementAndGet();
+        int acceptedCount = tles.size() - rejectedCount;
 
-                    return satelliteRepository.save(existingSatellite)
-                            .then(Mono.just(FetchSatelliteResult.UPDATED));
+        return satelliteRepository.upsertAll(new ArrayList<>(latestBySatelliteId.values()))
+                .collectList()
+                .flatMap(written -> catalogueSnapshotService.refresh(written.stream().map(SatelliteUpsertResult::getGuid).toList()).thenReturn(written))
+                .flatMapIterable(written -> {
+                    // Every TLE the database did not write (older or same epoch, or superseded in the batch) is unchanged
+                    List<FetchSatelliteResult> results = new ArrayList<>();
+                    List<UUID> updated = new ArrayList<>();
+                    written.forEach(upsert -> {
+                        if (upsert.getResult() == FetchSatelliteResult.UPDATED) {
+                            satelliteCache.synchronous().invalidate(upsert.getGuid());
+                            updated.add(upsert.getGuid());
+                        }
+                        results.add(upsert.getResult());
+                    });
+                    ephemerisService.invalidate(updated);
+                    while (results.size() < acceptedCount) results.add(FetchSatelliteResult.UNCHANGED);
+                    while (results.size() < tles.size()) results.add(FetchSatelliteResult.REJECTED);
+                    return results;
                 })
-                .switchIfEmpty(
-                        satelliteRepository.save(Satellite.builder()
-                                        .extId(tleDto.getSatelliteId())
-                                        .name(tleDto.getName())
-                                        .line1(tleDto.getLine1())
-                                        .line2(tleDto.getLine2())
-                                        .date(tleDto.getDate())
-                                        .createdAt(OffsetDateTime.now())
-                                        .updatedAt(OffsetDateTime.now())
-                                        .build())
-                                .doOnSuccess(savedSatellite -> newCount.incrementAndGet())
-                                .then(Mono.just(FetchSatelliteResult.NEW))
-                )
                 .onErrorResume(e -> {
-                    log.error("Error processing satellite", e);
-                    return Mono.error(new DatabaseOperationException("Failed to process satellite with ExtID: " + tleDto.getSatelliteId()));
+                    log.error("Error processing satellites batch", e);
+                    return Mono.error(new DatabaseOperationException("Failed to upsert a batch of " + latestBySatelliteId.size() + " satellites"));
                 });
     }
 
+    private static int getLane(int satelliteId, int laneCount) {
+        return Math.floorMod(Integer.hashCode(satelliteId) * 0x9E3779B9, laneCount);
+    }
+
+    private int getLaneCount() {
+        return lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+    }
+
+    private int getLaneQueueSize() {
+        return Math.max(1, laneQueueSize);
+    }
+
+    private int getBulkBatchSize() {
+        return Math.max(1, Math.min(bulkBatchSize, SatelliteConstants.UPSERT_MAX_BATCH_SIZE));
+    }
+
+    private int getUpsertBatchSize() {
+        return Math.max(1, Math.min(upsertBatchSize, SatelliteConstants.UPSERT_MAX_BATCH_SIZE));
+    }
+
     public Mono<SatelliteDto> getSatelliteByGuid(UUID guid) {
 
         log.info("Start method - getSatelliteByGuid - guid: {}", guid);
 
-        return satelliteRepository.findByGuid(guid)
-                .map(satellite -> {
+        // A not found lookup completes the future with null, which Caffeine does not keep in the cache.
+        // Cancellation is suppressed so that one client going away does not abort a load shared with others.
+        return Mono.fromFuture(() -> satelliteCache.get(guid, (key, executor) -> satelliteRepository.findByGuid(key)
+                                .map(satelliteMapper::satelliteToSatelliteDto)
+                                .toFuture()), true)
+                .map(satelliteDto -> {
                     log.info("End method - getSatelliteByGuid - guid: {}", guid);
-                    return satelliteMapper.satelliteToSatelliteDto(satellite);
+                    return satelliteDto;
                 })
                 .switchIfEmpty(Mono.error(new SatelliteNotFoundException("Satellite not found by GUID "+guid)));
 
@@ -153,37 +322,118 @@ public class SatelliteService {
 
         log.info("Start method - createSatellite");
 
-        SatelliteDto satelliteDto = satelliteMapper.createSatelliteRequestToSatelliteDto(request);
+        OffsetDateTime now = OffsetDateTime.now();
 
-        satelliteDto.setCreatedAt(OffsetDateTime.now());
-        satelliteDto.setUpdatedAt(OffsetDateTime.now());
+        // INSERT ... RETURNING * reads back the generated id and guid in the same round trip
+        return satelliteRepository.insertReturning(request.getName(), request.getDate(), request.getLine1(), request.getLine2(), now, now)
+                .map(insertedSatellite -> {
+                    catalogueSnapshotService.apply(insertedSatellite);
+                    log.info("End method - createSatellite");
+                    return satelliteMapper.satelliteToSatelliteDto(insertedSatellite);
+                });
 
-        Satellite convertedSatellite = satelliteMapper.satelliteDtoToSatellite(satelliteDto);
+    }
 
-        return satelliteRepository.save(convertedSatellite)
-                .flatMap(savedSatellite -> satelliteRepository.findById(savedSatellite.getId()))
-                .map(retrievedSatellite -> {
-                    log.info("End method - createSatellite");
-                    return satelliteMapper.satelliteToSatelliteDto(retrievedSatellite);
+    /**
+     * Resolves many guids at once: cached satellites are served directly and all misses are loaded with a single
+     * {@code guid = ANY(?)} query. Results follow the request order and mark guids that do not exist.
+     */
+    public Mono<List<BatchSatelliteResult>> getSatellitesByGuids(List<UUID> guids) {
+
+        log.info("Start method - getSatellitesByGuids - size: {}", guids.size());
+
+        return Mono.fromFuture(() -> satelliteCache.getAll(new LinkedHashSet<>(guids), (missingGuids, executor) ->
+                                satelliteRepository.findAllByGuidAny(missingGuids.toArray(UUID[]::new))
+                                        .collectMap(Satellite::getGuid, satelliteMapper::satelliteToSatelliteDto)
+                                        .toFuture()), true)
+                .map(found -> {
+                    log.info("End method - getSatellitesByGuids - size: {} - found: {}", guids.size(), found.size());
+                    return guids.stream()
+                            .map(guid -> new BatchSatelliteResult(guid, found.containsKey(guid), found.get(guid)))
+                            .toList();
                 });
+    }
+
+    /**
+     * Validates and inserts a stream of satellites in batched multi-row inserts. Batches are closed by size or by
+     * time, and only one batch is written at a time, so memory stays constant and demand reaches the client.
+     * Results are streamed back in request order, with the new guid or the validation error of each item.
+     */
+    public Flux<BulkSatelliteResult> bulkCreateSatellites(Flux<CreateSatelliteRequest> requests) {
+
+        log.info("Start method - bulkCreateSatellites");
+
+        return requests.index()
+                .bufferTimeout(getBulkBatchSize(), Duration.ofMillis(SatelliteConstants.BULK_BATCH_MAX_WAIT_MILLIS), true)
+                .concatMap(this::insertBatch, 1)
+                .doOnComplete(() -> log.info("End method - bulkCreateSatellites"));
+    }
+
+    private Flux<BulkSatelliteResult> insertBatch(List<Tuple2<Long, CreateSatelliteRequest>> batch) {
+
+        List<BulkSatelliteResult> results = new ArrayList<>(batch.size());
+        // Guids are chosen here so stored rows, which come back in no particular order, can be matched to their items
+        Map<UUID, BulkSatelliteResult> pendingResults = new HashMap<>();
+        List<Satellite> satellites = new ArrayList<>();
+        OffsetDateTime now = OffsetDateTime.now();
+
+        for (Tuple2<Long, CreateSatelliteRequest> item : batch) {
+            Set<ConstraintViolation<CreateSatelliteRequest>> violations = validator.validate(item.getT2());
+            BulkSatelliteResult result = new BulkSatelliteResult(item.getT1(), null, null);
+
+            if (violations.isEmpty()) {
+                UUID guid = UUID.randomUUID();
+                pendingResults.put(guid, result);
+                satellites.add(Satellite.builder()
+                        .guid(guid)
+                        .name(item.getT2().getName())
+                        .date(item.getT2().getDate())
+                        .line1(item.getT2().getLine1())
+                        .line2(item.getT2().getLine2())
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+            } else {
+                result.setError(violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(" ")));
+            }
+            results.add(result);
+        }
 
+        if (satellites.isEmpty()) return Flux.fromIterable(results);
 
+        return satelliteRepository.insertAll(satellites)
+                .collectList()
+                .map(stored -> {
+                    for (Satellite satellite : stored) {
+                        BulkSatelliteResult result = pendingResults.remove(satellite.getGuid());
+                        if (result != null) result.setGuid(satellite.getGuid());
+                        catalogueSnapshotService.apply(satellite);
+                    }
+                    pendingResults.values().forEach(result -> result.setError("Failed to store satellite"));
+                    return results;
+                })
+                .onErrorResume(e -> {
+                    // A failed batch is reported on its own items so the rest of the stream keeps flowing
+                    log.error("Error inserting satellites batch", e);
+                    pendingResults.values().forEach(result -> result.setError("Failed to store satellite"));
+                    return Mono.just(results);
+                })
+                .flatMapIterable(Function.identity());
     }
 
     public Mono<SatelliteDto> updateSatellite(UUID guid, UpdateSatelliteRequest request) {
 
         log.info("Start method - updateSatellite - guid: {}", guid);
 
-        return satelliteRepository.findByGuid(guid)
+        return satelliteRepository.updateByGuidReturning(guid, request.getName(), request.getDate(), request.getLine1(), request.getLine2(), OffsetDateTime.now())
                 .switchIfEmpty(Mono.error(new SatelliteNotFoundException("Satellite not found by GUID "+guid)))
-                .flatMap(existingSatellite -> {
-                    satelliteMapper.updateSatelliteFromRequest(request, existingSatellite);
-                    existingSatellite.setUpdatedAt(OffsetDateTime.now());
-                    return satelliteRepository.save(existingSatellite);
-                })
                 .map(satellite -> {
                     log.info("End method - updateSatellite - guid: {}", guid);
-                    return satelliteMapper.satelliteToSatelliteDto(satellite);
+                    SatelliteDto satelliteDto = satelliteMapper.satelliteToSatelliteDto(satellite);
+                    satelliteCache.put(guid, CompletableFuture.completedFuture(satelliteDto));
+                    catalogueSnapshotService.apply(satellite);
+                    ephemerisService.invalidate(guid);
+                    return satelliteDto;
                 });
     }
 
@@ -191,27 +441,150 @@ public class SatelliteService {
 
         log.info("Start method - deleteSatellite - guid: {}", guid);
 
-        return satelliteRepository.findByGuid(guid)
+        return satelliteRepository.deleteByGuidReturningId(guid)
                 .switchIfEmpty(Mono.error(new SatelliteNotFoundException("Satellite not found by GUID "+guid)))
-                .flatMap(satellite -> satelliteRepository.delete(satellite))
-                .doOnSuccess(r -> log.info("End method - deleteSatellite - guid: {}", guid));
+                .doOnSuccess(id -> {
+                    satelliteCache.synchronous().invalidate(guid);
+                    catalogueSnapshotService.remove(guid);
+                    ephemerisService.invalidate(guid);
+                    log.info("End method - deleteSatellite - guid: {}", guid);
+                })
+                .then();
     }
 
-    public Mono<GenericPagedResponse> getSatellites(String name, int page, int size, SortOrder nameOrder, SortOrder dateOrder) {
+    /**
+     * Streams the whole catalogue, optionally filtered by name and epoch range, straight from a database cursor.
+     * Rows are fetched in chunks of {@code satellite.export.fetch-size} only as the client consumes them.
+     */
+    public Flux<SatelliteDto> exportSatellites(String name, OffsetDateTime since, OffsetDateTime until) {
 
-        log.info("Start method - getSatellites - page: {} - size: {} - name: {} - nameOrder: {} - dateOrder: {}", page, size, name, nameOrder, dateOrder);
+        log.info("Start method - exportSatellites - name: {} - since: {} - until: {}", name, since, until);
 
-        PageRequest pageRequest = PageRequest.of(page, size, getSort(nameOrder, dateOrder));
-        return satelliteSortingRepository.findByNameContainingIgnoreCase(name, pageRequest)
+        if (since != null && until != null && since.isAfter(until))
+            return Flux.error(new ValidationException("'since' must not be after 'until'"));
+
+        return satelliteRepository.streamAll(name == null || name.isBlank() ? null : name, since, until, Math.max(1, exportFetchSize))
                 .map(satelliteMapper::satelliteToSatelliteDto)
-                .collectList()
+                .doOnComplete(() -> log.info("End method - exportSatellites - name: {} - since: {} - until: {}", name, since, until));
+    }
+
+    /**
+     * Streams the same selection as {@link #exportSatellites} as plain 3LE text. Rows are encoded straight into
+     * buffers of {@code bufferFactory}, then grouped into composite buffers so each socket write carries a few KB.
+     */
+    public Flux<DataBuffer> exportTle(String name, OffsetDateTime since, OffsetDateTime until, DataBufferFactory bufferFactory) {
+
+        log.info("Start method - exportTle - name: {} - since: {} - until: {}", name, since, until);
+
+        if (since != null && until != null && since.isAfter(until))
+            return Flux.error(new ValidationException("'since' must not be after 'until'"));
+
+        return satelliteRepository.streamTle(name == null || name.isBlank() ? null : name, since, until, Math.max(1, exportFetchSize), bufferFactory)
+                .buffer(SatelliteConstants.EXPORT_TLE_RECORDS_PER_WRITE)
+                .map(bufferFactory::join)
+                // Buffers still queued when the client goes away are returned to the pool
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .doOnComplete(() -> log.info("End method - exportTle - name: {} - since: {} - until: {}", name, since, until));
+    }
+
+    /**
+     * Filters and sorts the catalogue on its orbital elements from the in-memory snapshot, without touching the
+     * database unless full satellites are requested, in which case they are resolved like a batch get.
+     */
+    public Mono<SatelliteQueryResponse> querySatellites(SatelliteQueryRequest request) {
+
+        log.info("Start method - querySatellites - sort: {} - limit: {} - view: {}", request.getSort(), request.getLimit(), request.getView());
+
+        List<ElementRange> ranges = new ArrayList<>();
+        try {
+            addRange(ranges, ElementColumn.INCLINATION, request.getMinInclination(), request.getMaxInclination());
+            addRange(ranges, ElementColumn.RAAN, request.getMinRaan(), request.getMaxRaan());
+            addRange(ranges, ElementColumn.ECCENTRICITY, request.getMinEccentricity(), request.getMaxEccentricity());
+            addRange(ranges, ElementColumn.MEAN_MOTION, request.getMinMeanMotion(), request.getMaxMeanMotion());
+            addRange(ranges, ElementColumn.PERIOD, request.getMinPeriod(), request.getMaxPeriod());
+            addRange(ranges, ElementColumn.PERIGEE, request.getMinPerigee(), request.getMaxPerigee());
+            addRange(ranges, ElementColumn.APOGEE, request.getMinApogee(), request.getMaxApogee());
+            addRange(ranges, ElementColumn.EPOCH,
+                    request.getSince() == null ? null : (double) ChronoUnit.MICROS.between(Instant.EPOCH, request.getSince().toInstant()),
+                    request.getUntil() == null ? null : (double) ChronoUnit.MICROS.between(Instant.EPOCH, request.getUntil().toInstant()));
+        } catch (ValidationException e) {
+            return Mono.error(e);
+        }
+
+        return catalogueSnapshotService.query(ranges, request.getSort(), request.getOrder() == SortOrder.DESCENDING, request.getLimit())
+                .flatMap(result -> {
+                    if (request.getView() != QueryView.SATELLITE || result.guids().isEmpty())
+                        return Mono.just(new SatelliteQueryResponse(result.matched(), result.snapshotSize(), result.guids(), null));
+                    return getSatellitesByGuids(result.guids())
+                            .map(satellites -> new SatelliteQueryResponse(result.matched(), result.snapshotSize(), null,
+                                    satellites.stream().filter(BatchSatelliteResult::isFound).map(BatchSatelliteResult::getSatellite).toList()));
+                })
+                .map(response -> {
+                    log.info("End method - querySatellites - matched: {} - snapshotSize: {}", response.getMatched(), response.getSnapshotSize());
+                    return response;
+                });
+    }
+
+    private static void addRange(List<ElementRange> ranges, ElementColumn column, Double min, Double max) {
+        if (min == null && max == null) return;
+        if (min != null && max != null && min > max)
+            throw new ValidationException("The lower bound of " + column + " must not be greater than the upper bound");
+        ranges.add(new ElementRange(column, min == null ? Double.NEGATIVE_INFINITY : min, max == null ? Double.POSITIVE_INFINITY : max));
+    }
+
+    public Mono<GenericPagedResponse> getSatellites(String name, int page, int size, SortOrder nameOrder, SortOrder dateOrder, String cursor, Boolean includeTotal) {
+
+        log.info("Start method - getSatellites - page: {} - size: {} - name: {} - nameOrder: {} - dateOrder: {} - cursor: {}", page, size, name, nameOrder, dateOrder, cursor);
+
+        // Offset pages keep their historical total by default, cursor pages only count on request
+        boolean withTotal = includeTotal != null ? includeTotal : cursor == null;
+        SatellitesQuery query = new SatellitesQuery(name, page, size, nameOrder, dateOrder, cursor, withTotal);
+
+        return satellitesQuerySingleFlight.execute(query, () -> cursor == null
+                        ? getOffsetPage(name, PageRequest.of(page, size, getSort(nameOrder, dateOrder)), withTotal)
+                        : getCursorPage(name, size, getSort(nameOrder, dateOrder), cursor.isEmpty() ? null : CursorUtil.decode(cursor), withTotal))
+                .map(response -> {
+                    log.info("End method - getSatellites - page: {} - size: {} - name: {} - nameOrder: {} - dateOrder: {} - cursor: {}", page, size, name, nameOrder, dateOrder, cursor);
+                    return response;
+                });
+    }
+
+    private Mono<GenericPagedResponse> getOffsetPage(String name, PageRequest pageRequest, boolean withTotal) {
+
+        Mono<List<SatelliteDto>> content = satelliteSortingRepository.findByNameContainingIgnoreCase(name, pageRequest)
+                .map(satelliteMapper::satelliteToSatelliteDto)
+                .collectList();
+
+        if (!withTotal)
+            return content.map(satellites -> PageUtil.getGenericPage(satellites, pageRequest));
+
+        return content
                 .zipWith(satelliteSortingRepository.countByNameContainingIgnoreCase(name))
-                .map(t -> {
-                    log.info("End method - getSatellites - page: {} - size: {} - name: {} - nameOrder: {} - dateOrder: {}", page, size, name, nameOrder, dateOrder);
-                    return PageUtil.getGenericPage(new PageImpl<>(t.getT1(), pageRequest, t.getT2()));
+                .map(t -> PageUtil.getGenericPage(new PageImpl<>(t.getT1(), pageRequest, t.getT2())));
+    }
+
+    private Mono<GenericPagedResponse> getCursorPage(String name, int size, Sort sort, SatelliteCursor cursor, boolean withTotal) {
+
+        // One extra row tells whether another page exists without a count query
+        Mono<GenericPagedResponse> content = satelliteSortingRepository.findByNameContainingIgnoreCaseAfter(name, sort, cursor, size + 1)
+                .collectList()
+                .map(satellites -> {
+                    boolean hasNext = satellites.size() > size;
+                    List<Satellite> pageContent = hasNext ? satellites.subList(0, size) : satellites;
+                    String nextCursor = hasNext ? CursorUtil.encode(pageContent.get(pageContent.size() - 1)) : null;
+                    return PageUtil.getGenericCursorPage(pageContent.stream().map(satelliteMapper::satelliteToSatelliteDto).toList(), size, nextCursor, null);
                 });
+
+        if (!withTotal)
+            return content;
+
+        return content
+                .zipWith(satelliteSortingRepository.countByNameContainingIgnoreCase(name))
+                .map(t -> PageUtil.getGenericCursorPage(t.getT1().getContent(), size, t.getT1().getNextCursor(), t.getT2()));
     }
 
+    private record SatellitesQuery(String name, int page, int size, SortOrder nameOrder, SortOrder dateOrder, String cursor, boolean includeTotal) {}
+
     private Sort getSort(SortOrder nameOrder, SortOrder dateOrder) {
         List<Sort.Order> orders = new ArrayList<>();
 
@@ -0,0 +1,204 @@
+package com.andrea.reactive.service;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.dto.SatelliteDto;
+import com.andrea.reactive.dto.SatelliteUpsertResult;
+import com.andrea.reactive.dto.TleDto;
+import com.andrea.reactive.dto.enumerator.FetchSatelliteResult;
+import com.andrea.reactive.dto.response.TleImportResponse;
+import com.andrea.reactive.exception.DatabaseOperationException;
+import com.andrea.reactive.exception.ValidationException;
+import com.andrea.reactive.utils.TleFileReader;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class TleImportService {
+
+    private static final String CREATE_STAGING_TABLE = "CREATE TEMPORARY TABLE " + SatelliteConstants.IMPORT_STAGING_TABLE_NAME +
+            " (ext_id INT NOT NULL, name VARCHAR(255), date TIMESTAMP WITH TIME ZONE, line1 VARCHAR(255), line2 VARCHAR(255)) ON COMMIT DROP";
+
+    private static final String COPY_STAGING_TABLE = "COPY " + SatelliteConstants.IMPORT_STAGING_TABLE_NAME +
+            " (ext_id, name, date, line1, line2) FROM STDIN";
+
+    private static final String COUNT_STAGED_SATELLITES = "SELECT count(DISTINCT ext_id) AS staged FROM " + SatelliteConstants.IMPORT_STAGING_TABLE_NAME;
+
+    // Same epoch guard as the fetch upsert; DISTINCT ON keeps the newest TLE when a file repeats an object
+    private static final String MERGE_STAGING_TABLE = "INSERT INTO " + SatelliteConstants.TABLE_NAME +
+            " (ext_id, name, date, line1, line2, created_at, updated_at)" +
+            " SELECT DISTINCT ON (ext_id) ext_id, name, date, line1, line2, now(), now() FROM " + SatelliteConstants.IMPORT_STAGING_TABLE_NAME +
+            " ORDER BY ext_id, date DESC" +
+            " ON CONFLICT (ext_id) DO UPDATE SET date = EXCLUDED.date, line1 = EXCLUDED.line1, line2 = EXCLUDED.line2, updated_at = EXCLUDED.updated_at" +
+            " WHERE satellite.date IS NULL OR satellite.date < EXCLUDED.date" +
+            " RETURNING guid, (xmax = 0) AS inserted";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final AsyncCache<UUID, SatelliteDto> satelliteCache;
+    private final CatalogueSnapshotService catalogueSnapshotService;
+    private final EphemerisService ephemerisService;
+
+    @Value("${satellite.import.max-file-size:64MB}")
+    private DataSize maxFileSize;
+
+    public TleImportService(DatabaseClient databaseClient, TransactionalOperator transactionalOperator, AsyncCache<UUID, SatelliteDto> satelliteCache, CatalogueSnapshotService catalogueSnapshotService, EphemerisService ephemerisService) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.satelliteCache = satelliteCache;
+        this.catalogueSnapshotService = catalogueSnapshotService;
+        this.ephemerisService = ephemerisService;
+    }
+
+    /**
+     * Imports a 2LE/3LE text file. The upload is spooled to a temporary file, refused as soon as it grows past
+     * {@code satellite.import.max-file-size} (the multipart disk limit is bound to it), and memory-mapped; TLEs are parsed
+     * and checksum-validated straight from the mapped bytes and streamed with {@code COPY FROM STDIN} into a
+     * transaction-scoped staging table, which is then merged into the satellite table on ext_id in one statement.
+     */
+    public Mono<TleImportResponse> importTle(FilePart file) {
+
+        log.info("Start method - importTle - filename: {}", file.filename());
+
+        return Mono.usingWhen(
+                        Mono.fromCallable(() -> Files.createTempFile("tle-import-", ".txt")).subscribeOn(Schedulers.boundedElastic()),
+                        path -> file.transferTo(path).then(Mono.defer(() -> importFile(path))),
+                        path -> Mono.fromCallable(() -> Files.deleteIfExists(path)).subscribeOn(Schedulers.boundedElastic()))
+                .doOnSuccess(response -> log.info("End method - importTle - filename: {} - new: {} - updated: {} - unchanged: {} - rejected: {}",
+                        file.filename(), response.getNewCount(), response.getUpdatedCount(), response.getUnchangedCount(), response.getRejectedCount()));
+    }
+
+    private Mono<TleImportResponse> importFile(Path path) {
+
+        return Mono.fromCallable(() -> map(path))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(buffer -> {
+                    TleFileReader reader = new TleFileReader(buffer);
+
+                    Mono<Tuple2<Long, List<SatelliteUpsertResult>>> load = databaseClient.sql(CREATE_STAGING_TABLE).then()
+                            .then(databaseClient.inConnection(connection -> unwrap(connection).copyIn(COPY_STAGING_TABLE, toCopyData(reader))))
+                            .then(databaseClient.sql(COUNT_STAGED_SATELLITES).map(row -> row.get("staged", Long.class)).one())
+                            .flatMap(staged -> databaseClient.sql(MERGE_STAGING_TABLE)
+                                    .map(row -> new SatelliteUpsertResult(row.get("guid", UUID.class),
+                                            Boolean.TRUE.equals(row.get("inserted", Boolean.class)) ? FetchSatelliteResult.NEW : FetchSatelliteResult.UPDATED))
+                                    .all()
+                                    .collectList()
+                                    .map(upserts -> Tuples.of(staged, upserts)));
+
+                    return transactionalOperator.transactional(load)
+                            .onErrorMap(e -> new DatabaseOperationException("Failed to import TLE file: " + e.getMessage()))
+                            .flatMap(merged -> {
+                                // Only once the merge is committed, so a concurrent read cannot re-cache the old TLE
+                                List<UUID> updated = merged.getT2().stream()
+                                        .filter(upsert -> upsert.getResult() == FetchSatelliteResult.UPDATED)
+                                        .map(SatelliteUpsertResult::getGuid)
+                                        .toList();
+                                satelliteCache.synchronous().invalidateAll(updated);
+                                ephemerisService.invalidate(updated);
+                                return catalogueSnapshotService.refresh(merged.getT2().stream().map(SatelliteUpsertResult::getGuid).toList())
+                                        .thenReturn(toResponse(merged.getT1(), merged.getT2(), reader.getRejectedCount()));
+                            });
+                });
+    }
+
+    private MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) throw new ValidationException("The TLE file is empty.");
+            // Backstop: the multipart reader already refuses larger uploads while receiving them
+            if (size > maxFileSize.toBytes()) throw new ValidationException("The TLE file exceeds the maximum size of " + maxFileSize + ".");
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /**
+     * Encodes the parsed TLEs as COPY text rows, one chunk per {@link SatelliteConstants#IMPORT_COPY_CHUNK_SIZE} TLEs.
+     * Parsing is pulled by the COPY stream, so the file is never materialised as a whole.
+     */
+    private static Flux<ByteBuf> toCopyData(TleFileReader reader) {
+        return Flux.<TleDto>generate(sink -> {
+                    TleDto tle = reader.next();
+                    if (tle == null) sink.complete();
+                    else sink.next(tle);
+                })
+                .buffer(SatelliteConstants.IMPORT_COPY_CHUNK_SIZE)
+                .map(TleImportService::toCopyChunk)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static ByteBuf toCopyChunk(List<TleDto> tles) {
+        StringBuilder rows = new StringBuilder(tles.size() * 200);
+        for (TleDto tle : tles) {
+            rows.append(tle.getSatelliteId()).append('\t');
+            appendCopyValue(rows, tle.getName()).append('\t');
+            rows.append(tle.getDate()).append('\t');
+            appendCopyValue(rows, tle.getLine1()).append('\t');
+            appendCopyValue(rows, tle.getLine2()).append('\n');
+        }
+        return Unpooled.wrappedBuffer(rows.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static StringBuilder appendCopyValue(StringBuilder rows, String value) {
+        if (value == null) return rows.append("\\N");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> rows.append("\\\\");
+                case '\t' -> rows.append("\\t");
+                case '\n' -> rows.append("\\n");
+                case '\r' -> rows.append("\\r");
+                default -> rows.append(c);
+            }
+        }
+        return rows;
+    }
+
+    private static TleImportResponse toResponse(long staged, List<SatelliteUpsertResult> upserts, int rejectedCount) {
+        int newCount = (int) upserts.stream().filter(upsert -> upsert.getResult() == FetchSatelliteResult.NEW).count();
+        int updatedCount = upserts.size() - newCount;
+        return new TleImportResponse(newCount, updatedCount, (int) staged - newCount - updatedCount, rejectedCount);
+    }
+
+    /**
+     * COPY is a driver extension: look through the Spring close-suppressing proxy and the pool wrapper
+     * to reach the native Postgres connection.
+     */
+    private static PostgresqlConnection unwrap(Connection connection) {
+        Object current = connection;
+        while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?> wrapped) {
+            Object target = wrapped.unwrap();
+            if (target == current) break;
+            current = target;
+        }
+        if (current instanceof PostgresqlConnection postgresqlConnection) return postgresqlConnection;
+        throw new IllegalStateException("COPY requires a Postgres connection, got " + connection.getClass().getName());
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.andrea.reactive.utils;
+
+import com.andrea.reactive.dto.SatelliteCursor;
+import com.andrea.reactive.entity.Satellite;
+import com.andrea.reactive.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+public class CursorUtil {
+
+    private static final String SEPARATOR = ":";
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    /**
+     * Encodes the last (id, date, name) seen into an opaque token. Dates are kept at microsecond precision,
+     * the resolution Postgres stores, so the token seeks back to exactly the same row.
+     */
+    public static String encode(Satellite satellite) {
+        String date = satellite.getDate() == null ? "" : String.valueOf(toEpochMicros(satellite.getDate()));
+        String raw = satellite.getId() + SEPARATOR + date + SEPARATOR + (satellite.getName() == null ? "" : satellite.getName());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SatelliteCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 3);
+            if (parts.length != 3) throw new IllegalArgumentException("Malformed cursor");
+
+            Integer id = Integer.valueOf(parts[0]);
+            OffsetDateTime date = parts[1].isEmpty() ? null : fromEpochMicros(Long.parseLong(parts[1]));
+            return new SatelliteCursor(id, parts[2], date);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor parameter.");
+        }
+    }
+
+    private static long toEpochMicros(OffsetDateTime date) {
+        Instant instant = date.toInstant();
+        return instant.getEpochSecond() * MICROS_PER_SECOND + instant.getNano() / 1_000;
+    }
+
+    private static OffsetDateTime fromEpochMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND), Math.floorMod(micros, MICROS_PER_SECOND) * 1_000)
+                .atOffset(ZoneOffset.UTC);
+    }
+
+}
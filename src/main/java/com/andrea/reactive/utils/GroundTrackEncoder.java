@@ -0,0 +1,42 @@
+package com.andrea.reactive.utils;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary encoding of ground-track samples: fixed-size big-endian records of
+ * <pre>
+ * int32   index of the satellite in the request (0 for a single satellite)
+ * int64   instant, microseconds since the Unix epoch
+ * float32 geodetic latitude, degrees
+ * float32 longitude, degrees east
+ * float32 altitude above the WGS-84 ellipsoid, km
+ * </pre>
+ * Samples that could not be computed have NaN coordinates. Records are written into a heap buffer which is then
+ * wrapped, not copied, by the factory, so a chunk of samples is one socket write.
+ */
+public class GroundTrackEncoder {
+
+    public static final int RECORD_SIZE = 4 + 8 + 3 * 4;
+
+    private final ByteBuffer records;
+
+    public GroundTrackEncoder(int capacity) {
+        this.records = ByteBuffer.allocate(capacity * RECORD_SIZE);
+    }
+
+    public void write(int index, long epochMicros, double latitude, double longitude, double altitude) {
+        records.putInt(index)
+                .putLong(epochMicros)
+                .putFloat((float) latitude)
+                .putFloat((float) longitude)
+                .putFloat((float) altitude);
+    }
+
+    public DataBuffer toDataBuffer(DataBufferFactory bufferFactory) {
+        return bufferFactory.wrap(records.flip());
+    }
+
+}
@@ -2,6 +2,9 @@ package com.andrea.reactive.utils;
 
 import com.andrea.reactive.dto.response.GenericPagedResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
 
 public class PageUtil {
 
@@ -15,4 +18,22 @@ public class PageUtil {
                 .build();
     }
 
+    public static GenericPagedResponse getGenericPage(List<?> content, Pageable pageable) {
+        return GenericPagedResponse.builder()
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .content(content)
+                .build();
+    }
+
+    public static GenericPagedResponse getGenericCursorPage(List<?> content, int size, String nextCursor, Long totalElements) {
+        return GenericPagedResponse.builder()
+                .totalPages(totalElements == null ? null : (int) Math.ceil((double) totalElements / size))
+                .totalElements(totalElements)
+                .size(size)
+                .content(content)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
 }
@@ -0,0 +1,77 @@
+package com.andrea.reactive.utils;
+
+import com.andrea.reactive.exception.ExternalAPIException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class RetryUtil {
+
+    /**
+     * Retries transient external API failures (429, 5xx and connection errors) with exponential, jittered backoff.
+     * When the server sends a Retry-After header its delay is used instead, capped at {@code maxRetryAfter}.
+     */
+    public static Retry externalApiRetry(int maxAttempts, Duration minBackoff, Duration maxBackoff, double jitter, Duration maxRetryAfter) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+
+            if (!isRetryable(failure))
+                return Mono.error(failure);
+            if (signal.totalRetries() >= maxAttempts)
+                return Mono.error(new ExternalAPIException("Resource limit exceeded, retries exhausted"));
+
+            Duration delay = getRetryAfter(failure)
+                    .map(retryAfter -> retryAfter.compareTo(maxRetryAfter) > 0 ? maxRetryAfter : retryAfter)
+                    .orElseGet(() -> getJitteredBackoff(signal.totalRetries(), minBackoff, maxBackoff, jitter));
+
+            return Mono.delay(delay);
+        }));
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        if (failure instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || responseException.getStatusCode().is5xxServerError();
+        }
+        return failure instanceof WebClientRequestException;
+    }
+
+    private static Optional<Duration> getRetryAfter(Throwable failure) {
+        if (!(failure instanceof WebClientResponseException responseException))
+            return Optional.empty();
+
+        String retryAfter = responseException.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null || retryAfter.isBlank())
+            return Optional.empty();
+
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim()))));
+        } catch (NumberFormatException e) {
+            try {
+                Duration untilDate = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return Optional.of(untilDate.isNegative() ? Duration.ZERO : untilDate);
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static Duration getJitteredBackoff(long retry, Duration minBackoff, Duration maxBackoff, double jitter) {
+        long base = minBackoff.toMillis() * (1L << Math.min(retry, 30));
+        long capped = Math.min(base, maxBackoff.toMillis());
+        long spread = (long) (capped * jitter);
+        long delay = capped + (spread > 0 ? ThreadLocalRandom.current().nextLong(-spread, spread + 1) : 0);
+        return Duration.ofMillis(Math.max(minBackoff.toMillis(), delay));
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.andrea.reactive.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical keyed lookups: while a lookup for a key is in flight, every other caller for that
+ * key subscribes to the same result instead of starting its own. The shared lookup runs to completion even if some
+ * of its subscribers cancel, and is forgotten as soon as it completes, so nothing is cached beyond that.
+ * Executed and coalesced calls are counted in the {@code singleflight.calls} metric, tagged by name.
+ */
+public class SingleFlight<K, V> {
+
+    private static final String METRIC_NAME = "singleflight.calls";
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executedCalls;
+    private final Counter coalescedCalls;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executedCalls = Counter.builder(METRIC_NAME).tag("name", name).tag("outcome", "executed").register(meterRegistry);
+        this.coalescedCalls = Counter.builder(METRIC_NAME).tag("name", name).tag("outcome", "coalesced").register(meterRegistry);
+    }
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+
+            if (existing != null) {
+                coalescedCalls.increment();
+                return Mono.fromFuture(existing, true);
+            }
+
+            executedCalls.increment();
+            created.whenComplete((value, error) -> inFlight.remove(key, created));
+
+            try {
+                loader.get().subscribe(created::complete, created::completeExceptionally, () -> created.complete(null));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+
+            return Mono.fromFuture(created, true);
+        });
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+}
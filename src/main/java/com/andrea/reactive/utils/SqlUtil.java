@@ -0,0 +1,12 @@
+package com.andrea.reactive.utils;
+
+public class SqlUtil {
+
+    /**
+     * Escapes the LIKE wildcards in {@code value} with Postgres' default escape character, so it matches literally.
+     */
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+}
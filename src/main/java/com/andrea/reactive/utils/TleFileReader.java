@@ -0,0 +1,134 @@
+package com.andrea.reactive.utils;
+
+import com.andrea.reactive.dto.TleDto;
+import com.andrea.reactive.orbit.TleElements;
+import com.andrea.reactive.orbit.TleParser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sequential reader of 2LE/3LE text held in a {@link ByteBuffer}, typically a memory-mapped file.
+ * Lines are copied into small reusable arrays and validated there with {@link TleParser};
+ * Strings are only created for accepted TLEs.
+ * A TLE is accepted when line 1 and line 2 follow each other and {@link TleParser#parse} accepts the pair.
+ * Anything else (broken pairs, checksum errors, malformed fields) is counted as rejected.
+ * Names longer than the satellite table holds are truncated.
+ * Not thread-safe.
+ */
+public class TleFileReader {
+
+    private static final int MAX_LINE_LENGTH = 256;
+    // Characters, as satellite.name is VARCHAR(255)
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final String NAME_PREFIX = "0 ";
+
+    private final ByteBuffer buffer;
+    private int position;
+
+    private final byte[] line = new byte[MAX_LINE_LENGTH];
+    private final byte[] name = new byte[MAX_LINE_LENGTH];
+    private final byte[] line1 = new byte[MAX_LINE_LENGTH];
+    private final AsciiCharSequence lineView = new AsciiCharSequence();
+    private final AsciiCharSequence line1View = new AsciiCharSequence();
+    private final TleElements elements = new TleElements();
+    private int nameLength;
+    private boolean hasLine1;
+
+    private int rejectedCount;
+
+    public TleFileReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.position = buffer.position();
+    }
+
+    /**
+     * Returns the next valid TLE, or null once the buffer is exhausted.
+     */
+    public TleDto next() {
+        int length;
+        while ((length = readLine()) >= 0) {
+            if (length == 0) continue;
+
+            lineView.wrap(line, 0, length);
+            if (TleParser.isLine(lineView, '1')) {
+                if (hasLine1) rejectedCount++;
+                System.arraycopy(line, 0, line1, 0, TleParser.LINE_LENGTH);
+                hasLine1 = true;
+            } else if (TleParser.isLine(lineView, '2')) {
+                TleDto tle = hasLine1 ? toTle() : null;
+                if (tle == null) rejectedCount++;
+                hasLine1 = false;
+                nameLength = 0;
+                if (tle != null) return tle;
+            } else {
+                if (hasLine1) {
+                    rejectedCount++;
+                    hasLine1 = false;
+                }
+                System.arraycopy(line, 0, name, 0, length);
+                nameLength = length;
+            }
+        }
+
+        if (hasLine1) {
+            rejectedCount++;
+            hasLine1 = false;
+        }
+        return null;
+    }
+
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    private TleDto toTle() {
+        if (!TleParser.parse(line1View.wrap(line1, 0, TleParser.LINE_LENGTH), lineView.wrap(line, 0, TleParser.LINE_LENGTH), elements)) return null;
+
+        return new TleDto(elements.getNoradId(), decodeName(),
+                elements.getEpoch(),
+                new String(line1, 0, TleParser.LINE_LENGTH, StandardCharsets.US_ASCII),
+                new String(line, 0, TleParser.LINE_LENGTH, StandardCharsets.US_ASCII));
+    }
+
+    private String decodeName() {
+        if (nameLength == 0) return null;
+        String decoded = new String(name, 0, utf8Boundary(name, nameLength), StandardCharsets.UTF_8);
+        if (decoded.startsWith(NAME_PREFIX)) decoded = decoded.substring(NAME_PREFIX.length()).trim();
+        if (decoded.length() <= MAX_NAME_LENGTH) return decoded;
+        // Never split a surrogate pair
+        int end = Character.isHighSurrogate(decoded.charAt(MAX_NAME_LENGTH - 1)) ? MAX_NAME_LENGTH - 1 : MAX_NAME_LENGTH;
+        return decoded.substring(0, end);
+    }
+
+    /**
+     * Length of {@code bytes} without a trailing UTF-8 sequence that {@link #readLine} cut short.
+     */
+    private static int utf8Boundary(byte[] bytes, int length) {
+        int lead = length;
+        while (lead > 0 && (bytes[lead - 1] & 0xC0) == 0x80) lead--;
+        if (lead == 0) return length;
+        int first = bytes[lead - 1] & 0xFF;
+        int size = first >= 0xF0 ? 4 : first >= 0xE0 ? 3 : first >= 0xC0 ? 2 : 1;
+        return length - (lead - 1) < size ? lead - 1 : length;
+    }
+
+    /**
+     * Copies the next line into {@link #line}, without its terminator and trailing whitespace, and returns its length,
+     * or -1 at the end of the buffer. Lines longer than {@link #MAX_LINE_LENGTH} are cut.
+     */
+    private int readLine() {
+        int limit = buffer.limit();
+        if (position >= limit) return -1;
+
+        int length = 0;
+        while (position < limit) {
+            byte c = buffer.get(position++);
+            if (c == '\n') break;
+            if (length < MAX_LINE_LENGTH) line[length++] = c;
+        }
+        while (length > 0 && (line[length - 1] == '\r' || line[length - 1] == ' ' || line[length - 1] == '\t')) length--;
+        return length;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.andrea.reactive.utils;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes TLE records as plain 3LE text ({@code name\nline1\nline2\n}) straight into buffers of the given factory,
+ * which on the Netty server are pooled direct buffers handed to the socket as they are.
+ * A missing name is written as an empty line, which TLE readers (including {@link TleFileReader}) skip.
+ */
+public class TleTextEncoder {
+
+    private static final byte NEW_LINE = '\n';
+
+    public static DataBuffer encode(String name, String line1, String line2, DataBufferFactory bufferFactory) {
+        // Names may be multibyte, TLE lines are ASCII
+        int capacity = (name == null ? 0 : name.length() * 3) + line1.length() + line2.length() + 3;
+        DataBuffer buffer = bufferFactory.allocateBuffer(capacity);
+        if (name != null) buffer.write(name, StandardCharsets.UTF_8);
+        buffer.write(NEW_LINE);
+        buffer.write(line1, StandardCharsets.US_ASCII);
+        buffer.write(NEW_LINE);
+        buffer.write(line2, StandardCharsets.US_ASCII);
+        buffer.write(NEW_LINE);
+        return buffer;
+    }
+
+}
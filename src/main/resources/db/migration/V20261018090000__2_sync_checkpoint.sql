@@ -0,0 +1,7 @@
+CREATE TABLE sync_checkpoint (
+                                 sync_key VARCHAR(255) PRIMARY KEY,
+                                 page_size INT NOT NULL,
+                                 last_page INT NOT NULL DEFAULT 0,
+                                 completed BOOLEAN NOT NULL DEFAULT FALSE,
+                                 updated_at TIMESTAMP WITH TIME ZONE default now()
+);
@@ -0,0 +1 @@
+ALTER TABLE sync_checkpoint ADD COLUMN watermark TIMESTAMP WITH TIME ZONE;
@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Spring Data derives ContainingIgnoreCase as UPPER(name) LIKE UPPER(?), so the trigram index is built on that exact expression
+CREATE INDEX IF NOT EXISTS idx_satellite_name_upper_trgm ON satellite USING gin (upper(name) gin_trgm_ops);
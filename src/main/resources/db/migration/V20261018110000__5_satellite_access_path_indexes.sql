@@ -0,0 +1,8 @@
+-- findByGuid (get, update, delete)
+CREATE UNIQUE INDEX IF NOT EXISTS idx_satellite_guid ON satellite (guid);
+
+-- /list ordered by date, id is the keyset tie-breaker
+CREATE INDEX IF NOT EXISTS idx_satellite_date_id ON satellite (date, id);
+
+-- /list ordered by name, id is the keyset tie-breaker; name then date orders reuse it through an incremental sort
+CREATE INDEX IF NOT EXISTS idx_satellite_name_id ON satellite (name, id);
@@ -0,0 +1,133 @@
+package com.andrea.reactive.benchmark;
+
+import com.andrea.reactive.orbit.Conjunction;
+import com.andrea.reactive.orbit.ConjunctionScreener;
+import com.andrea.reactive.orbit.Sgp4Propagator;
+import com.andrea.reactive.orbit.TleElements;
+import com.andrea.reactive.orbit.TleParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE2;
+
+/**
+ * Time to screen one hour (60 one-minute steps) of a synthetic catalogue for approaches within 5 km with
+ * {@link ConjunctionScreener}, by catalogue size and number of cores screening steps in parallel, against the
+ * all-pairs comparison of a single step it replaces.
+ * Run with: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test "-Dexec.args=-cp %classpath com.andrea.reactive.benchmark.ConjunctionScreenerBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ConjunctionScreenerBenchmark {
+
+    private static final long HOUR_MICROS = 3_600_000_000L;
+    private static final long STEP_MICROS = 60_000_000L;
+    private static final double DISTANCE_KM = 5.0;
+
+    @Param({"5000", "10000", "20000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8"})
+    private int cores;
+
+    private List<Sgp4Propagator> propagators;
+    private ConjunctionScreener screener;
+    private ForkJoinPool pool;
+    private double[] states;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        TleElements elements = new TleElements();
+        TleParser.parse(ISS_LINE1, ISS_LINE2, elements);
+        long epoch = elements.getEpochMicros();
+        Random random = new Random(42);
+
+        // Mostly low orbits as in the real catalogue, with a tail of medium and geostationary ones
+        propagators = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double kind = random.nextDouble();
+            set(elements, "noradId", i);
+            set(elements, "inclination", kind < 0.9 ? 50.0 + random.nextDouble() * 50.0 : random.nextDouble() * 60.0);
+            set(elements, "raan", random.nextDouble() * 360.0);
+            set(elements, "eccentricity", random.nextDouble() * 0.01);
+            set(elements, "argumentOfPerigee", random.nextDouble() * 360.0);
+            set(elements, "meanAnomaly", random.nextDouble() * 360.0);
+            set(elements, "meanMotion", kind < 0.9 ? 13.5 + random.nextDouble() * 2.0 : kind < 0.95 ? 2.0 + random.nextDouble() : 1.0027);
+            set(elements, "bstar", 0.0);
+            propagators.add(Sgp4Propagator.create(elements, ISS_LINE1, ISS_LINE2));
+        }
+
+        screener = new ConjunctionScreener(propagators, epoch, epoch + HOUR_MICROS, STEP_MICROS, DISTANCE_KM);
+        pool = new ForkJoinPool(cores);
+        states = new double[size * Sgp4Propagator.STATE_SIZE];
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Conjunction> screenHour() throws Exception {
+        return pool.submit(() -> IntStream.range(0, screener.steps())
+                .parallel()
+                .mapToObj(screener::screenStep)
+                .flatMap(List::stream)
+                .toList()).get();
+    }
+
+    @Benchmark
+    public int allPairsOneStep() {
+        if (cores != 1) return 0;
+        int n = propagators.size();
+        for (int i = 0; i < n; i++) propagators.get(i).propagate(0.0, states, i * Sgp4Propagator.STATE_SIZE);
+        int close = 0;
+        for (int i = 0; i < n; i++) {
+            int a = i * Sgp4Propagator.STATE_SIZE;
+            for (int j = i + 1; j < n; j++) {
+                int b = j * Sgp4Propagator.STATE_SIZE;
+                double dx = states[b] - states[a], dy = states[b + 1] - states[a + 1], dz = states[b + 2] - states[a + 2];
+                if (dx * dx + dy * dy + dz * dz <= DISTANCE_KM * DISTANCE_KM) close++;
+            }
+        }
+        return close;
+    }
+
+    private static void set(TleElements elements, String field, Object value) throws ReflectiveOperationException {
+        var f = TleElements.class.getDeclaredField(field);
+        f.setAccessible(true);
+        f.set(elements, value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ConjunctionScreenerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.andrea.reactive.benchmark;
+
+import com.andrea.reactive.orbit.ElementColumn;
+import com.andrea.reactive.orbit.ElementColumns;
+import com.andrea.reactive.orbit.ElementRange;
+import com.andrea.reactive.orbit.TleElements;
+import com.andrea.reactive.orbit.TleParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE2;
+
+/**
+ * Latency of a catalogue query over {@link ElementColumns}: "sun-synchronous LEO objects with a recent epoch,
+ * newest first", the selection scan plus the top-100 sort, on a synthetic catalogue.
+ * Run with: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test "-Dexec.args=-cp %classpath com.andrea.reactive.benchmark.ElementColumnsBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ElementColumnsBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private final ElementColumns columns = new ElementColumns();
+    private List<ElementRange> ranges;
+    private int[] selection;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        TleElements elements = new TleElements();
+        TleParser.parse(ISS_LINE1, ISS_LINE2, elements);
+        Random random = new Random(42);
+        long now = elements.getEpochMicros();
+
+        for (int i = 0; i < size; i++) {
+            set(elements, "noradId", i);
+            set(elements, "inclination", random.nextDouble() * 180.0);
+            set(elements, "eccentricity", random.nextDouble() * 0.2);
+            set(elements, "meanMotion", 1.0 + random.nextDouble() * 15.0);
+            set(elements, "epochMicros", now - (long) (random.nextDouble() * 30 * 86_400_000_000L));
+            columns.upsert(new UUID(0, i), elements);
+        }
+
+        ranges = List.of(
+                new ElementRange(ElementColumn.INCLINATION, 97.0, 99.0),
+                new ElementRange(ElementColumn.APOGEE, Double.NEGATIVE_INFINITY, 2000.0),
+                new ElementRange(ElementColumn.EPOCH, now - 3 * 86_400_000_000L, Double.POSITIVE_INFINITY));
+        selection = new int[size];
+    }
+
+    @Benchmark
+    public int[] query() {
+        int matched = columns.select(ranges, selection);
+        return columns.top(selection, matched, ElementColumn.EPOCH, true, 100);
+    }
+
+    @Benchmark
+    public int[] queryAllSorted() {
+        int matched = columns.select(List.of(), selection);
+        return columns.top(selection, matched, ElementColumn.APOGEE, false, 100);
+    }
+
+    private static void set(TleElements elements, String field, Object value) throws ReflectiveOperationException {
+        var f = TleElements.class.getDeclaredField(field);
+        f.setAccessible(true);
+        f.set(elements, value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ElementColumnsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.andrea.reactive.benchmark;
+
+import com.andrea.reactive.orbit.Ephemeris;
+import com.andrea.reactive.orbit.Sgp4Propagator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.MOLNIYA_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.MOLNIYA_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.create;
+
+/**
+ * Position queries/sec on one core answered by {@link Ephemeris} interpolation against direct {@link Sgp4Propagator}
+ * propagation, for a near-earth and a resonant deep-space orbit, and the cost of building one segment.
+ * Run with: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test "-Dexec.args=-cp %classpath com.andrea.reactive.benchmark.EphemerisBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EphemerisBenchmark {
+
+    // Queries a second apart, as for a live position feed
+    private static final long QUERY_STEP_MICROS = 1_000_000L;
+
+    private final double[] state = new double[Sgp4Propagator.STATE_SIZE];
+    private Sgp4Propagator nearEarth;
+    private Sgp4Propagator deepSpace;
+    private Ephemeris nearEarthEphemeris;
+    private Ephemeris deepSpaceEphemeris;
+    private long nearEarthStart;
+    private long deepSpaceStart;
+    private long nearEarthSpan;
+    private long deepSpaceSpan;
+    private long offset;
+
+    @Setup
+    public void setUp() {
+        nearEarth = create(ISS_LINE1, ISS_LINE2);
+        deepSpace = create(MOLNIYA_LINE1, MOLNIYA_LINE2);
+
+        long nearEarthStep = Ephemeris.stepMicros(nearEarth);
+        long nearEarthSegment = Ephemeris.segment(nearEarthStep, nearEarth.getEpochMicros() + 86_400_000_000L);
+        nearEarthEphemeris = Ephemeris.build(nearEarth, nearEarthStep, nearEarthSegment);
+        nearEarthStart = nearEarthSegment * Ephemeris.NODES_PER_SEGMENT * nearEarthStep;
+        nearEarthSpan = Ephemeris.NODES_PER_SEGMENT * nearEarthStep;
+
+        long deepSpaceStep = Ephemeris.stepMicros(deepSpace);
+        long deepSpaceSegment = Ephemeris.segment(deepSpaceStep, deepSpace.getEpochMicros() + 86_400_000_000L);
+        deepSpaceEphemeris = Ephemeris.build(deepSpace, deepSpaceStep, deepSpaceSegment);
+        deepSpaceStart = deepSpaceSegment * Ephemeris.NODES_PER_SEGMENT * deepSpaceStep;
+        deepSpaceSpan = Ephemeris.NODES_PER_SEGMENT * deepSpaceStep;
+    }
+
+    @Benchmark
+    public double propagateNearEarth() {
+        long at = nearEarthStart + next(nearEarthSpan);
+        nearEarth.propagate(nearEarth.minutesSinceEpoch(at), state, 0);
+        return state[0];
+    }
+
+    @Benchmark
+    public double interpolateNearEarth() {
+        nearEarthEphemeris.propagate(nearEarthStart + next(nearEarthSpan), state, 0);
+        return state[0];
+    }
+
+    @Benchmark
+    public double propagateDeepSpace() {
+        long at = deepSpaceStart + next(deepSpaceSpan);
+        deepSpace.propagate(deepSpace.minutesSinceEpoch(at), state, 0);
+        return state[0];
+    }
+
+    @Benchmark
+    public double interpolateDeepSpace() {
+        deepSpaceEphemeris.propagate(deepSpaceStart + next(deepSpaceSpan), state, 0);
+        return state[0];
+    }
+
+    @Benchmark
+    public Ephemeris buildNearEarth() {
+        return Ephemeris.build(nearEarth, Ephemeris.stepMicros(nearEarth), Ephemeris.segment(Ephemeris.stepMicros(nearEarth), nearEarthStart));
+    }
+
+    private long next(long span) {
+        // Vary the time so the call cannot be hoisted out of the loop
+        offset = offset + QUERY_STEP_MICROS >= span ? 0 : offset + QUERY_STEP_MICROS;
+        return offset;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EphemerisBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
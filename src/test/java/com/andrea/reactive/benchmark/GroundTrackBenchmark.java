@@ -0,0 +1,72 @@
+package com.andrea.reactive.benchmark;
+
+import com.andrea.reactive.orbit.GroundTrack;
+import com.andrea.reactive.orbit.Sgp4Propagator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.create;
+
+/**
+ * Time on one core to sample one day of the ISS ground track, at a step the track interpolates on its ephemeris
+ * segments and at a step it propagates directly.
+ * Run with: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test "-Dexec.args=-cp %classpath com.andrea.reactive.benchmark.GroundTrackBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroundTrackBenchmark {
+
+    private static final long DAY_MICROS = 86_400_000_000L;
+
+    @Param({"10", "300"})
+    private int stepSeconds;
+
+    private final double[] sample = new double[GroundTrack.SAMPLE_SIZE];
+    private Sgp4Propagator propagator;
+
+    @Setup
+    public void setUp() {
+        propagator = create(ISS_LINE1, ISS_LINE2);
+    }
+
+    @Benchmark
+    public double sampleOneDay() {
+        long start = propagator.getEpochMicros();
+        GroundTrack track = new GroundTrack(propagator, start, start + DAY_MICROS, stepSeconds * 1_000_000L);
+        double sum = 0;
+        while (track.hasNext()) {
+            track.next(sample, 0);
+            sum += sample[0];
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GroundTrackBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
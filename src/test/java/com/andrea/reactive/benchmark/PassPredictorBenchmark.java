@@ -0,0 +1,91 @@
+package com.andrea.reactive.benchmark;
+
+import com.andrea.reactive.orbit.GroundStation;
+import com.andrea.reactive.orbit.Pass;
+import com.andrea.reactive.orbit.PassPredictor;
+import com.andrea.reactive.orbit.Sgp4Propagator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.MOLNIYA_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.MOLNIYA_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.create;
+
+/**
+ * Time on one core to predict 24 hours of passes of one satellite over one station with {@link PassPredictor},
+ * for a low orbit, a Molniya orbit and a geostationary satellite out of view; multiply by the catalogue size
+ * and divide by the cores for a catalogue-wide prediction.
+ * Run with: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test "-Dexec.args=-cp %classpath com.andrea.reactive.benchmark.PassPredictorBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PassPredictorBenchmark {
+
+    private static final String GEO_LINE1 = "1 28884U 05041A   06176.46657856 -.00000273  00000-0  10000-3 0  1459";
+    private static final String GEO_LINE2 = "2 28884   0.0281 357.7240 0002481 124.2164  87.1008  1.00273632  2664";
+
+    private static final long DAY_MICROS = 86_400_000_000L;
+    private static final long STEP_MICROS = 60_000_000L;
+
+    private final List<GroundStation> stations = List.of(new GroundStation("Rome", 41.9, 12.5, 20));
+    private Sgp4Propagator nearEarth;
+    private Sgp4Propagator molniya;
+    private Sgp4Propagator geostationary;
+    private PassPredictor nearEarthWindow;
+    private PassPredictor deepSpaceWindow;
+
+    @Setup
+    public void setUp() {
+        nearEarth = create(ISS_LINE1, ISS_LINE2);
+        molniya = create(MOLNIYA_LINE1, MOLNIYA_LINE2);
+        geostationary = create(GEO_LINE1, GEO_LINE2);
+        long nearEarthStart = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.parse("2008-09-20T12:00:00Z"));
+        long deepSpaceStart = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.parse("2006-06-25T12:00:00Z"));
+        nearEarthWindow = new PassPredictor(stations, nearEarthStart, nearEarthStart + DAY_MICROS, STEP_MICROS, 10.0);
+        deepSpaceWindow = new PassPredictor(stations, deepSpaceStart, deepSpaceStart + DAY_MICROS, STEP_MICROS, 10.0);
+    }
+
+    @Benchmark
+    public List<Pass> nearEarth() {
+        return nearEarthWindow.predict(nearEarth);
+    }
+
+    @Benchmark
+    public List<Pass> molniya() {
+        return deepSpaceWindow.predict(molniya);
+    }
+
+    @Benchmark
+    public List<Pass> geostationary() {
+        return deepSpaceWindow.predict(geostationary);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PassPredictorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.andrea.reactive.benchmark;
+
+import com.andrea.reactive.orbit.Sgp4Propagator;
+import com.andrea.reactive.orbit.TleElements;
+import com.andrea.reactive.orbit.TleParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.MOLNIYA_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.MOLNIYA_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.create;
+
+/**
+ * Propagations/sec on one core of {@link Sgp4Propagator}, for a near-earth orbit, a resonant deep-space orbit
+ * (the worst case, integrated from the epoch) and initialisation from parsed elements.
+ * Run with: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test "-Dexec.args=-cp %classpath com.andrea.reactive.benchmark.Sgp4Benchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Sgp4Benchmark {
+
+    // A day after epoch, the usual age of a catalogue TLE
+    private static final double TSINCE_MINUTES = 1440.0;
+
+    private final TleElements elements = new TleElements();
+    private final double[] state = new double[Sgp4Propagator.STATE_SIZE];
+    private Sgp4Propagator nearEarth;
+    private Sgp4Propagator deepSpace;
+    private double tsince;
+
+    @Setup
+    public void setUp() {
+        deepSpace = create(MOLNIYA_LINE1, MOLNIYA_LINE2);
+        nearEarth = create(ISS_LINE1, ISS_LINE2);
+        TleParser.parse(ISS_LINE1, ISS_LINE2, elements);
+    }
+
+    @Benchmark
+    public double propagateNearEarth() {
+        // Vary the time so the call cannot be hoisted out of the loop
+        tsince = tsince >= TSINCE_MINUTES ? 0.0 : tsince + 1.0;
+        nearEarth.propagate(tsince, state, 0);
+        return state[0];
+    }
+
+    @Benchmark
+    public double propagateDeepSpace() {
+        tsince = tsince >= TSINCE_MINUTES ? 0.0 : tsince + 1.0;
+        deepSpace.propagate(tsince, state, 0);
+        return state[0];
+    }
+
+    @Benchmark
+    public Sgp4Propagator initialise() {
+        return Sgp4Propagator.create(elements, ISS_LINE1, ISS_LINE2);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(Sgp4Benchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.andrea.reactive.benchmark;
+
+import com.andrea.reactive.dto.SatelliteDto;
+import com.andrea.reactive.dto.response.GenericPagedResponse;
+import com.andrea.reactive.entity.Satellite;
+import com.andrea.reactive.mapper.SatelliteMapper;
+import com.andrea.reactive.utils.PageUtil;
+import com.andrea.reactive.utils.TleTextEncoder;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE2;
+
+/**
+ * Encoding cost of one page of satellites as TLE text (the /export.tle path) versus JSON (the /list path),
+ * both written into pooled Netty buffers as the server does. Database decoding is common to both and left out.
+ * The bytes counter gives bytes/sec; the gc profiler adds allocated bytes per operation (gc.alloc.rate.norm).
+ * Run with: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test "-Dexec.args=-cp %classpath com.andrea.reactive.benchmark.TleExportBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TleExportBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private final Jackson2JsonEncoder jsonEncoder = new Jackson2JsonEncoder(Jackson2ObjectMapperBuilder.json().build());
+    private final SatelliteMapper satelliteMapper = Mappers.getMapper(SatelliteMapper.class);
+    private List<Satellite> satellites;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+
+    }
+
+    @Setup
+    public void setUp() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        satellites = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            satellites.add(Satellite.builder()
+                    .id(i)
+                    .guid(UUID.randomUUID())
+                    .extId(i)
+                    .name("SATELLITE " + i)
+                    .date(now)
+                    .line1(ISS_LINE1)
+                    .line2(ISS_LINE2)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public int tleText(Bytes counter) {
+        List<DataBuffer> records = new ArrayList<>(satellites.size());
+        for (Satellite satellite : satellites) {
+            records.add(TleTextEncoder.encode(satellite.getName(), satellite.getLine1(), satellite.getLine2(), bufferFactory));
+        }
+        return release(bufferFactory.join(records), counter);
+    }
+
+    @Benchmark
+    public int jsonList(Bytes counter) {
+        List<SatelliteDto> content = satellites.stream().map(satelliteMapper::satelliteToSatelliteDto).toList();
+        GenericPagedResponse page = PageUtil.getGenericPage(content, PageRequest.of(0, size));
+        DataBuffer buffer = jsonEncoder.encodeValue(page, bufferFactory, ResolvableType.forInstance(page), MediaType.APPLICATION_JSON, null);
+        return release(buffer, counter);
+    }
+
+    private static int release(DataBuffer buffer, Bytes counter) {
+        int written = buffer.readableByteCount();
+        counter.bytes += written;
+        DataBufferUtils.release(buffer);
+        return written;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TleExportBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.andrea.reactive.benchmark;
+
+import com.andrea.reactive.orbit.TleElements;
+import com.andrea.reactive.orbit.TleParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE2;
+
+/**
+ * Parses/sec and bytes allocated per parse (gc.alloc.rate.norm) of {@link TleParser} into a reused
+ * {@link TleElements}, against the substring/Double.parseDouble decoding it replaces.
+ * Run with: mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test "-Dexec.args=-cp %classpath com.andrea.reactive.benchmark.TleParserBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TleParserBenchmark {
+
+    private final TleElements elements = new TleElements();
+
+    @Benchmark
+    public boolean tleParser() {
+        return TleParser.parse(ISS_LINE1, ISS_LINE2, elements);
+    }
+
+    @Benchmark
+    public void substringParse(Blackhole blackhole) {
+        blackhole.consume(Integer.parseInt(ISS_LINE1.substring(2, 7).trim()));
+        blackhole.consume(Double.parseDouble(ISS_LINE1.substring(18, 32).trim()));
+        blackhole.consume(Double.parseDouble(ISS_LINE1.substring(33, 43).trim()));
+        blackhole.consume(Double.parseDouble(ISS_LINE1.substring(53, 54).trim() + "0." + ISS_LINE1.substring(54, 59) + "e" + ISS_LINE1.substring(59, 61).trim()));
+        blackhole.consume(Double.parseDouble(ISS_LINE2.substring(8, 16).trim()));
+        blackhole.consume(Double.parseDouble(ISS_LINE2.substring(17, 25).trim()));
+        blackhole.consume(Double.parseDouble("0." + ISS_LINE2.substring(26, 33)));
+        blackhole.consume(Double.parseDouble(ISS_LINE2.substring(34, 42).trim()));
+        blackhole.consume(Double.parseDouble(ISS_LINE2.substring(43, 51).trim()));
+        blackhole.consume(Double.parseDouble(ISS_LINE2.substring(52, 63).trim()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TleParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
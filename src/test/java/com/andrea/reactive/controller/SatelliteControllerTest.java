@@ -1,11 +1,28 @@
 package com.andrea.reactive.controller;
 
+import com.andrea.reactive.dto.SatelliteDto;
 import com.andrea.reactive.dto.TleDto;
+import com.andrea.reactive.dto.request.BatchGetSatelliteRequest;
+import com.andrea.reactive.dto.enumerator.JobStatus;
+import com.andrea.reactive.dto.request.ConjunctionScreeningRequest;
 import com.andrea.reactive.dto.request.CreateSatelliteRequest;
+import com.andrea.reactive.dto.request.GroundStationRequest;
+import com.andrea.reactive.dto.request.GroundTracksRequest;
+import com.andrea.reactive.dto.request.SatellitePassesRequest;
+import com.andrea.reactive.dto.request.SatellitePositionsRequest;
 import com.andrea.reactive.dto.request.UpdateSatelliteRequest;
+import com.andrea.reactive.dto.response.BulkSatelliteResult;
+import com.andrea.reactive.dto.response.ConjunctionJobResponse;
+import com.andrea.reactive.dto.response.GenericPagedResponse;
+import com.andrea.reactive.dto.response.GroundTrackPointResponse;
+import com.andrea.reactive.dto.response.LivePositionsResponse;
+import com.andrea.reactive.dto.response.SatellitePassResponse;
+import com.andrea.reactive.dto.response.SatellitePositionResponse;
 import com.andrea.reactive.dto.response.externalApi.ExternalSatelliteApiResponse;
 import com.andrea.reactive.dto.response.externalApi.FetchSatelliteResponse;
+import com.andrea.reactive.service.CatalogueSnapshotService;
 import com.andrea.reactive.service.HttpService;
+import com.andrea.reactive.utils.GroundTrackEncoder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,16 +35,25 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -58,6 +84,9 @@ public class SatelliteControllerTest {
     @Autowired
     private R2dbcEntityTemplate r2dbcEntityTemplate;
 
+    @Autowired
+    private CatalogueSnapshotService catalogueSnapshotService;
+
     @LocalServerPort
     private int port;
 
@@ -75,6 +104,7 @@ public class SatelliteControllerTest {
         webTestClient = WebTestClient.bindToServer().baseUrl("http://localhost:"+port).build();
 
         databaseClient.sql("DROP TABLE IF EXISTS satellite").then().block();
+        databaseClient.sql("DROP TABLE IF EXISTS sync_checkpoint").then().block();
 
         String createSchema =
                 "CREATE TABLE satellite (" +
@@ -88,18 +118,32 @@ public class SatelliteControllerTest {
                 "created_at TIMESTAMP WITH TIME ZONE DEFAULT now(), " +
                 "updated_at TIMESTAMP WITH TIME ZONE DEFAULT now())";
 
+        String createSyncCheckpointSchema =
+                "CREATE TABLE sync_checkpoint (" +
+                "sync_key VARCHAR(255) PRIMARY KEY, " +
+                "page_size INT NOT NULL, " +
+                "last_page INT NOT NULL DEFAULT 0, " +
+                "completed BOOLEAN NOT NULL DEFAULT FALSE, " +
+                "watermark TIMESTAMP WITH TIME ZONE, " +
+                "updated_at TIMESTAMP WITH TIME ZONE DEFAULT now())";
+
 
         String insertData = "INSERT INTO satellite (guid, name, date, line1, line2) " +
                 "VALUES ('c4e63c53-c0cf-4b61-b6f8-8f0b739e1a8d', 'Satellite 1', now(), 'Line 1A', 'Line 2A'), " +
                 "('a9b52c4a-3b42-4d6e-9c43-f742e9a7f9b1', 'Satellite 2', now(), 'Line 1B', 'Line 2B')";
 
         databaseClient.sql(createSchema).then().block();
+        databaseClient.sql(createSyncCheckpointSchema).then().block();
         databaseClient.sql(insertData).then().block();
+
+        // The table was rewritten behind the service's back
+        catalogueSnapshotService.invalidate();
     }
 
     @AfterEach
     void tearDown() {
         databaseClient.sql("DROP TABLE IF EXISTS satellite").then().block();
+        databaseClient.sql("DROP TABLE IF EXISTS sync_checkpoint").then().block();
     }
 
     @Test
@@ -111,6 +155,288 @@ public class SatelliteControllerTest {
                 .jsonPath("$.name").isEqualTo("Satellite 1");
     }
 
+    @Test
+    void should_respond_ok_on_getSatellitesByGuids() {
+        BatchGetSatelliteRequest request = new BatchGetSatelliteRequest();
+        request.setGuids(List.of(UUID.fromString("c4e63c53-c0cf-4b61-b6f8-8f0b739e1a8d"),
+                UUID.fromString("00000000-0000-0000-0000-000000000000")));
+
+        webTestClient.post().uri("/v1/satellite/batch-get")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].found").isEqualTo(true)
+                .jsonPath("$[0].satellite.name").isEqualTo("Satellite 1")
+                .jsonPath("$[1].found").isEqualTo(false)
+                .jsonPath("$[1].satellite").doesNotExist();
+    }
+
+    @Test
+    void should_respond_ok_on_getSatellitePosition() {
+        databaseClient.sql("INSERT INTO satellite (guid, name, date, line1, line2) VALUES ('5e2bc0ad-7ac0-4bd5-8f0a-7b9d2d1c6a55', 'VANGUARD 1', now(), " +
+                "'1 00005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753', " +
+                "'2 00005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667')").then().block();
+
+        webTestClient.get().uri("/v1/satellite/{guid}/position?at=2000-06-27T18:50:19.733568Z", "5e2bc0ad-7ac0-4bd5-8f0a-7b9d2d1c6a55")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("VANGUARD 1")
+                .jsonPath("$.position[0]").value(x -> { assert Math.abs((Double) x - 7022.465) < 0.01; })
+                .jsonPath("$.error").doesNotExist();
+
+        webTestClient.get().uri("/v1/satellite/{guid}/position", "c4e63c53-c0cf-4b61-b6f8-8f0b739e1a8d")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_propagate_the_new_tle_on_getSatellitePosition_after_updateSatellite() {
+        UUID guid = UUID.fromString("c4e63c53-c0cf-4b61-b6f8-8f0b739e1a8d");
+        String uri = "/v1/satellite/{guid}/position?at=2008-09-20T12:00:00Z";
+
+        UpdateSatelliteRequest request = new UpdateSatelliteRequest();
+        request.setName("VANGUARD 1");
+        request.setDate(OffsetDateTime.now());
+        request.setLine1("1 00005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753");
+        request.setLine2("2 00005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667");
+        webTestClient.put().uri("/v1/satellite/{guid}", guid).bodyValue(request).exchange().expectStatus().isOk();
+
+        SatellitePositionResponse before = webTestClient.get().uri(uri, guid)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SatellitePositionResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        request.setName("ISS (ZARYA)");
+        request.setLine1("1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927");
+        request.setLine2("2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537");
+        webTestClient.put().uri("/v1/satellite/{guid}", guid).bodyValue(request).exchange().expectStatus().isOk();
+
+        SatellitePositionResponse after = webTestClient.get().uri(uri, guid)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SatellitePositionResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assert before.getPosition() != null && after.getPosition() != null;
+        assert Math.abs(before.getPosition()[0] - after.getPosition()[0]) > 1.0;
+    }
+
+    @Test
+    void should_respond_ok_on_querySatellites() {
+        databaseClient.sql("INSERT INTO satellite (guid, name, date, line1, line2) VALUES ('5e2bc0ad-7ac0-4bd5-8f0a-7b9d2d1c6a55', 'VANGUARD 1', now(), " +
+                "'1 00005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753', " +
+                "'2 00005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667')").then().block();
+
+        webTestClient.get().uri("/v1/satellite/query?minInclination=34&maxInclination=35&maxPerigee=1000&view=SATELLITE")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.matched").isEqualTo(1)
+                .jsonPath("$.satellites[0].name").isEqualTo("VANGUARD 1");
+
+        webTestClient.get().uri("/v1/satellite/query?minInclination=99&maxInclination=97")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_stream_positions_on_getSatellitePositions() {
+        SatellitePositionsRequest request = new SatellitePositionsRequest();
+        request.setAt(OffsetDateTime.now());
+        request.setGuids(List.of(UUID.fromString("c4e63c53-c0cf-4b61-b6f8-8f0b739e1a8d"),
+                UUID.fromString("00000000-0000-0000-0000-000000000000")));
+
+        List<SatellitePositionResponse> positions = webTestClient.post().uri("/v1/satellite/positions")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(SatellitePositionResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assert positions.size() == 2;
+        assert positions.stream().allMatch(position -> position.getPosition() == null && position.getError() != null);
+    }
+
+    @Test
+    void should_stream_live_positions_on_streamLivePositions() {
+        databaseClient.sql("INSERT INTO satellite (guid, name, date, line1, line2) VALUES ('5e2bc0ad-7ac0-4bd5-8f0a-7b9d2d1c6a55', 'VANGUARD 1', now(), " +
+                "'1 00005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753', " +
+                "'2 00005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667')").then().block();
+
+        // Satellites are looked up in the background, so the first ticks may not carry them yet
+        LivePositionsResponse tick = webTestClient.get()
+                .uri("/v1/satellite/live?guids=5e2bc0ad-7ac0-4bd5-8f0a-7b9d2d1c6a55,00000000-0000-0000-0000-000000000000&interval=PT0.2S")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(LivePositionsResponse.class)
+                .getResponseBody()
+                .filter(response -> response.getPositions().size() == 2)
+                .next()
+                .block(Duration.ofSeconds(10));
+
+        assert tick != null && tick.getAt() != null;
+        assert tick.getPositions().get(0).getName().equals("VANGUARD 1") && tick.getPositions().get(0).getPosition() != null;
+        assert tick.getPositions().get(1).getPosition() == null && tick.getPositions().get(1).getError() != null;
+
+        webTestClient.get().uri("/v1/satellite/live?guids=5e2bc0ad-7ac0-4bd5-8f0a-7b9d2d1c6a55&interval=PT0.01S")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_stream_passes_on_getSatellitePasses() {
+        databaseClient.sql("INSERT INTO satellite (guid, name, date, line1, line2) VALUES ('7d1f4a2e-9b3c-4e58-a6d0-2f8c5b1e9a37', 'ISS (ZARYA)', now(), " +
+                "'1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927', " +
+                "'2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537')").then().block();
+
+        GroundStationRequest station = new GroundStationRequest();
+        station.setName("Rome");
+        station.setLatitude(41.9);
+        station.setLongitude(12.5);
+        SatellitePassesRequest request = new SatellitePassesRequest();
+        request.setFrom(OffsetDateTime.parse("2008-09-20T12:00:00Z"));
+        request.setTo(OffsetDateTime.parse("2008-09-21T12:00:00Z"));
+        request.setMinElevation(10);
+        request.setStations(List.of(station));
+        request.setGuids(List.of(UUID.fromString("7d1f4a2e-9b3c-4e58-a6d0-2f8c5b1e9a37")));
+
+        List<SatellitePassResponse> passes = webTestClient.post().uri("/v1/satellite/passes")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(SatellitePassResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assert passes != null && !passes.isEmpty();
+        assert passes.stream().allMatch(pass -> pass.getError() == null && "Rome".equals(pass.getStation())
+                && pass.getAos().isBefore(pass.getLos()) && pass.getMaxElevation() >= 10);
+
+        request.setTo(request.getFrom().minusHours(1));
+        webTestClient.post().uri("/v1/satellite/passes")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_stream_samples_on_getGroundTrack() {
+        databaseClient.sql("INSERT INTO satellite (guid, name, date, line1, line2) VALUES ('3b9e6f1c-5a2d-4c87-9e41-8d0f7a6b2c19', 'ISS (ZARYA)', now(), " +
+                "'1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927', " +
+                "'2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537')").then().block();
+
+        List<GroundTrackPointResponse> points = webTestClient.get()
+                .uri("/v1/satellite/3b9e6f1c-5a2d-4c87-9e41-8d0f7a6b2c19/groundtrack?from=2008-09-20T12:00:00Z&to=2008-09-20T13:00:00Z&step=PT30S")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(GroundTrackPointResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assert points != null && points.size() == 121;
+        assert points.get(120).getAt().toInstant().equals(OffsetDateTime.parse("2008-09-20T13:00:00Z").toInstant());
+        assert points.stream().allMatch(point -> point.getError() == null && Math.abs(point.getLatitude()) <= 52
+                && point.getAltitude() > 300 && point.getAltitude() < 450);
+
+        byte[] records = webTestClient.get()
+                .uri("/v1/satellite/3b9e6f1c-5a2d-4c87-9e41-8d0f7a6b2c19/groundtrack.bin?from=2008-09-20T12:00:00Z&to=2008-09-20T13:00:00Z&step=PT30S")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_OCTET_STREAM)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        assert records != null && records.length == 121 * GroundTrackEncoder.RECORD_SIZE;
+
+        webTestClient.get()
+                .uri("/v1/satellite/3b9e6f1c-5a2d-4c87-9e41-8d0f7a6b2c19/groundtrack?from=2008-09-20T12:00:00Z&to=2008-09-20T13:00:00Z&step=PT0.1S")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_stream_samples_on_getGroundTracks() {
+        databaseClient.sql("INSERT INTO satellite (guid, name, date, line1, line2) VALUES ('3b9e6f1c-5a2d-4c87-9e41-8d0f7a6b2c19', 'ISS (ZARYA)', now(), " +
+                "'1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927', " +
+                "'2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537')").then().block();
+
+        GroundTracksRequest request = new GroundTracksRequest();
+        request.setFrom(OffsetDateTime.parse("2008-09-20T12:00:00Z"));
+        request.setTo(OffsetDateTime.parse("2008-09-20T13:00:00Z"));
+        request.setGuids(List.of(UUID.fromString("3b9e6f1c-5a2d-4c87-9e41-8d0f7a6b2c19"),
+                UUID.fromString("00000000-0000-0000-0000-000000000000")));
+
+        List<GroundTrackPointResponse> points = webTestClient.post().uri("/v1/satellite/groundtracks")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(GroundTrackPointResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assert points != null && points.size() == 61 + 1;
+        assert points.stream().filter(point -> point.getError() != null).count() == 1;
+
+        request.setGuids(List.of());
+        webTestClient.post().uri("/v1/satellite/groundtracks")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_complete_job_on_screenConjunctions() throws InterruptedException {
+        ConjunctionScreeningRequest request = new ConjunctionScreeningRequest();
+        request.setFrom(OffsetDateTime.parse("2024-08-12T00:00:00Z"));
+        request.setTo(OffsetDateTime.parse("2024-08-12T01:00:00Z"));
+        request.setDistance(10);
+
+        ConjunctionJobResponse job = webTestClient.post().uri("/v1/satellite/conjunctions")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectHeader().exists("Location")
+                .expectBody(ConjunctionJobResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assert job != null && job.getId() != null;
+
+        for (int attempt = 0; attempt < 50 && job.getStatus() != JobStatus.COMPLETED && job.getStatus() != JobStatus.FAILED; attempt++) {
+            Thread.sleep(100);
+            job = webTestClient.get().uri("/v1/satellite/conjunctions/" + job.getId())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(ConjunctionJobResponse.class)
+                    .returnResult()
+                    .getResponseBody();
+        }
+
+        assert job.getStatus() == JobStatus.COMPLETED;
+        assert job.getConjunctions() != null && job.getStepsDone().equals(job.getStepsTotal());
+
+        webTestClient.get().uri("/v1/satellite/conjunctions/" + UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
     @Test
     void should_respond_ok_on_getList() {
         webTestClient.get().uri("/v1/satellite/list?page=0&size=10&name=Satellite")
@@ -122,6 +448,52 @@ public class SatelliteControllerTest {
                 .jsonPath("$.content[1].name").isEqualTo("Satellite 2");
     }
 
+    @Test
+    void should_respond_ok_on_getList_with_cursor() {
+        GenericPagedResponse firstPage = webTestClient.get().uri("/v1/satellite/list?size=1&name=Satellite&cursor=")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(GenericPagedResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assert firstPage.getContent().size() == 1;
+        assert firstPage.getTotalElements() == null;
+        assert firstPage.getNextCursor() != null;
+
+        webTestClient.get().uri("/v1/satellite/list?size=1&name=Satellite&includeTotal=true&cursor={cursor}", firstPage.getNextCursor())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(2)
+                .jsonPath("$.content[0].name").isEqualTo("Satellite 2")
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    void should_page_through_null_dates_on_getList_with_cursor() {
+        databaseClient.sql("INSERT INTO satellite (name, date, line1, line2) VALUES ('Satellite 3', NULL, 'Line 1C', 'Line 2C'), " +
+                "('Satellite 4', NULL, 'Line 1D', 'Line 2D')").then().block();
+
+        for (String dateOrder : List.of("ASCENDING", "DESCENDING")) {
+            List<String> names = new ArrayList<>();
+            String cursor = "";
+            do {
+                GenericPagedResponse page = webTestClient.get().uri("/v1/satellite/list?size=1&name=Satellite&dateOrder={dateOrder}&cursor={cursor}", dateOrder, cursor)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .expectBody(GenericPagedResponse.class)
+                        .returnResult()
+                        .getResponseBody();
+                page.getContent().forEach(satellite -> names.add((String) ((Map<?, ?>) satellite).get("name")));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            names.sort(null);
+            assert names.equals(List.of("Satellite 1", "Satellite 2", "Satellite 3", "Satellite 4")) : dateOrder + ": " + names;
+        }
+    }
+
     @Test
     void should_respond_created_on_createSatellite() {
         CreateSatelliteRequest request = new CreateSatelliteRequest();
@@ -138,6 +510,80 @@ public class SatelliteControllerTest {
                 .jsonPath("$.name").isEqualTo("New Satellite");
     }
 
+    @Test
+    void should_stream_results_on_bulkCreateSatellites() {
+        String body = "{\"name\":\"Bulk Satellite\",\"date\":\"2024-08-12T14:50:02+02:00\",\"line1\":\"Line 1E\",\"line2\":\"Line 2E\"}\n" +
+                "{\"name\":\"\",\"date\":\"2024-08-12T14:50:02+02:00\",\"line1\":\"Line 1F\",\"line2\":\"Line 2F\"}\n";
+
+        List<BulkSatelliteResult> results = webTestClient.post().uri("/v1/satellite/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BulkSatelliteResult.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assert results.size() == 2;
+        assert results.get(0).getIndex() == 0 && results.get(0).getGuid() != null && results.get(0).getError() == null;
+        assert results.get(1).getIndex() == 1 && results.get(1).getGuid() == null && results.get(1).getError() != null;
+    }
+
+    @Test
+    void should_return_the_guid_of_each_item_on_bulkCreateSatellites() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 20; i++)
+            body.append("{\"name\":\"Bulk ").append(i).append("\",\"date\":\"2024-08-12T14:50:02+02:00\",\"line1\":\"Line 1\",\"line2\":\"Line 2\"}\n");
+
+        List<BulkSatelliteResult> results = webTestClient.post().uri("/v1/satellite/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body.toString())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BulkSatelliteResult.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assert results.size() == 20;
+        for (BulkSatelliteResult result : results) {
+            webTestClient.get().uri("/v1/satellite/" + result.getGuid())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(SatelliteDto.class)
+                    .consumeWith(response -> {
+                        assert response.getResponseBody().getName().equals("Bulk " + result.getIndex());
+                    });
+        }
+    }
+
+    @Test
+    void should_stream_satellites_on_exportSatellites() {
+        List<SatelliteDto> satellites = webTestClient.get().uri("/v1/satellite/export?name=satellite")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(SatelliteDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assert satellites.size() == 2;
+        assert satellites.get(0).getName().equals("Satellite 1");
+    }
+
+    @Test
+    void should_stream_tle_text_on_exportTle() {
+        webTestClient.get().uri("/v1/satellite/export.tle?name=satellite 1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_PLAIN)
+                .expectBody(String.class).isEqualTo("Satellite 1\nLine 1A\nLine 2A\n");
+    }
+
     @Test
     void should_respond_ok_on_updateSatellite() {
         UUID guid = UUID.fromString("c4e63c53-c0cf-4b61-b6f8-8f0b739e1a8d");
@@ -169,6 +615,87 @@ public class SatelliteControllerTest {
                 .expectStatus().isNotFound();
     }
 
+    @Test
+    void should_respond_ok_on_importTle() {
+        String tle = "ISS (ZARYA)\n" +
+                "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927\n" +
+                "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537\n" +
+                "BROKEN\n" +
+                "1 25545U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2921\n" +
+                "2 25545  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537\n";
+
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", new ByteArrayResource(tle.getBytes()) {
+            @Override
+            public String getFilename() {
+                return "catalog.txt";
+            }
+        });
+
+        webTestClient.post().uri("/v1/satellite/import")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.newCount").isEqualTo(1)
+                .jsonPath("$.rejectedCount").isEqualTo(1);
+    }
+
+    @Test
+    void should_ingest_the_rest_on_incremental_fetchSatellites_after_a_run_cut_by_size() {
+
+        // Three TLEs served newest first, one per page, as the external API does for an epoch-descending sort
+        List<TleDto> tles = List.of(
+                new TleDto(25544, "ISS (ZARYA)", OffsetDateTime.parse("2024-08-18T18:27:44+00:00"),
+                        "1 25544U 98067A   24231.76926683  .00091167  00000+0  15647-2 0  9997",
+                        "2 25544  51.6408   5.2900 0004971 223.3800 278.3149 15.50389962468258"),
+                new TleDto(40075, "AISSAT 2", OffsetDateTime.parse("2023-12-28T11:59:02+00:00"),
+                        "1 40075U 14037G   23362.49933056  .00003465  00000+0  40707-3 0  9994",
+                        "2 40075  98.3401 268.4723 0004780 335.0232  25.0749 14.85601820512563"),
+                new TleDto(5, "VANGUARD 1", OffsetDateTime.parse("2000-06-27T18:50:19+00:00"),
+                        "1 00005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753",
+                        "2 00005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667"));
+
+        Mockito.when(httpService.getMany(any(), eq(ExternalSatelliteApiResponse.class), any())).thenAnswer(invocation -> {
+            Optional<Map<String, String>> queryParams = invocation.getArgument(2);
+            int page = Integer.parseInt(queryParams.orElseThrow().get("page"));
+            ExternalSatelliteApiResponse response = new ExternalSatelliteApiResponse();
+            response.setTotalItems(tles.size());
+            response.setMember(List.of(tles.get(page - 1)));
+            if (page < tles.size()) {
+                ExternalSatelliteApiResponse.View view = new ExternalSatelliteApiResponse.View();
+                view.setNext("page=" + (page + 1));
+                response.setView(view);
+            }
+            return Mono.just(response);
+        });
+
+        // Cut by size after the newest TLE: the two older ones are still above the missing watermark
+        webTestClient.post().uri("/v1/satellite/fetch?size=1&chunk-size=1&mode=INCREMENTAL")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(FetchSatelliteResponse.class)
+                .consumeWith(response -> {
+                    assert response.getResponseBody().getNewCount() == 1;
+                });
+
+        webTestClient.post().uri("/v1/satellite/fetch?size=3&chunk-size=1&mode=INCREMENTAL")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(FetchSatelliteResponse.class)
+                .consumeWith(response -> {
+                    assert response.getResponseBody().getNewCount() == 2;
+                    assert response.getResponseBody().getUnchangedCount() == 1;
+                });
+
+        OffsetDateTime watermark = databaseClient.sql("SELECT watermark FROM sync_checkpoint WHERE sync_key = 'incremental'")
+                .map(row -> row.get("watermark", OffsetDateTime.class))
+                .one()
+                .block();
+        assert watermark != null && watermark.isEqual(OffsetDateTime.parse("2024-08-18T18:27:44+00:00"));
+    }
+
     @Test
     void should_respond_created_on_fetchSatellites() {
 
@@ -0,0 +1,144 @@
+package com.andrea.reactive.orbit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checked against an all-pairs scan of a synthetic shell of low orbits, sampled every second.
+ */
+public class ConjunctionScreenerTest {
+
+    private static final long START = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.parse("2024-01-01T00:00:00Z"));
+    private static final long END = START + 3_600_000_000L;
+    private static final double DISTANCE_KM = 100.0;
+    // At up to 15 km/s of relative speed a one-second scan can overshoot the true miss distance by 7.5 km
+    private static final double SCAN_SLACK_KM = 10.0;
+
+    private static List<Sgp4Propagator> propagators;
+
+    @BeforeAll
+    static void setUp() {
+        Random random = new Random(7);
+        propagators = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            TleElements elements = new TleElements();
+            elements.noradId = 90_000 + i;
+            elements.epochMicros = START;
+            elements.inclination = 40.0 + random.nextDouble() * 60.0;
+            elements.raan = random.nextDouble() * 360.0;
+            elements.eccentricity = random.nextDouble() * 0.002;
+            elements.argumentOfPerigee = random.nextDouble() * 360.0;
+            elements.meanAnomaly = random.nextDouble() * 360.0;
+            elements.meanMotion = 14.5 + random.nextDouble() * 0.1;
+            propagators.add(Sgp4Propagator.create(elements, "", ""));
+        }
+    }
+
+    @Test
+    void should_find_the_approaches_of_an_all_pairs_scan() {
+        List<Conjunction> conjunctions = screen(60_000_000L);
+        Map<Long, Double> scanned = scan();
+
+        assertFalse(conjunctions.isEmpty());
+        Map<Long, Double> screened = new HashMap<>();
+        for (Conjunction conjunction : conjunctions) {
+            assertTrue(conjunction.primary() < conjunction.secondary());
+            assertTrue(conjunction.missDistance() <= DISTANCE_KM);
+            assertTrue(conjunction.tcaMicros() >= START && conjunction.tcaMicros() <= END);
+            screened.merge(pair(conjunction.primary(), conjunction.secondary()), conjunction.missDistance(), Math::min);
+        }
+
+        scanned.forEach((pair, range) -> {
+            if (range <= DISTANCE_KM - SCAN_SLACK_KM) assertTrue(screened.containsKey(pair), "missed pair " + pair + " at " + range + " km");
+        });
+        screened.forEach((pair, range) -> {
+            assertTrue(scanned.containsKey(pair) && scanned.get(pair) <= range + SCAN_SLACK_KM, "spurious pair " + pair);
+        });
+    }
+
+    @Test
+    void should_not_depend_on_the_step() {
+        List<Conjunction> fine = screen(20_000_000L);
+        List<Conjunction> coarse = screen(300_000_000L);
+
+        assertEquals(fine.size(), coarse.size());
+        for (int i = 0; i < fine.size(); i++) {
+            assertEquals(fine.get(i).primary(), coarse.get(i).primary());
+            assertEquals(fine.get(i).secondary(), coarse.get(i).secondary());
+            assertEquals(fine.get(i).tcaMicros(), coarse.get(i).tcaMicros(), 10_000L);
+            assertEquals(fine.get(i).missDistance(), coarse.get(i).missDistance(), 0.01);
+        }
+    }
+
+    @Test
+    void should_report_an_approach_on_the_edge_of_a_step_once() {
+        long step = 60_000_000L;
+        for (Conjunction conjunction : screen(20_000_000L)) {
+            // Windows shifted so that a step edge falls just before, on and just after the closest approach
+            for (long offset : new long[]{-400, 0, 400}) {
+                long start = conjunction.tcaMicros() + offset - 10 * step;
+                List<Conjunction> found = new ArrayList<>();
+                for (Conjunction candidate : screen(start, start + 20 * step, step)) {
+                    if (candidate.primary() == conjunction.primary() && candidate.secondary() == conjunction.secondary()
+                            && Math.abs(candidate.tcaMicros() - conjunction.tcaMicros()) < 10_000L) found.add(candidate);
+                }
+                assertEquals(1, found.size(), "approach " + conjunction + " with a step edge " + offset + " µs from it");
+            }
+        }
+    }
+
+    private static List<Conjunction> screen(long stepMicros) {
+        return screen(START, END, stepMicros);
+    }
+
+    private static List<Conjunction> screen(long start, long end, long stepMicros) {
+        ConjunctionScreener screener = new ConjunctionScreener(propagators, start, end, stepMicros, DISTANCE_KM);
+        List<Conjunction> conjunctions = new ArrayList<>();
+        for (int step = 0; step < screener.steps(); step++) conjunctions.addAll(screener.screenStep(step));
+        conjunctions.sort(Comparator.comparingInt(Conjunction::primary).thenComparingInt(Conjunction::secondary).thenComparingLong(Conjunction::tcaMicros));
+        return conjunctions;
+    }
+
+    /**
+     * Smallest sampled distance of every pair that came within the screening distance plus the slack.
+     */
+    private static Map<Long, Double> scan() {
+        int n = propagators.size();
+        double[] states = new double[n * Sgp4Propagator.STATE_SIZE];
+        Map<Long, Double> closest = new HashMap<>();
+        for (long t = START; t <= END; t += 1_000_000L) {
+            for (int i = 0; i < n; i++) {
+                Sgp4Propagator propagator = propagators.get(i);
+                assertEquals(Sgp4Propagator.OK, propagator.propagate(propagator.minutesSinceEpoch(t), states, i * Sgp4Propagator.STATE_SIZE));
+            }
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    int a = i * Sgp4Propagator.STATE_SIZE;
+                    int b = j * Sgp4Propagator.STATE_SIZE;
+                    double dx = states[b] - states[a], dy = states[b + 1] - states[a + 1], dz = states[b + 2] - states[a + 2];
+                    double range = Math.sqrt(dx * dx + dy * dy + dz * dz);
+                    if (range <= DISTANCE_KM + SCAN_SLACK_KM) closest.merge(pair(i, j), range, Math::min);
+                }
+            }
+        }
+        return closest;
+    }
+
+    private static long pair(int i, int j) {
+        return (long) i << 32 | j;
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.andrea.reactive.orbit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ElementColumnsTest {
+
+    @Test
+    void should_filter_and_sort_rows() {
+        ElementColumns columns = new ElementColumns();
+        for (int i = 0; i < 2000; i++) columns.upsert(guid(i), elements(i, 90.0 + (i % 20), 15.0));
+
+        List<ElementRange> ranges = List.of(
+                new ElementRange(ElementColumn.INCLINATION, 97.0, 99.0),
+                new ElementRange(ElementColumn.NORAD_ID, 0, 99));
+        int[] selection = new int[columns.size()];
+        int matched = columns.select(ranges, selection);
+
+        // Inclinations 97, 98 and 99 among NORAD ids 0-99
+        assertEquals(15, matched);
+
+        int[] top = columns.top(selection, matched, ElementColumn.INCLINATION, true, 4);
+        assertEquals(4, top.length);
+        assertEquals(99.0, columns.get(ElementColumn.INCLINATION, top[0]));
+        assertEquals(9.0, columns.get(ElementColumn.NORAD_ID, top[0]));
+        assertEquals(29.0, columns.get(ElementColumn.NORAD_ID, top[1]));
+        assertEquals(49.0, columns.get(ElementColumn.NORAD_ID, top[2]));
+        assertEquals(69.0, columns.get(ElementColumn.NORAD_ID, top[3]));
+    }
+
+    @Test
+    void should_keep_rows_dense_on_update_and_remove() {
+        ElementColumns columns = new ElementColumns();
+        for (int i = 0; i < 3; i++) columns.upsert(guid(i), elements(i, 50.0, 15.0));
+
+        columns.upsert(guid(1), elements(1, 60.0, 15.0));
+        assertTrue(columns.remove(guid(0)));
+        assertFalse(columns.remove(guid(0)));
+
+        assertEquals(2, columns.size());
+        int[] selection = new int[columns.size()];
+        int matched = columns.select(List.of(), selection);
+        int[] top = columns.top(selection, matched, ElementColumn.NORAD_ID, false, 10);
+        assertArrayEquals(new UUID[]{guid(1), guid(2)}, new UUID[]{columns.guid(top[0]), columns.guid(top[1])});
+        assertEquals(60.0, columns.get(ElementColumn.INCLINATION, top[0]));
+    }
+
+    @Test
+    void should_derive_orbit_shape() {
+        ElementColumns columns = new ElementColumns();
+        TleElements geostationary = elements(1, 0.05, 1.00273791);
+        columns.upsert(guid(1), geostationary);
+
+        assertEquals(1436.07, columns.get(ElementColumn.PERIOD, 0), 0.01);
+        assertEquals(35786.0, columns.get(ElementColumn.PERIGEE, 0), 5.0);
+        assertEquals(columns.get(ElementColumn.PERIGEE, 0), columns.get(ElementColumn.APOGEE, 0), 1e-9);
+    }
+
+    private static UUID guid(int i) {
+        return new UUID(0, i);
+    }
+
+    private static TleElements elements(int noradId, double inclination, double meanMotion) {
+        TleElements elements = new TleElements();
+        elements.noradId = noradId;
+        elements.inclination = inclination;
+        elements.meanMotion = meanMotion;
+        return elements;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.andrea.reactive.orbit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.MOLNIYA_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.MOLNIYA_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.VANGUARD_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.VANGUARD_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.create;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checked against direct propagation at random instants, over orbits from low and nearly circular to highly eccentric.
+ */
+public class EphemerisTest {
+
+    private static final double MAX_POSITION_ERROR_KM = 0.0001;
+    private static final double MAX_VELOCITY_ERROR_KM_S = 0.000001;
+
+    @Test
+    void should_interpolate_a_low_orbit_within_the_error_bound() {
+        assertWithinBound(create(ISS_LINE1, ISS_LINE2));
+    }
+
+    @Test
+    void should_interpolate_an_eccentric_orbit_within_the_error_bound() {
+        assertWithinBound(create(VANGUARD_LINE1, VANGUARD_LINE2));
+    }
+
+    @Test
+    void should_interpolate_a_deep_space_orbit_within_the_error_bound() {
+        assertWithinBound(create(MOLNIYA_LINE1, MOLNIYA_LINE2));
+    }
+
+    @Test
+    void should_match_the_propagator_on_the_grid_and_outside_the_segment() {
+        Sgp4Propagator propagator = create(ISS_LINE1, ISS_LINE2);
+        long step = Ephemeris.stepMicros(propagator);
+        long segment = Ephemeris.segment(step, propagator.getEpochMicros());
+        Ephemeris ephemeris = Ephemeris.build(propagator, step, segment);
+
+        for (long at : new long[]{segment * Ephemeris.NODES_PER_SEGMENT * step + 5 * step, (segment + 3) * Ephemeris.NODES_PER_SEGMENT * step + 12_345}) {
+            double[] expected = new double[Sgp4Propagator.STATE_SIZE];
+            double[] actual = new double[Sgp4Propagator.STATE_SIZE];
+            assertEquals(propagator.propagate(propagator.minutesSinceEpoch(at), expected, 0), ephemeris.propagate(at, actual, 0));
+            assertArrayEquals(expected, actual, 1e-9);
+        }
+    }
+
+    private static void assertWithinBound(Sgp4Propagator propagator) {
+        long step = Ephemeris.stepMicros(propagator);
+        Random random = new Random(11);
+        double[] expected = new double[Sgp4Propagator.STATE_SIZE];
+        double[] actual = new double[Sgp4Propagator.STATE_SIZE];
+        double maxPosition = 0;
+        double maxVelocity = 0;
+        for (int i = 0; i < 5_000; i++) {
+            long at = propagator.getEpochMicros() + (long) (random.nextDouble() * 3 * 86_400_000_000L);
+            Ephemeris ephemeris = Ephemeris.build(propagator, step, Ephemeris.segment(step, at));
+            assertEquals(Sgp4Propagator.OK, propagator.propagate(propagator.minutesSinceEpoch(at), expected, 0));
+            assertEquals(Sgp4Propagator.OK, ephemeris.propagate(at, actual, 0));
+            maxPosition = Math.max(maxPosition, Math.sqrt(distanceSquared(expected, actual, 0)));
+            maxVelocity = Math.max(maxVelocity, Math.sqrt(distanceSquared(expected, actual, 3)));
+        }
+        assertTrue(maxPosition <= MAX_POSITION_ERROR_KM, "position error " + maxPosition + " km");
+        assertTrue(maxVelocity <= MAX_VELOCITY_ERROR_KM_S, "velocity error " + maxVelocity + " km/s");
+    }
+
+    private static double distanceSquared(double[] a, double[] b, int from) {
+        double sum = 0;
+        for (int c = from; c < from + 3; c++) sum += (a[c] - b[c]) * (a[c] - b[c]);
+        return sum;
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.andrea.reactive.orbit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GroundTrackTest {
+
+    private static final long START = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.parse("2008-09-20T12:00:00Z"));
+    private static final long HOUR = 3_600_000_000L;
+
+    @Test
+    void should_invert_the_earth_fixed_position_of_a_ground_station() {
+        double[][] points = {{0, 0, 0}, {41.9, 12.5, 20}, {-33.9, 151.2, 400_000}, {78.2, -15.4, 500}, {89.99, 45, 35_786_000}, {-90, 0, 0}};
+        double[] sample = new double[GroundTrack.SAMPLE_SIZE];
+
+        for (double[] point : points) {
+            GroundStation station = new GroundStation("point", point[0], point[1], point[2]);
+            GroundTrack.toGeodetic(station.x, station.y, station.z, sample, 0);
+
+            assertEquals(point[0], sample[0], 1e-9);
+            if (Math.abs(point[0]) < 90) assertEquals(point[1], sample[1], 1e-9);
+            assertEquals(point[2] / 1000.0, sample[2], 1e-6);
+        }
+    }
+
+    @Test
+    void should_sample_the_window_every_step_including_its_end() {
+        GroundTrack track = new GroundTrack(create(ISS_LINE1, ISS_LINE2), START, START + HOUR, 60_000_000L);
+        double[] sample = new double[GroundTrack.SAMPLE_SIZE];
+
+        assertEquals(61, track.samples());
+        int count = 0;
+        while (track.hasNext()) {
+            assertEquals(START + count * 60_000_000L, track.nextMicros());
+            assertEquals(Sgp4Propagator.OK, track.next(sample, 0));
+            assertTrue(Math.abs(sample[0]) <= 52.0);
+            assertTrue(sample[1] >= -180.0 && sample[1] <= 180.0);
+            assertTrue(sample[2] > 300.0 && sample[2] < 450.0);
+            count++;
+        }
+        assertEquals(61, count);
+        assertFalse(track.hasNext());
+    }
+
+    @Test
+    void should_interpolate_fine_steps_like_direct_propagation() {
+        Sgp4Propagator propagator = create(ISS_LINE1, ISS_LINE2);
+        // Finer than the ephemeris grid of the ISS, so interpolated, and coarser than it, so propagated directly
+        long fineStep = 10_000_000L;
+        long coarseStep = 360_000_000L;
+        assertTrue(fineStep < Ephemeris.stepMicros(propagator) && coarseStep > Ephemeris.stepMicros(propagator));
+
+        GroundTrack fine = new GroundTrack(propagator, START, START + 6 * HOUR, fineStep);
+        GroundTrack coarse = new GroundTrack(propagator, START, START + 6 * HOUR, coarseStep);
+        double[] expected = new double[GroundTrack.SAMPLE_SIZE];
+        double[] actual = new double[GroundTrack.SAMPLE_SIZE];
+
+        while (coarse.hasNext()) {
+            while (fine.nextMicros() < coarse.nextMicros()) fine.next(actual, 0);
+            assertEquals(Sgp4Propagator.OK, fine.next(actual, 0));
+            assertEquals(Sgp4Propagator.OK, coarse.next(expected, 0));
+
+            assertEquals(expected[0], actual[0], 1e-6);
+            assertEquals(expected[1], actual[1], 1e-6);
+            assertEquals(expected[2], actual[2], 1e-5);
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.andrea.reactive.orbit;
+
+/**
+ * Element sets shared by the orbit tests and benchmarks.
+ */
+public final class OrbitFixtures {
+
+    // Near-earth, low and almost circular
+    public static final String ISS_LINE1 = "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927";
+    public static final String ISS_LINE2 = "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537";
+    // Near-earth, eccentric
+    public static final String VANGUARD_LINE1 = "1 00005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753";
+    public static final String VANGUARD_LINE2 = "2 00005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667";
+    // Deep space, Molniya orbit with 12 hour resonance
+    public static final String MOLNIYA_LINE1 = "1 09880U 77021A   06176.56157475  .00000421  00000-0  10000-3 0  9814";
+    public static final String MOLNIYA_LINE2 = "2 09880  64.5968 349.3786 7069051 270.0229  16.3320  2.00813614112380";
+
+    private OrbitFixtures() {
+    }
+
+    /**
+     * Parses the element set and initialises its propagator.
+     */
+    public static Sgp4Propagator create(String line1, String line2) {
+        TleElements elements = new TleElements();
+        if (!TleParser.parse(line1, line2, elements)) throw new IllegalArgumentException("Invalid TLE: " + line1);
+        return Sgp4Propagator.create(elements, line1, line2);
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.andrea.reactive.orbit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checked against a brute-force scan of the elevation every few seconds over the same window.
+ */
+public class PassPredictorTest {
+
+    private static final long START = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.parse("2008-09-20T12:00:00Z"));
+    private static final long END = START + 86_400_000_000L;
+    private static final long SCAN_STEP = 5_000_000L;
+    private static final long TIME_TOLERANCE = SCAN_STEP;
+
+    private static final GroundStation ROME = new GroundStation("Rome", 41.9, 12.5, 20);
+    private static final GroundStation SVALBARD = new GroundStation("Svalbard", 78.2, 15.4, 500);
+
+    @Test
+    void should_find_the_passes_of_a_brute_force_scan() {
+        Sgp4Propagator propagator = create(ISS_LINE1, ISS_LINE2);
+        double minElevation = 10.0;
+
+        List<Pass> passes = new PassPredictor(List.of(ROME), START, END, 60_000_000L, minElevation).predict(propagator);
+        List<long[]> expected = scan(propagator, ROME, minElevation);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), passes.size());
+        for (int i = 0; i < passes.size(); i++) {
+            Pass pass = passes.get(i);
+            assertEquals(expected.get(i)[0], pass.aosMicros(), TIME_TOLERANCE);
+            assertEquals(expected.get(i)[1], pass.losMicros(), TIME_TOLERANCE);
+            assertTrue(pass.aosMicros() < pass.maxElevationMicros() && pass.maxElevationMicros() < pass.losMicros());
+            assertTrue(pass.maxElevation() >= minElevation && pass.maxElevation() <= 90.0);
+            assertTrue(pass.aosAzimuth() >= 0 && pass.aosAzimuth() < 360 && pass.losAzimuth() >= 0 && pass.losAzimuth() < 360);
+        }
+    }
+
+    @Test
+    void should_not_depend_on_the_coarse_step() {
+        Sgp4Propagator propagator = create(ISS_LINE1, ISS_LINE2);
+
+        List<Pass> fine = new PassPredictor(List.of(ROME), START, END, 10_000_000L, 0.0).predict(propagator);
+        List<Pass> coarse = new PassPredictor(List.of(ROME), START, END, 300_000_000L, 0.0).predict(propagator);
+
+        assertEquals(fine.size(), coarse.size());
+        for (int i = 0; i < fine.size(); i++) {
+            assertEquals(fine.get(i).aosMicros(), coarse.get(i).aosMicros(), 1_000_000L);
+            assertEquals(fine.get(i).losMicros(), coarse.get(i).losMicros(), 1_000_000L);
+            assertEquals(fine.get(i).maxElevation(), coarse.get(i).maxElevation(), 0.01);
+        }
+    }
+
+    @Test
+    void should_report_passes_per_station_and_skip_unreachable_ones() {
+        Sgp4Propagator propagator = create(ISS_LINE1, ISS_LINE2);
+
+        List<Pass> passes = new PassPredictor(List.of(SVALBARD, ROME), START, END, 60_000_000L, 0.0).predict(propagator);
+
+        assertEquals(scan(propagator, ROME, 0.0).size(), passes.size());
+        assertTrue(passes.stream().allMatch(pass -> pass.station() == 1));
+        for (int i = 1; i < passes.size(); i++) assertTrue(passes.get(i - 1).aosMicros() <= passes.get(i).aosMicros());
+    }
+
+    /**
+     * AOS and LOS of every interval spent above {@code minElevation}, scanning the whole window on a fine step.
+     */
+    private static List<long[]> scan(Sgp4Propagator propagator, GroundStation station, double minElevation) {
+        List<long[]> passes = new ArrayList<>();
+        double[] state = new double[Sgp4Propagator.STATE_SIZE];
+        long aos = -1;
+        for (long t = START; t <= END; t += SCAN_STEP) {
+            assertEquals(Sgp4Propagator.OK, propagator.propagate(propagator.minutesSinceEpoch(t), state, 0));
+            boolean inView = elevation(state, t, station) >= minElevation;
+            if (inView && aos < 0) aos = t;
+            if (!inView && aos >= 0) {
+                passes.add(new long[]{aos, t - SCAN_STEP});
+                aos = -1;
+            }
+        }
+        return passes;
+    }
+
+    private static double elevation(double[] state, long t, GroundStation station) {
+        double theta = Sgp4Propagator.gstime(t / 86_400_000_000.0 + 2440587.5);
+        double x = Math.cos(theta) * state[0] + Math.sin(theta) * state[1] - station.x;
+        double y = -Math.sin(theta) * state[0] + Math.cos(theta) * state[1] - station.y;
+        double z = state[2] - station.z;
+        double up = station.cosLat * station.cosLon * x + station.cosLat * station.sinLon * y + station.sinLat * z;
+        return Math.toDegrees(Math.asin(up / Math.sqrt(x * x + y * y + z * z)));
+    }
+
+}
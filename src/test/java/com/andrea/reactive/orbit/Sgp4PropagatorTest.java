@@ -0,0 +1,123 @@
+package com.andrea.reactive.orbit;
+
+import org.junit.jupiter.api.Test;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.MOLNIYA_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.MOLNIYA_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.VANGUARD_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.VANGUARD_LINE2;
+import static com.andrea.reactive.orbit.OrbitFixtures.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checked against the reference output (tcppver.out) of Vallado's SGP4 verification set and, for the deep-space
+ * rows further from epoch, against Orekit 12.2's independent SGP4 port, which reproduces the tcppver.out rows below
+ * to a micrometre.
+ */
+public class Sgp4PropagatorTest {
+
+    private static final double POSITION_TOLERANCE_KM = 1e-6;
+    private static final double VELOCITY_TOLERANCE_KM_S = 1e-9;
+    // The two resonance integrators drift apart by centimetres over ten days of steps
+    private static final double LONG_SPAN_POSITION_TOLERANCE_KM = 1e-4;
+    private static final double LONG_SPAN_VELOCITY_TOLERANCE_KM_S = 1e-8;
+
+    @Test
+    void should_match_verification_vectors_near_earth() {
+        Sgp4Propagator propagator = create(VANGUARD_LINE1, VANGUARD_LINE2);
+
+        assertState(propagator, 0.0,
+                7022.46529266, -1400.08296755, 0.03995155, 1.893841015, 6.405893759, 4.534807250);
+        assertState(propagator, 360.0,
+                -7154.03120202, -3783.17682504, -3536.19412294, 4.741887409, -4.151817765, -2.093935425);
+        assertState(propagator, 1440.0,
+                -938.55923943, -6268.18748831, -4294.02924751, 7.536105209, -0.427127707, 0.989878080);
+    }
+
+    @Test
+    void should_match_verification_vectors_deep_space() {
+        // Molniya orbit, 12 hour resonance
+        Sgp4Propagator propagator = create(MOLNIYA_LINE1, MOLNIYA_LINE2);
+
+        assertState(propagator, 0.0,
+                13020.06750784, -2449.07193500, 1.15896030, 4.247363935, 1.597178501, 4.956708611);
+        // Across the 720 minute steps of the resonance integrator, backwards and forwards
+        assertState(propagator, -1440.0,
+                11403.93747180, -2948.56452875, -1716.42673803, 5.099900445, 1.417013656, 4.893255031);
+        assertState(propagator, -720.0,
+                12248.61754413, -2706.19069954, -860.47108067, 4.653502605, 1.518846255, 4.942548254);
+        assertState(propagator, 120.0,
+                19190.32482476, 9249.01266902, 26596.71345328, -0.624960193, 1.324550562, 2.495697637);
+        assertState(propagator, 360.0,
+                328.74217398, 19554.92047380, 40558.26246145, -1.593281066, 0.126772913, -0.359627307);
+        assertState(propagator, 720.0,
+                13725.09398980, -2180.70877090, 863.29684523, 3.878478111, 1.656846496, 4.944867241);
+        assertState(propagator, 1440.0,
+                14369.90303736, -1903.85601061, 1722.15319855, 3.543393116, 1.701687176, 4.913881358);
+        assertState(propagator, 7200.0, LONG_SPAN_POSITION_TOLERANCE_KM, LONG_SPAN_VELOCITY_TOLERANCE_KM_S,
+                17912.95146447, 430.15301176, 8262.16220752, 1.716227576, 1.783532919, 4.388341652);
+        assertState(propagator, 14400.0, LONG_SPAN_POSITION_TOLERANCE_KM, LONG_SPAN_VELOCITY_TOLERANCE_KM_S,
+                19833.62558987, 3283.51391752, 15360.87198498, 0.545451550, 1.664004891, 3.663605477);
+    }
+
+    @Test
+    void should_match_reference_vectors_deep_space_synchronous() {
+        // Geosynchronous orbit, 1 day resonance
+        Sgp4Propagator propagator = create("1 14128U 83058A   06176.02341244 -.00000158  00000-0  10000-3 0  9629",
+                "2 14128  11.4384  35.2134 0011562  26.4582 333.5652  0.98870114 46093");
+
+        assertState(propagator, -1440.0,
+                32954.39407778, 26856.33194823, 598.10129815, -1.904797932, 2.321457980, 0.606859052);
+        assertState(propagator, 0.0,
+                34747.58086389, 24502.36873871, -1.32171101, -1.731642595, 2.452772707, 0.608509949);
+        assertState(propagator, 720.0,
+                -35597.58241807, -23407.90896594, 282.08882582, 1.641405075, -2.506773738, -0.606963437);
+        assertState(propagator, 1440.0,
+                36366.59951665, 22023.53438206, -601.46608387, -1.549680889, 2.571789258, 0.607057465);
+        assertState(propagator, 5760.0, LONG_SPAN_POSITION_TOLERANCE_KM, LONG_SPAN_VELOCITY_TOLERANCE_KM_S,
+                40098.20825369, 13965.27402539, -2372.85276170, -0.960381821, 2.849111199, 0.584239354);
+        assertState(propagator, 14400.0, LONG_SPAN_POSITION_TOLERANCE_KM, LONG_SPAN_VELOCITY_TOLERANCE_KM_S,
+                42024.39865930, -3680.16334339, -5518.09350438, 0.320776785, 3.009516673, 0.461699947);
+    }
+
+    @Test
+    void should_write_state_at_offset() {
+        Sgp4Propagator propagator = create(VANGUARD_LINE1, VANGUARD_LINE2);
+        double[] states = new double[3 * Sgp4Propagator.STATE_SIZE];
+
+        assertEquals(Sgp4Propagator.OK, propagator.propagate(360.0, states, Sgp4Propagator.STATE_SIZE));
+
+        assertEquals(0.0, states[0]);
+        assertEquals(-7154.03120202, states[Sgp4Propagator.STATE_SIZE], POSITION_TOLERANCE_KM);
+        assertEquals(-2.093935425, states[2 * Sgp4Propagator.STATE_SIZE - 1], VELOCITY_TOLERANCE_KM_S);
+        assertEquals(0.0, states[2 * Sgp4Propagator.STATE_SIZE]);
+    }
+
+    @Test
+    void should_reject_unpropagatable_elements() {
+        TleElements elements = new TleElements();
+        assertTrue(TleParser.parse(VANGUARD_LINE1, VANGUARD_LINE2, elements));
+        elements.eccentricity = 1.5;
+
+        assertThrows(IllegalArgumentException.class, () -> Sgp4Propagator.create(elements, "", ""));
+    }
+
+    private static void assertState(Sgp4Propagator propagator, double tsince, double x, double y, double z, double vx, double vy, double vz) {
+        assertState(propagator, tsince, POSITION_TOLERANCE_KM, VELOCITY_TOLERANCE_KM_S, x, y, z, vx, vy, vz);
+    }
+
+    private static void assertState(Sgp4Propagator propagator, double tsince, double positionTolerance, double velocityTolerance,
+                                    double x, double y, double z, double vx, double vy, double vz) {
+        double[] state = new double[Sgp4Propagator.STATE_SIZE];
+        assertEquals(Sgp4Propagator.OK, propagator.propagate(tsince, state, 0));
+        assertEquals(x, state[0], positionTolerance);
+        assertEquals(y, state[1], positionTolerance);
+        assertEquals(z, state[2], positionTolerance);
+        assertEquals(vx, state[3], velocityTolerance);
+        assertEquals(vy, state[4], velocityTolerance);
+        assertEquals(vz, state[5], velocityTolerance);
+    }
+
+}
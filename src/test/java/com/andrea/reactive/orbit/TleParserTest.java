@@ -0,0 +1,76 @@
+package com.andrea.reactive.orbit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE1;
+import static com.andrea.reactive.orbit.OrbitFixtures.ISS_LINE2;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TleParserTest {
+
+    @Test
+    void should_parse_all_elements() {
+        TleElements elements = new TleElements();
+
+        assertTrue(TleParser.parse(ISS_LINE1, ISS_LINE2, elements));
+
+        assertEquals(25544, elements.getNoradId());
+        assertEquals(2008, elements.getEpochYear());
+        assertEquals(264.51782528, elements.getEpochDay(), 1e-12);
+        assertEquals(OffsetDateTime.of(2008, 9, 20, 12, 25, 40, 104_192_000, ZoneOffset.UTC), elements.getEpoch());
+        assertEquals(-0.00002182, elements.getMeanMotionDot(), 1e-15);
+        assertEquals(0.0, elements.getMeanMotionDdot());
+        assertEquals(-0.11606e-4, elements.getBstar(), 1e-15);
+        assertEquals(292, elements.getElementSetNumber());
+        assertEquals(51.6416, elements.getInclination(), 1e-12);
+        assertEquals(247.4627, elements.getRaan(), 1e-12);
+        assertEquals(0.0006703, elements.getEccentricity(), 1e-15);
+        assertEquals(130.5360, elements.getArgumentOfPerigee(), 1e-12);
+        assertEquals(325.0288, elements.getMeanAnomaly(), 1e-12);
+        assertEquals(15.72125391, elements.getMeanMotion(), 1e-12);
+        assertEquals(56353, elements.getRevolutionNumber());
+        assertTrue(elements.isLine1ChecksumValid());
+        assertTrue(elements.isLine2ChecksumValid());
+    }
+
+    @Test
+    void should_reject_malformed_tles() {
+        TleElements elements = new TleElements();
+
+        assertFalse(TleParser.parse(ISS_LINE1, ISS_LINE2.substring(0, 68) + "8", elements));
+        assertTrue(elements.isLine1ChecksumValid());
+        assertFalse(elements.isLine2ChecksumValid());
+
+        // Other catalog number on line 2, checksum adjusted
+        assertFalse(TleParser.parse(ISS_LINE1, "2 25545  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563538", elements));
+        // Letter in the inclination, checksum still valid since letters count zero
+        assertFalse(TleParser.parse(ISS_LINE1, "2 25544  51.64X6 247.4627 0006703 130.5360 325.0288 15.72125391563536", elements));
+        assertTrue(elements.isLine2ChecksumValid());
+        assertFalse(TleParser.parse("Line 1A", "Line 2A", elements));
+    }
+
+    @Test
+    void should_accept_current_tles() {
+        TleElements elements = new TleElements();
+
+        assertTrue(TleParser.parse("1 25544U 98067A   24231.76926683  .00091167  00000+0  15647-2 0  9997",
+                "2 25544  51.6408   5.2900 0004971 223.3800 278.3149 15.50389962468258", elements));
+        assertEquals(0.15647e-2, elements.getBstar(), 1e-15);
+        assertTrue(TleParser.parse("1 40075U 14037G   23362.49933056  .00003465  00000+0  40707-3 0  9994",
+                "2 40075  98.3401 268.4723 0004780 335.0232  25.0749 14.85601820512563", elements));
+        assertEquals(40075, elements.getNoradId());
+    }
+
+    @Test
+    void should_parse_alpha5_catalog_numbers() {
+        assertEquals(100001, TleParser.parseCatalogNumber("1 A0001U", 2));
+        assertEquals(339999, TleParser.parseCatalogNumber("1 Z9999U", 2));
+        assertEquals(25544, TleParser.parseCatalogNumber("1 25544U", 2));
+    }
+
+}
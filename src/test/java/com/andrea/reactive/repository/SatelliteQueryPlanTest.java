@@ -0,0 +1,343 @@
+package com.andrea.reactive.repository;
+
+import com.andrea.reactive.constants.SatelliteConstants;
+import com.andrea.reactive.dto.SatelliteCursor;
+import com.andrea.reactive.dto.TleDto;
+import com.andrea.reactive.entity.Satellite;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.data.repository.core.support.RepositoryFragment;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the migrations against a seeded table and checks, through EXPLAIN, that every repository access path keeps
+ * using its indexes and never sorts on disk. The statements explained are the ones the repositories actually emit:
+ * each repository method is called over a connection that only records its SQL and bindings, and the recorded
+ * statement is then explained with the same bindings on the seeded database.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class SatelliteQueryPlanTest {
+
+    private static final int SEEDED_ROWS = 100_000;
+    private static final String SEARCHED_NAME = "7f3a9";
+
+    @Container
+    public static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("satellites_plan_test")
+            .withUsername("poc")
+            .withPassword("password");
+
+    private static final List<RecordedStatement> recorded = new ArrayList<>();
+
+    private static ConnectionFactory connectionFactory;
+    private static SatelliteRepository satelliteRepository;
+    private static SatelliteSortingRepository satelliteSortingRepository;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgresContainer.getJdbcUrl(), postgresContainer.getUsername(), postgresContainer.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (java.sql.Connection connection = DriverManager.getConnection(postgresContainer.getJdbcUrl(), postgresContainer.getUsername(), postgresContainer.getPassword());
+             java.sql.Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO satellite (ext_id, name, date, line1, line2) " +
+                    "SELECT g, 'SAT-' || md5(g::text), now() - make_interval(mins => g), 'line1', 'line2' " +
+                    "FROM generate_series(1, " + SEEDED_ROWS + ") g");
+            statement.execute("ANALYZE satellite");
+        }
+
+        connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.builder()
+                .option(ConnectionFactoryOptions.DRIVER, "postgresql")
+                .option(ConnectionFactoryOptions.HOST, postgresContainer.getHost())
+                .option(ConnectionFactoryOptions.PORT, postgresContainer.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT))
+                .option(ConnectionFactoryOptions.DATABASE, postgresContainer.getDatabaseName())
+                .option(ConnectionFactoryOptions.USER, postgresContainer.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, postgresContainer.getPassword())
+                .build());
+
+        // The repositories are assembled as Spring Data does it, so derived queries are generated, not hand-written
+        DatabaseClient databaseClient = DatabaseClient.builder()
+                .connectionFactory(recordingConnectionFactory())
+                .bindMarkers(PostgresDialect.INSTANCE.getBindMarkersFactory())
+                .build();
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(databaseClient, PostgresDialect.INSTANCE);
+        R2dbcRepositoryFactory factory = new R2dbcRepositoryFactory(template);
+        satelliteRepository = factory.getRepository(SatelliteRepository.class, RepositoryFragments.of(
+                RepositoryFragment.implemented(SatelliteCustomRepository.class, new SatelliteCustomRepositoryImpl(databaseClient, template.getConverter()))));
+        satelliteSortingRepository = factory.getRepository(SatelliteSortingRepository.class, RepositoryFragments.of(
+                RepositoryFragment.implemented(SatelliteKeysetRepository.class, new SatelliteKeysetRepositoryImpl(template))));
+    }
+
+    @Test
+    void should_use_index_on_findByNameContainingIgnoreCase() {
+        assertNoSeqScan(explain(record(satelliteSortingRepository.findByNameContainingIgnoreCase(SEARCHED_NAME,
+                PageRequest.of(0, 10, Sort.by(Sort.Order.asc(SatelliteConstants.NAME_PROPERTY)))))));
+    }
+
+    @Test
+    void should_use_index_on_countByNameContainingIgnoreCase() {
+        assertNoSeqScan(explain(record(satelliteSortingRepository.countByNameContainingIgnoreCase(SEARCHED_NAME))));
+    }
+
+    @Test
+    void should_use_index_on_findByGuid() {
+        assertNoSeqScan(explain(record(satelliteRepository.findByGuid(UUID.randomUUID()))));
+    }
+
+    @Test
+    void should_use_index_on_findAllByGuidAny() {
+        assertNoSeqScan(explain(record(satelliteRepository.findAllByGuidAny(new UUID[]{UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()}))));
+    }
+
+    @Test
+    void should_use_index_on_findByExtId() {
+        assertNoSeqScan(explain(record(satelliteRepository.findByExtId(4242))));
+    }
+
+    @Test
+    void should_use_index_on_findById() {
+        assertNoSeqScan(explain(record(satelliteRepository.findById(4242))));
+    }
+
+    @Test
+    void should_use_index_without_external_sort_on_list_ordered_by_date() {
+        String plan = explainAnalyze(record(satelliteSortingRepository.findByNameContainingIgnoreCase("",
+                PageRequest.of(0, 10, Sort.by(Sort.Order.desc(SatelliteConstants.DATE_PROPERTY))))));
+        assertNoSeqScan(plan);
+        assertNoExternalSort(plan);
+    }
+
+    @Test
+    void should_use_index_without_external_sort_on_list_ordered_by_name() {
+        String plan = explainAnalyze(record(satelliteSortingRepository.findByNameContainingIgnoreCase("",
+                PageRequest.of(0, 10, Sort.by(Sort.Order.asc(SatelliteConstants.NAME_PROPERTY), Sort.Order.asc(SatelliteConstants.DATE_PROPERTY))))));
+        assertNoSeqScan(plan);
+        assertNoExternalSort(plan);
+    }
+
+    @Test
+    void should_use_index_without_external_sort_on_keyset_list_ordered_by_name() {
+        String plan = explainAnalyze(record(satelliteSortingRepository.findByNameContainingIgnoreCaseAfter("",
+                Sort.by(Sort.Order.asc(SatelliteConstants.NAME_PROPERTY)), new SatelliteCursor(10, "SAT-8", null), 11)));
+        assertNoSeqScan(plan);
+        assertNoExternalSort(plan);
+    }
+
+    @Test
+    void should_use_index_without_external_sort_on_keyset_list_ordered_by_date_desc() {
+        String plan = explainAnalyze(record(satelliteSortingRepository.findByNameContainingIgnoreCaseAfter("",
+                Sort.by(Sort.Order.desc(SatelliteConstants.DATE_PROPERTY)), new SatelliteCursor(50_000, "SAT-8", OffsetDateTime.now().minusMinutes(50_000)), 11)));
+        assertNoSeqScan(plan);
+        assertNoExternalSort(plan);
+    }
+
+    @Test
+    void should_use_index_without_external_sort_on_keyset_list_ordered_by_date_asc() {
+        String plan = explainAnalyze(record(satelliteSortingRepository.findByNameContainingIgnoreCaseAfter("",
+                Sort.by(Sort.Order.asc(SatelliteConstants.DATE_PROPERTY)), new SatelliteCursor(50_000, "SAT-8", OffsetDateTime.now().minusMinutes(50_000)), 11)));
+        assertNoSeqScan(plan);
+        assertNoExternalSort(plan);
+    }
+
+    @Test
+    void should_stream_export_in_id_order_without_sorting() {
+        String plan = explain(record(satelliteRepository.streamAll(null, null, null, 500)));
+        assertNoSeqScan(plan);
+        assertNoSort(plan);
+    }
+
+    @Test
+    void should_stream_tle_export_in_id_order_without_sorting() {
+        String plan = explain(record(satelliteRepository.streamTle(null, null, null, 500, DefaultDataBufferFactory.sharedInstance)));
+        assertNoSeqScan(plan);
+        assertNoSort(plan);
+    }
+
+    @Test
+    void should_use_index_without_external_sort_on_export_filtered_by_name() {
+        String plan = explainAnalyze(record(satelliteRepository.streamAll(SEARCHED_NAME, null, null, 500)));
+        assertNoSeqScan(plan);
+        assertNoExternalSort(plan);
+    }
+
+    @Test
+    void should_use_index_on_upsertAll() {
+        List<TleDto> tles = List.of(
+                new TleDto(4242, "SAT-A", OffsetDateTime.now(), "line1", "line2"),
+                new TleDto(4243, "SAT-B", OffsetDateTime.now(), "line1", "line2"),
+                new TleDto(SEEDED_ROWS + 1, "SAT-C", OffsetDateTime.now(), "line1", "line2"));
+        assertNoSeqScan(explain(record(satelliteRepository.upsertAll(tles))));
+    }
+
+    @Test
+    void should_not_scan_on_insertAll() {
+        List<Satellite> satellites = List.of(
+                Satellite.builder().guid(UUID.randomUUID()).name("SAT-A").date(OffsetDateTime.now()).line1("line1").line2("line2").build(),
+                Satellite.builder().guid(UUID.randomUUID()).name("SAT-B").date(OffsetDateTime.now()).line1("line1").line2("line2").build());
+        assertNoSeqScan(explain(record(satelliteRepository.insertAll(satellites))));
+    }
+
+    @Test
+    void should_not_scan_on_insertReturning() {
+        assertNoSeqScan(explain(record(satelliteRepository.insertReturning("SAT-A", OffsetDateTime.now(), "line1", "line2", OffsetDateTime.now(), OffsetDateTime.now()))));
+    }
+
+    @Test
+    void should_use_index_on_updateByGuidReturning() {
+        assertNoSeqScan(explain(record(satelliteRepository.updateByGuidReturning(UUID.randomUUID(), "SAT-A", OffsetDateTime.now(), "line1", "line2", OffsetDateTime.now()))));
+    }
+
+    @Test
+    void should_use_index_on_deleteByGuidReturningId() {
+        assertNoSeqScan(explain(record(satelliteRepository.deleteByGuidReturningId(UUID.randomUUID()))));
+    }
+
+    private static void assertNoExternalSort(String plan) {
+        assertFalse(plan.contains("external merge") || plan.contains("external sort"), "Query sorted on disk:\n" + plan);
+    }
+
+    private static void assertNoSort(String plan) {
+        assertFalse(plan.contains("Sort Key:"), "Query sorted its whole result before streaming it:\n" + plan);
+    }
+
+    private static void assertNoSeqScan(String plan) {
+        assertFalse(plan.contains("Seq Scan"), "Query fell back to a sequential scan:\n" + plan);
+    }
+
+    /**
+     * Calls a repository method over the recording connection and returns the one statement it sent.
+     */
+    private static RecordedStatement record(Publisher<?> call) {
+        recorded.clear();
+        Flux.from(call).blockLast();
+        assertEquals(1, recorded.size(), "Expected a single statement, got " + recorded);
+        return recorded.get(0);
+    }
+
+    private static String explain(RecordedStatement statement) {
+        return queryPlan("EXPLAIN ", statement);
+    }
+
+    /**
+     * Runs the query for real, to see how its sorts were executed; only meant for reads.
+     */
+    private static String explainAnalyze(RecordedStatement statement) {
+        return queryPlan("EXPLAIN (ANALYZE) ", statement);
+    }
+
+    private static String queryPlan(String explain, RecordedStatement statement) {
+        return Mono.usingWhen(connectionFactory.create(),
+                connection -> {
+                    Statement explained = connection.createStatement(explain + statement.sql());
+                    statement.bindings().forEach(binding -> binding.accept(explained));
+                    return Flux.from(explained.execute())
+                            .flatMap(result -> result.map((row, metadata) -> row.get(0, String.class)))
+                            .collect(Collectors.joining("\n"));
+                },
+                Connection::close).block();
+    }
+
+    private static ConnectionFactory recordingConnectionFactory() {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.createStatement(Mockito.anyString())).thenAnswer(invocation -> new RecordingStatement(invocation.getArgument(0)));
+        Mockito.when(connection.close()).thenAnswer(invocation -> Mono.empty());
+        ConnectionFactory factory = Mockito.mock(ConnectionFactory.class);
+        Mockito.doAnswer(invocation -> Mono.just(connection)).when(factory).create();
+        return factory;
+    }
+
+    private record RecordedStatement(String sql, List<Consumer<Statement>> bindings) {
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+
+    }
+
+    /**
+     * Keeps the SQL and bindings it is given and returns no rows, so the repository call completes empty.
+     */
+    private static final class RecordingStatement implements Statement {
+
+        private final String sql;
+        private final List<Consumer<Statement>> bindings = new ArrayList<>();
+
+        RecordingStatement(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public Statement add() {
+            return this;
+        }
+
+        @Override
+        public Statement bind(int index, Object value) {
+            bindings.add(statement -> statement.bind(index, value));
+            return this;
+        }
+
+        @Override
+        public Statement bind(String name, Object value) {
+            bindings.add(statement -> statement.bind(name, value));
+            return this;
+        }
+
+        @Override
+        public Statement bindNull(int index, Class<?> type) {
+            bindings.add(statement -> statement.bindNull(index, type));
+            return this;
+        }
+
+        @Override
+        public Statement bindNull(String name, Class<?> type) {
+            bindings.add(statement -> statement.bindNull(name, type));
+            return this;
+        }
+
+        @Override
+        public Publisher<? extends Result> execute() {
+            recorded.add(new RecordedStatement(sql, List.copyOf(bindings)));
+            return Flux.empty();
+        }
+
+    }
+
+}
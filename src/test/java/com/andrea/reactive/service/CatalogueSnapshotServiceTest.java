@@ -0,0 +1,73 @@
+package com.andrea.reactive.service;
+
+import com.andrea.reactive.entity.Satellite;
+import com.andrea.reactive.orbit.ElementColumn;
+import com.andrea.reactive.repository.SatelliteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CatalogueSnapshotServiceTest {
+
+    private static final Satellite VANGUARD = Satellite.builder()
+            .guid(UUID.randomUUID())
+            .line1("1 00005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753")
+            .line2("2 00005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667")
+            .build();
+    private static final Satellite ISS = Satellite.builder()
+            .guid(UUID.randomUUID())
+            .line1("1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927")
+            .line2("2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537")
+            .build();
+
+    private SatelliteRepository satelliteRepository;
+
+    @BeforeEach
+    void setUp() {
+        satelliteRepository = Mockito.mock(SatelliteRepository.class);
+        // The first load sees one satellite, any later one also sees a row written by other means
+        Mockito.when(satelliteRepository.streamAll(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt()))
+                .thenReturn(Flux.just(VANGUARD))
+                .thenReturn(Flux.just(VANGUARD, ISS));
+    }
+
+    @Test
+    void should_pick_up_external_writes_once_the_snapshot_is_due_for_reload() {
+        // The repository answers synchronously, so the reload a query starts is over before it reads the snapshot
+        CatalogueSnapshotService service = new CatalogueSnapshotService(satelliteRepository, new SimpleMeterRegistry(), Duration.ZERO);
+
+        assertEquals(List.of(VANGUARD.getGuid()), query(service));
+        assertEquals(List.of(VANGUARD.getGuid(), ISS.getGuid()), query(service));
+    }
+
+    @Test
+    void should_keep_the_snapshot_until_it_is_due_for_reload() {
+        CatalogueSnapshotService service = new CatalogueSnapshotService(satelliteRepository, new SimpleMeterRegistry(), Duration.ofHours(1));
+
+        assertEquals(List.of(VANGUARD.getGuid()), query(service));
+        assertEquals(List.of(VANGUARD.getGuid()), query(service));
+        Mockito.verify(satelliteRepository, Mockito.times(1)).streamAll(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt());
+    }
+
+    @Test
+    void should_load_again_after_invalidate() {
+        CatalogueSnapshotService service = new CatalogueSnapshotService(satelliteRepository, new SimpleMeterRegistry(), Duration.ofHours(1));
+
+        assertEquals(List.of(VANGUARD.getGuid()), query(service));
+        service.invalidate();
+        assertEquals(List.of(VANGUARD.getGuid(), ISS.getGuid()), query(service));
+    }
+
+    private static List<UUID> query(CatalogueSnapshotService service) {
+        return service.query(List.of(), ElementColumn.INCLINATION, false, 10).block().guids();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.andrea.reactive.service;
+
+import com.andrea.reactive.dto.enumerator.JobStatus;
+import com.andrea.reactive.dto.request.ConjunctionScreeningRequest;
+import com.andrea.reactive.dto.response.ConjunctionJobResponse;
+import com.andrea.reactive.exception.TooManyJobsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConjunctionServiceTest {
+
+    private PropagationService propagationService;
+
+    @BeforeEach
+    void setUp() {
+        propagationService = Mockito.mock(PropagationService.class);
+        Mockito.when(propagationService.getParallelism()).thenReturn(1);
+    }
+
+    @Test
+    void should_refuse_jobs_beyond_the_running_limit() {
+        // Jobs run on the calling thread, and stay pending as long as their catalogue lookup does
+        Mockito.when(propagationService.getSatellites(Mockito.any())).thenAnswer(invocation -> Flux.never());
+        ConjunctionService service = create(100, 1);
+
+        ConjunctionJobResponse first = service.submit(request()).block();
+        StepVerifier.create(service.submit(request()))
+                .expectError(TooManyJobsException.class)
+                .verify();
+
+        assertEquals(JobStatus.PENDING, service.getJob(first.getId()).block().getStatus());
+    }
+
+    @Test
+    void should_keep_running_jobs_beyond_the_stored_limit() {
+        Mockito.when(propagationService.getSatellites(Mockito.any())).thenAnswer(invocation -> Flux.never());
+        ConjunctionService service = create(1, 3);
+
+        List<ConjunctionJobResponse> submitted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) submitted.add(service.submit(request()).block());
+
+        for (ConjunctionJobResponse job : submitted)
+            assertEquals(JobStatus.PENDING, service.getJob(job.getId()).block().getStatus());
+    }
+
+    @Test
+    void should_free_a_running_slot_when_a_job_finishes() {
+        Mockito.when(propagationService.getSatellites(Mockito.any())).thenAnswer(invocation -> Flux.empty());
+        ConjunctionService service = create(100, 1);
+
+        for (int i = 0; i < 3; i++) {
+            ConjunctionJobResponse job = service.submit(request()).block();
+            ConjunctionJobResponse polled = service.getJob(job.getId()).block();
+            assertEquals(JobStatus.COMPLETED, polled.getStatus());
+            assertTrue(polled.getConjunctions().isEmpty());
+        }
+    }
+
+    private ConjunctionService create(long maxJobs, int maxRunningJobs) {
+        ConjunctionService service = new ConjunctionService(propagationService, Schedulers.immediate(), Duration.ofHours(1), maxJobs, maxRunningJobs);
+        ReflectionTestUtils.setField(service, "step", Duration.ofMinutes(1));
+        return service;
+    }
+
+    private static ConjunctionScreeningRequest request() {
+        ConjunctionScreeningRequest request = new ConjunctionScreeningRequest();
+        request.setFrom(OffsetDateTime.parse("2024-08-12T00:00:00Z"));
+        request.setTo(OffsetDateTime.parse("2024-08-12T01:00:00Z"));
+        request.setDistance(10);
+        return request;
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.andrea.reactive.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SingleFlightTest {
+
+    @Test
+    void should_share_one_execution_between_concurrent_calls() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+        AtomicInteger executions = new AtomicInteger();
+        Sinks.One<String> result = Sinks.one();
+
+        Mono<String> first = singleFlight.execute("key", () -> {
+            executions.incrementAndGet();
+            return result.asMono();
+        });
+        Mono<String> second = singleFlight.execute("key", () -> {
+            executions.incrementAndGet();
+            return Mono.just("other");
+        });
+
+        StepVerifier.create(first.zipWith(second))
+                .then(() -> result.tryEmitValue("value"))
+                .assertNext(t -> {
+                    assertEquals("value", t.getT1());
+                    assertEquals("value", t.getT2());
+                })
+                .verifyComplete();
+
+        assertEquals(1, executions.get());
+        assertEquals(0, singleFlight.inFlightCount());
+        assertEquals(1.0, meterRegistry.get("singleflight.calls").tag("outcome", "coalesced").counter().count());
+    }
+
+    @Test
+    void should_keep_shared_execution_running_when_one_subscriber_cancels() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", new SimpleMeterRegistry());
+        Sinks.One<String> result = Sinks.one();
+
+        StepVerifier.create(singleFlight.execute("key", result::asMono))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+
+        StepVerifier.create(singleFlight.execute("key", () -> Mono.just("other")))
+                .then(() -> result.tryEmitValue("value"))
+                .expectNext("value")
+                .verifyComplete();
+    }
+
+}
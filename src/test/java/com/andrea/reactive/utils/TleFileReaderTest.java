@@ -0,0 +1,56 @@
+package com.andrea.reactive.utils;
+
+import com.andrea.reactive.dto.TleDto;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TleFileReaderTest {
+
+    private static final String ISS_LINE1 = "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927";
+    private static final String ISS_LINE2 = "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537";
+
+    @Test
+    void should_read_valid_triplets_and_reject_broken_ones() {
+        String file = "0 ISS (ZARYA)\r\n" + ISS_LINE1 + "\r\n" + ISS_LINE2 + "\r\n" +
+                "BROKEN\n" + ISS_LINE1 + "\n" + ISS_LINE2.substring(0, 68) + "8\n" +
+                ISS_LINE1 + "\n" + ISS_LINE2 + "\n";
+        TleFileReader reader = new TleFileReader(ByteBuffer.wrap(file.getBytes(StandardCharsets.US_ASCII)));
+
+        TleDto first = reader.next();
+        assertEquals(25544, first.getSatelliteId());
+        assertEquals("ISS (ZARYA)", first.getName());
+        assertEquals(OffsetDateTime.of(2008, 9, 20, 12, 25, 40, 104_192_000, ZoneOffset.UTC), first.getDate());
+        assertEquals(ISS_LINE1, first.getLine1());
+        assertEquals(ISS_LINE2, first.getLine2());
+
+        TleDto second = reader.next();
+        assertEquals(25544, second.getSatelliteId());
+        assertNull(second.getName());
+
+        assertNull(reader.next());
+        assertEquals(1, reader.getRejectedCount());
+    }
+
+    @Test
+    void should_truncate_over_long_names_on_a_character_boundary() {
+        String header = "#".repeat(300);
+        // Two-byte characters after an odd number of bytes, so the 256-byte cut falls in the middle of one
+        String accented = "0 A" + "\u00e9".repeat(200);
+        String file = header + "\n" + ISS_LINE1 + "\n" + ISS_LINE2 + "\n" +
+                accented + "\n" + ISS_LINE1 + "\n" + ISS_LINE2 + "\n";
+        TleFileReader reader = new TleFileReader(ByteBuffer.wrap(file.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("#".repeat(255), reader.next().getName());
+        assertEquals("A" + "\u00e9".repeat(126), reader.next().getName());
+        assertNull(reader.next());
+        assertEquals(0, reader.getRejectedCount());
+    }
+
+}
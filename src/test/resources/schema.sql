@@ -8,4 +8,13 @@ CREATE TABLE satellite (
                            line2 VARCHAR(255),
                            created_at TIMESTAMP WITH TIME ZONE default now(),
                            updated_at TIMESTAMP WITH TIME ZONE default now()
-);
\ No newline at end of file
+);
+
+CREATE TABLE sync_checkpoint (
+                                 sync_key VARCHAR(255) PRIMARY KEY,
+                                 page_size INT NOT NULL,
+                                 last_page INT NOT NULL DEFAULT 0,
+                                 completed BOOLEAN NOT NULL DEFAULT FALSE,
+                                 watermark TIMESTAMP WITH TIME ZONE,
+                                 updated_at TIMESTAMP WITH TIME ZONE default now()
+);